@@ -0,0 +1,93 @@
+package com.biodiversity.demo.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Pool JDBC directo a la base de Postgres de Supabase. Solo se crea si algún recurso usa
+ * {@code supabase.data-path.<recurso>=jdbc}; el resto de la aplicación sigue yendo por PostgREST.
+ * Postgres no recibe el token del usuario, así que exige la verificación local de JWT.
+ */
+@Configuration
+@ConditionalOnExpression("'${supabase.data-path.observations:rest}' == 'jdbc' "
+        + "or '${supabase.data-path.species:rest}' == 'jdbc'")
+public class DirectDataSourceConfig {
+
+    @Value("${supabase.db.url}")
+    private String url;
+
+    @Value("${supabase.db.username}")
+    private String username;
+
+    @Value("${supabase.db.password}")
+    private String password;
+
+    @Value("${supabase.db.pool.max-size:10}")
+    private int maxPoolSize;
+
+    @Value("${supabase.db.pool.connection-timeout-ms:1000}")
+    private long connectionTimeoutMs;
+
+    @Value("${supabase.db.pool.max-lifetime-ms:1800000}")
+    private long maxLifetimeMs;
+
+    @Value("${supabase.db.pool.keepalive-ms:60000}")
+    private long keepaliveMs;
+
+    @Value("${supabase.db.prepare-threshold:5}")
+    private int prepareThreshold;
+
+    @Value("${supabase.db.statement-timeout-ms:5000}")
+    private long statementTimeoutMs;
+
+    @Value("${supabase.auth.jwt.enabled:false}")
+    private boolean jwtEnabled;
+
+    @PostConstruct
+    void checkAuthentication() {
+        if (!jwtEnabled) {
+            throw new IllegalStateException(
+                    "supabase.data-path.*=jdbc requiere supabase.auth.jwt.enabled=true");
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource supabaseDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("supabase-db");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        // Pool fijo: sin crear conexiones en los picos, que es justo cuando más cuestan
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(maxPoolSize);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setKeepaliveTime(keepaliveMs);
+        config.setReadOnly(true);
+        // No impide arrancar si Postgres no responde: los recursos en modo rest siguen funcionando
+        config.setInitializationFailTimeout(-1);
+        // prepareThreshold=0 desactiva los prepared statements de servidor (necesario con el pooler en modo transacción)
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", 256);
+        // Parámetros sin tipo: Postgres infiere uuid/text/timestamptz según la columna
+        config.addDataSourceProperty("stringtype", "unspecified");
+        config.addDataSourceProperty("ApplicationName", "biodiversity-watch");
+        config.addDataSourceProperty("tcpKeepAlive", true);
+        config.addDataSourceProperty("options", "-c statement_timeout=" + statementTimeoutMs);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public JdbcTemplate supabaseJdbcTemplate(DataSource supabaseDataSource) {
+        return new JdbcTemplate(supabaseDataSource);
+    }
+}
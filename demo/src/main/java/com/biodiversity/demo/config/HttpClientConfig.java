@@ -0,0 +1,97 @@
+package com.biodiversity.demo.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${supabase.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${supabase.http.max-connections-per-route:100}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${supabase.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${supabase.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${supabase.http.connection-request-timeout-ms:1000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${supabase.http.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    // Revalida una conexión reutilizada tras esta inactividad (2 s es el valor por defecto de HttpClient)
+    @Value("${supabase.http.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Value("${supabase.http.connection-ttl-seconds:300}")
+    private long connectionTtlSeconds;
+
+    @Value("${supabase.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager supabaseConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient supabaseHttpClient(PoolingHttpClientConnectionManager supabaseConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(supabaseConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory supabaseRequestFactory(CloseableHttpClient supabaseHttpClient) {
+        if (http2Enabled) {
+            // El cliente del JDK negocia HTTP/2 con ALPN y multiplexa sobre una sola conexión por host
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+            factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+            return factory;
+        }
+        return new HttpComponentsClientHttpRequestFactory(supabaseHttpClient);
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+}
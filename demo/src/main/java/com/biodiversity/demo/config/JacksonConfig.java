@@ -0,0 +1,18 @@
+package com.biodiversity.demo.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Spring Boot registra cualquier Module en el ObjectMapper compartido por MVC y WebFlux
+    @Bean
+    @ConditionalOnProperty(name = "jackson.blackbird.enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,69 @@
+package com.biodiversity.demo.config;
+
+import com.biodiversity.demo.dto.ApiResponse;
+import com.biodiversity.demo.exception.InvalidTokenException;
+import com.biodiversity.demo.service.AuthClaims;
+import com.biodiversity.demo.service.JwtVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "supabase.auth.jwt.enabled", havingValue = "true")
+public class JwtAuthConfig {
+
+    public static final String CLAIMS_ATTRIBUTE = AuthClaims.class.getName();
+
+    @Value("${supabase.auth.jwt.paths:/api/}")
+    private List<String> paths;
+
+    // Antes que cualquier otro filtro: un token falso no debe costar nada más que la verificación
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    public OncePerRequestFilter jwtAuthFilter(JwtVerifier jwtVerifier, ObjectMapper objectMapper) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                String uri = request.getRequestURI();
+                return paths.stream().noneMatch(uri::startsWith);
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                    FilterChain filterChain) throws ServletException, IOException {
+                String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+                if (authorization == null) {
+                    // Sin cabecera no hay llamada a Supabase: el controlador ya responde 400
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                AuthClaims claims;
+                try {
+                    claims = jwtVerifier.verify(authorization);
+                } catch (InvalidTokenException e) {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(e.getMessage()));
+                    return;
+                }
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                filterChain.doFilter(request, response);
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.biodiversity.demo.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder supabaseConnectionPoolMetrics(PoolingHttpClientConnectionManager supabaseConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(supabaseConnectionManager, "supabase");
+    }
+
+    // La validación de lotes corre en el pool común; su cola indica si está saturado
+    @Bean
+    public MeterBinder commonPoolMetrics() {
+        return new ExecutorServiceMetrics(ForkJoinPool.commonPool(), "forkjoin.common", Tags.empty());
+    }
+}
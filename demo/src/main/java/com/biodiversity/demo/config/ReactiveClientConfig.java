@@ -0,0 +1,93 @@
+package com.biodiversity.demo.config;
+
+import com.biodiversity.demo.service.ServerTimingInterceptor;
+import com.biodiversity.demo.service.UpstreamMetricsInterceptor;
+import com.biodiversity.demo.service.UpstreamProtectionInterceptor;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "reactive")
+public class ReactiveClientConfig {
+
+    @Autowired
+    private UpstreamMetricsInterceptor upstreamMetrics;
+
+    @Autowired(required = false)
+    private ServerTimingInterceptor serverTiming;
+
+    @Autowired(required = false)
+    private UpstreamProtectionInterceptor upstreamProtection;
+
+    @Value("${supabase.http.max-connections-per-route:100}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${supabase.http.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${supabase.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${supabase.http.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${supabase.http.connection-ttl-seconds:300}")
+    private long connectionTtlSeconds;
+
+    @Value("${supabase.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Value("${supabase.reactive.pending-acquire-max-count:10000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${supabase.reactive.pending-acquire-timeout-ms:30000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${supabase.reactive.max-in-memory-size-bytes:16777216}")
+    private int maxInMemorySizeBytes;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider supabaseConnectionProvider() {
+        return ConnectionProvider.builder("supabase")
+                .maxConnections(maxConnectionsPerRoute)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(idleEvictionSeconds))
+                .maxLifeTime(Duration.ofSeconds(connectionTtlSeconds))
+                .evictInBackground(Duration.ofSeconds(idleEvictionSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient supabaseWebClient(WebClient.Builder builder, ConnectionProvider supabaseConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(supabaseConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        if (http2Enabled) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        builder = builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySizeBytes));
+        // El primer filtro es el más externo: mismo orden que los interceptores de RestTemplate
+        if (serverTiming != null) {
+            builder = builder.filter(serverTiming.exchangeFilter());
+        }
+        if (upstreamProtection != null) {
+            builder = builder.filter(upstreamProtection.exchangeFilter());
+        }
+        return builder.filter(upstreamMetrics.exchangeFilter()).build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.biodiversity.demo.config;
+
+import com.biodiversity.demo.service.ServerTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.lang.reflect.Type;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    private static final String TIMING_ATTRIBUTE = ServerTiming.class.getName();
+
+    @Value("${server-timing.paths:/api/}")
+    private List<String> paths;
+
+    @Bean
+    public OncePerRequestFilter serverTimingFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                String uri = request.getRequestURI();
+                return paths.stream().noneMatch(uri::startsWith);
+            }
+
+            @Override
+            protected boolean shouldNotFilterAsyncDispatch() {
+                // Las respuestas Mono se serializan en el despacho asíncrono; se vuelve a enlazar el cronómetro
+                return false;
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                    FilterChain filterChain) throws ServletException, IOException {
+                ServerTiming timing = (ServerTiming) request.getAttribute(TIMING_ATTRIBUTE);
+                HttpServletResponse target = response;
+                if (timing == null) {
+                    timing = new ServerTiming();
+                    request.setAttribute(TIMING_ATTRIBUTE, timing);
+                    target = new TimingResponse(response, timing);
+                }
+                ServerTiming.bind(timing);
+                try {
+                    filterChain.doFilter(request, target);
+                    if (!request.isAsyncStarted() && target instanceof TimingResponse timingResponse) {
+                        timingResponse.writeTiming();
+                    }
+                } finally {
+                    ServerTiming.clear();
+                }
+            }
+        };
+    }
+
+    // Serializa a un buffer para medir Jackson por separado y poder añadir la cabecera antes del cuerpo
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                ServerTiming timing = ServerTiming.current();
+                if (timing == null) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+                long start = System.nanoTime();
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+                super.writeInternal(object, type, new HttpOutputMessage() {
+                    @Override
+                    public OutputStream getBody() {
+                        return buffer;
+                    }
+
+                    @Override
+                    public HttpHeaders getHeaders() {
+                        return outputMessage.getHeaders();
+                    }
+                });
+                timing.addSerialize(System.nanoTime() - start);
+                buffer.writeTo(outputMessage.getBody());
+            }
+        };
+    }
+
+    /**
+     * Escribe Server-Timing justo antes de que la respuesta se confirme: al abrir el cuerpo, al
+     * vaciar el buffer o al enviar un error. Así cubre también respuestas sin cuerpo como los 304.
+     */
+    static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final ServerTiming timing;
+        private boolean written;
+
+        TimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void writeTiming() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(ServerTiming.HEADER, timing.toHeaderValue());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.biodiversity.demo.config;
+
+import com.biodiversity.demo.service.ImageStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Sirve el almacenamiento local como un bucket público de Supabase Storage. Las claves llevan un
+ * UUID y nunca se reescriben, así que las imágenes se pueden cachear como inmutables.
+ */
+@Configuration
+public class StorageConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/storage/**")
+                .addResourceLocations(imageStorage.getRoot().toUri().toString())
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+    }
+}
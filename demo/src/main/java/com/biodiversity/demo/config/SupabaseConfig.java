@@ -1,8 +1,11 @@
 package com.biodiversity.demo.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -18,8 +21,11 @@ public class SupabaseConfig {
     private String supabaseServiceRoleKey;
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ClientHttpRequestFactory supabaseRequestFactory,
+            ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        RestTemplate restTemplate = new RestTemplate(supabaseRequestFactory);
+        restTemplate.setInterceptors(interceptors.orderedStream().toList());
+        return restTemplate;
     }
 
     public String getSupabaseUrl() {
@@ -2,10 +2,19 @@ package com.biodiversity.demo.controller;
 
 import com.biodiversity.demo.model.Admin;
 import com.biodiversity.demo.service.AdminService;
+import com.biodiversity.demo.service.ObservationCursor;
+import com.biodiversity.demo.service.ObservationExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -15,6 +24,12 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ObservationExportService observationExportService;
+
+    @Value("${observations.export.timeout-ms:3600000}")
+    private long exportTimeoutMs;
+
     @GetMapping
     public ResponseEntity<List<Admin>> getAllAdmins(@RequestHeader("Authorization") String authToken) {
         return adminService.getAllAdmins(authToken);
@@ -50,4 +65,41 @@ public class AdminController {
             @PathVariable String id) {
         return adminService.deleteAdmin(authToken, id);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/export/observations")
+    public ResponseEntity<StreamingResponseBody> exportObservations(@RequestHeader("Authorization") String authToken,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest request) {
+        // Antes de abrir el stream: después ya no se puede responder 403
+        if (!adminService.isAdmin(authToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ObservationExportService.Format exportFormat;
+        if ("csv".equalsIgnoreCase(format)) {
+            exportFormat = ObservationExportService.Format.CSV;
+        } else if ("dwca".equalsIgnoreCase(format)) {
+            exportFormat = ObservationExportService.Format.DWCA;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            ObservationCursor.decode(cursor);
+        }
+
+        StreamingResponseBody body = out -> {
+            // El timeout async general es corto; una exportación completa puede tardar bastante más
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().setTimeout(exportTimeoutMs);
+            }
+            observationExportService.export(authToken, cursor, exportFormat, out);
+        };
+        boolean csv = exportFormat == ObservationExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"observations." + (csv ? "csv" : "zip") + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,96 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+final class EntityTags {
+
+    private static final int TAG_BYTES = 18;
+
+    private EntityTags() {
+    }
+
+    static String forObservations(String scope, ResponseEntity<List<Observation>> response) {
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            return null;
+        }
+        MessageDigest digest = sha256(scope);
+        for (Observation observation : response.getBody()) {
+            // Sin updated_at no hay validador fiable; se sirve sin ETag
+            if (observation == null || observation.getUpdatedAt() == null) {
+                return null;
+            }
+            update(digest, observation.getId());
+            update(digest, observation.getUpdatedAt());
+        }
+        return finish(digest);
+    }
+
+    static String forProfile(String scope, ResponseEntity<Profile> response) {
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null
+                || response.getBody().getUpdatedAt() == null) {
+            return null;
+        }
+        MessageDigest digest = sha256(scope);
+        update(digest, response.getBody().getId());
+        update(digest, response.getBody().getUpdatedAt());
+        return finish(digest);
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ResponseEntity.BodyBuilder tagged(ResponseEntity.BodyBuilder builder, String etag) {
+        if (etag != null) {
+            builder.eTag(etag).cacheControl(CacheControl.noCache().cachePrivate());
+        }
+        return builder;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return tagged(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+    }
+
+    private static MessageDigest sha256(String scope) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, scope);
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String finish(MessageDigest digest) {
+        byte[] hash = Arrays.copyOf(digest.digest(), TAG_BYTES);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+}
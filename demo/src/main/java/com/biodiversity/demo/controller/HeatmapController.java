@@ -0,0 +1,61 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.service.JwtVerifier;
+import com.biodiversity.demo.service.ObservationHeatmap;
+import com.biodiversity.demo.service.ObservationMirror;
+import com.biodiversity.demo.service.SpecieService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/heatmap")
+public class HeatmapController {
+
+    @Autowired
+    private ObservationMirror observationMirror;
+
+    @Autowired
+    private ObservationHeatmap heatmap;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private SpecieService specieService;
+
+    @GetMapping("/{z}/{x}/{y}")
+    public ResponseEntity<Map<String, Object>> getTile(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean verified) {
+        long tiles = 1L << Math.min(Math.max(z, 0), 30);
+        if (!heatmap.supportsZoom(z) || x < 0 || y < 0 || x >= tiles || y >= tiles) {
+            Map<String, Object> responseBody = new HashMap<>();
+            responseBody.put("success", false);
+            responseBody.put("message", "Tesela inválida; zooms disponibles: " + heatmap.getZooms());
+            return ResponseEntity.badRequest().body(responseBody);
+        }
+
+        jwtVerifier.claimsOf(authToken);
+        observationMirror.ensureLoaded();
+        // type es el tipo de la especie (Specie.type), no el type_observation de la observación
+        List<String> idSpecies = type != null ? specieService.specieIdsOfType(authToken, type) : null;
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", heatmap.tile(z, x, y, idSpecies, verified));
+        // Respuesta autenticada: solo la puede guardar la caché del cliente, no un proxy compartido
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePrivate())
+                .body(responseBody);
+    }
+}
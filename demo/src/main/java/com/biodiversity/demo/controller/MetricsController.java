@@ -0,0 +1,188 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.config.HttpClientConfig;
+import com.biodiversity.demo.service.Bulkhead;
+import com.biodiversity.demo.service.HedgedReads;
+import com.biodiversity.demo.service.ObservationGeoIndex;
+import com.biodiversity.demo.service.ObservationHeatmap;
+import com.biodiversity.demo.service.ObservationImageService;
+import com.biodiversity.demo.service.ObservationMirror;
+import com.biodiversity.demo.service.ObservationWriteBehind;
+import com.biodiversity.demo.service.ProfileCache;
+import com.biodiversity.demo.service.RequestCoalescingInterceptor;
+import com.biodiversity.demo.service.SpecieCatalogCache;
+import com.biodiversity.demo.service.UpstreamBulkheadInterceptor;
+import com.biodiversity.demo.service.UpstreamProtectionInterceptor;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager supabaseConnectionManager;
+
+    @Autowired
+    private HttpClientConfig httpClientConfig;
+
+    @Autowired(required = false)
+    private UpstreamBulkheadInterceptor bulkheadInterceptor;
+
+    @Autowired(required = false)
+    private UpstreamProtectionInterceptor protectionInterceptor;
+
+    @Autowired
+    private HedgedReads hedgedReads;
+
+    @Autowired(required = false)
+    private ObservationWriteBehind writeBehind;
+
+    @Autowired
+    private ObservationImageService observationImageService;
+
+    @Autowired
+    private SpecieCatalogCache specieCatalogCache;
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private RequestCoalescingInterceptor coalescingInterceptor;
+
+    @Autowired
+    private ObservationMirror observationMirror;
+
+    @Autowired
+    private ObservationGeoIndex geoIndex;
+
+    @Autowired
+    private ObservationHeatmap heatmap;
+
+    @GetMapping("/http-pool")
+    public ResponseEntity<Map<String, Object>> getHttpPoolStats() {
+        Map<String, Object> routes = new HashMap<>();
+        for (HttpRoute route : supabaseConnectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), toMap(supabaseConnectionManager.getStats(route)));
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("http2Enabled", httpClientConfig.isHttp2Enabled());
+        data.put("total", toMap(supabaseConnectionManager.getTotalStats()));
+        data.put("routes", routes);
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", data);
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/bulkheads")
+    public ResponseEntity<Map<String, Object>> getBulkheadStats() {
+        Map<String, Object> data = new HashMap<>();
+        if (bulkheadInterceptor != null) {
+            for (Bulkhead bulkhead : bulkheadInterceptor.getBulkheads().values()) {
+                Map<String, Object> values = new HashMap<>();
+                values.put("maxConcurrent", bulkhead.getMaxConcurrent());
+                values.put("inFlight", bulkhead.getInFlight());
+                values.put("queued", bulkhead.getQueued());
+                values.put("rejected", bulkhead.getRejected());
+                data.put(bulkhead.getName(), values);
+            }
+        }
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("enabled", bulkheadInterceptor != null);
+        responseBody.put("data", data);
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/protection")
+    public ResponseEntity<Map<String, Object>> getProtectionStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("enabled", protectionInterceptor != null);
+        responseBody.put("data", protectionInterceptor != null ? protectionInterceptor.getStats() : Map.of());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/hedging")
+    public ResponseEntity<Map<String, Object>> getHedgingStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", hedgedReads.getStats());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/write-behind")
+    public ResponseEntity<Map<String, Object>> getWriteBehindStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("enabled", writeBehind != null);
+        responseBody.put("data", writeBehind != null ? writeBehind.getStats() : Map.of());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/images")
+    public ResponseEntity<Map<String, Object>> getImageStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", observationImageService.getStats());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/species-cache")
+    public ResponseEntity<Map<String, Object>> getSpeciesCacheStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", specieCatalogCache.getStats());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/profile-cache")
+    public ResponseEntity<Map<String, Object>> getProfileCacheStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", profileCache.getStats());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, Object>> getCoalescingStats() {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", coalescingInterceptor.getStats());
+        return ResponseEntity.ok(responseBody);
+    }
+
+    @GetMapping("/observation-index")
+    public ResponseEntity<Map<String, Object>> getObservationIndexStats() {
+        Map<String, Object> data = observationMirror.getStats();
+        data.put("geoCells", geoIndex.cellCount());
+        data.put("heatmap", heatmap.getStats());
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", data);
+        return ResponseEntity.ok(responseBody);
+    }
+
+    private Map<String, Integer> toMap(PoolStats stats) {
+        Map<String, Integer> values = new HashMap<>();
+        values.put("leased", stats.getLeased());
+        values.put("available", stats.getAvailable());
+        values.put("pending", stats.getPending());
+        values.put("max", stats.getMax());
+        return values;
+    }
+}
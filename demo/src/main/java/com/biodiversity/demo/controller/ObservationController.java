@@ -1,20 +1,36 @@
 package com.biodiversity.demo.controller;
 
+import com.biodiversity.demo.dto.ApiResponse;
+import com.biodiversity.demo.dto.BatchResponse;
+import com.biodiversity.demo.dto.ImageUploadDTO;
 import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.dto.ObservationBatchResultDTO;
+import com.biodiversity.demo.dto.PageResponse;
+import com.biodiversity.demo.service.ObservationBatchService;
+import com.biodiversity.demo.service.ObservationCursor;
+import com.biodiversity.demo.service.ObservationImageService;
 import com.biodiversity.demo.service.ObservationService;
 import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.HashMap;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/observations")
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "blocking", matchIfMissing = true)
 public class ObservationController {
 
     private static final Logger logger = LoggerFactory.getLogger(ObservationController.class);
@@ -22,123 +38,252 @@ public class ObservationController {
     @Autowired
     private ObservationService observationService;
 
+    @Autowired
+    private ObservationBatchService observationBatchService;
+
+    @Autowired
+    private ObservationImageService observationImageService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllObservations(
+    public ResponseEntity<PageResponse<Observation>> getAllObservations(
             @RequestHeader("Authorization") String authToken,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int pageSize,
             @RequestParam(required = false) String specieCommonName) {
-        logger.info("Solicitud recibida para obtener todas las observaciones, página: {}", page);
-        ResponseEntity<List<Observation>> response = observationService.getAllObservations(authToken, page,
-                specieCommonName);
-        List<Observation> observations = response.getBody();
-        logger.info("Se encontraron {} observaciones en la página {}", observations != null ? observations.size() : 0,
-                page);
-
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("success", true);
-        responseBody.put("data", observations);
-        responseBody.put("page", page);
-        responseBody.put("pageSize", 5);
-        responseBody.put("count", observations != null ? observations.size() : 0);
+        if (isOffsetPage(cursor)) {
+            logger.info("Solicitud recibida para obtener todas las observaciones, página: {}", page);
+            ResponseEntity<List<Observation>> response = observationService.getAllObservations(authToken, page,
+                    pageSize, specieCommonName);
+            List<Observation> observations = response.getBody();
+            logger.info("Se encontraron {} observaciones en la página {}",
+                    observations != null ? observations.size() : 0, page);
+            return ResponseEntity.status(response.getStatusCode()).body(pageBody(observations, page, pageSize));
+        }
 
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+        logger.info("Solicitud recibida para obtener todas las observaciones, cursor: {}, tamaño: {}", cursor,
+                pageSize);
+        ResponseEntity<List<Observation>> response = observationService.getObservationFeed(authToken, cursor,
+                pageSize, specieCommonName);
+        return ResponseEntity.status(response.getStatusCode()).body(feedBody(response.getBody(), pageSize));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getObservationById(@RequestHeader("Authorization") String authToken,
-            @PathVariable String id) {
+    public ResponseEntity<ApiResponse<Observation>> getObservationById(@RequestHeader("Authorization") String authToken,
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Solicitud recibida para obtener observación con ID: {}", id);
-        ResponseEntity<List<Observation>> response = observationService.getObservationById(authToken, id);
-        Observation obs = response.getBody() != null && !response.getBody().isEmpty() ? response.getBody().get(0)
-                : null;
+        String scope = observationScope(id);
+        if (ifNoneMatch != null) {
+            String current = EntityTags.forObservations(scope,
+                    observationService.getObservationVersionById(authToken, id));
+            if (EntityTags.matches(ifNoneMatch, current)) {
+                logger.info("Observación con ID: {} sin cambios", id);
+                return EntityTags.notModified(current);
+            }
+        }
 
-        Map<String, Object> responseBody = new HashMap<>();
+        ResponseEntity<List<Observation>> response = observationService.getObservationById(authToken, id);
+        Observation obs = first(response.getBody());
         if (obs != null) {
             logger.info("Observación encontrada con ID: {}", id);
-            responseBody.put("success", true);
-            responseBody.put("data", obs);
         } else {
             logger.info("No se encontró observación con ID: {}", id);
-            responseBody.put("success", false);
-            responseBody.put("message", "Observación no encontrada");
         }
 
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+        return EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                EntityTags.forObservations(scope, response)).body(foundBody(obs));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getObservationsByUserId(
+    public ResponseEntity<PageResponse<Observation>> getObservationsByUserId(
             @RequestHeader("Authorization") String authToken,
             @PathVariable String userId,
-            @RequestParam(defaultValue = "1") int page) {
-        logger.info("Solicitud recibida para obtener observaciones del usuario con ID: {}, página: {}", userId, page);
-        ResponseEntity<List<Observation>> response = observationService.getObservationsByUserId(authToken, userId,
-                page);
-        List<Observation> observations = response.getBody();
-
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("success", true);
-        responseBody.put("data", observations);
-        responseBody.put("page", page);
-        responseBody.put("pageSize", 5);
-        responseBody.put("count", observations != null ? observations.size() : 0);
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int pageSize,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (isOffsetPage(cursor)) {
+            logger.info("Solicitud recibida para obtener observaciones del usuario con ID: {}, página: {}", userId,
+                    page);
+            String scope = userPageScope(userId, page, pageSize);
+            if (ifNoneMatch != null) {
+                String current = EntityTags.forObservations(scope,
+                        observationService.getObservationVersionsByUserId(authToken, userId, page, pageSize));
+                if (EntityTags.matches(ifNoneMatch, current)) {
+                    return EntityTags.notModified(current);
+                }
+            }
+            ResponseEntity<List<Observation>> response = observationService.getObservationsByUserId(authToken,
+                    userId, page, pageSize);
+            List<Observation> observations = response.getBody();
+            logger.info("Se encontraron {} observaciones para el usuario {} en la página {}",
+                    observations != null ? observations.size() : 0, userId, page);
+            return EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                    EntityTags.forObservations(scope, response)).body(pageBody(observations, page, pageSize));
+        }
 
-        logger.info("Se encontraron {} observaciones para el usuario {} en la página {}",
-                observations != null ? observations.size() : 0, userId, page);
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+        logger.info("Solicitud recibida para obtener observaciones del usuario con ID: {}, cursor: {}", userId,
+                cursor);
+        String scope = userFeedScope(userId, cursor, pageSize);
+        if (ifNoneMatch != null) {
+            String current = EntityTags.forObservations(scope,
+                    observationService.getObservationFeedVersionsByUserId(authToken, userId, cursor, pageSize));
+            if (EntityTags.matches(ifNoneMatch, current)) {
+                return EntityTags.notModified(current);
+            }
+        }
+        ResponseEntity<List<Observation>> response = observationService.getObservationFeedByUserId(authToken,
+                userId, cursor, pageSize);
+        return EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                EntityTags.forObservations(scope, response)).body(feedBody(response.getBody(), pageSize));
     }
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createObservation(
+    public ResponseEntity<ApiResponse<Observation>> createObservation(
             @RequestHeader("Authorization") String authToken,
             @RequestBody CreateObservationDTO observationDTO) {
         ResponseEntity<List<Observation>> response = observationService.createObservation(authToken, observationDTO);
-        Observation obs = response.getBody() != null && !response.getBody().isEmpty() ? response.getBody().get(0)
-                : null;
+        Observation obs = first(response.getBody());
 
-        Map<String, Object> responseBody = new HashMap<>();
-        if (obs != null) {
-            responseBody.put("success", true);
-            responseBody.put("data", obs);
-            responseBody.put("message", "Observación creada exitosamente");
-        } else {
-            responseBody.put("success", false);
-            responseBody.put("message", "Error al crear la observación");
+        logger.info("Respuesta enviada al cliente: {}", obs);
+        return ResponseEntity.status(response.getStatusCode()).body(createdBody(obs));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createObservations(
+            @RequestHeader("Authorization") String authToken,
+            @RequestBody List<CreateObservationDTO> observations) {
+        if (observations == null || observations.isEmpty()
+                || observations.size() > observationBatchService.getMaxItems()) {
+            return ResponseEntity.badRequest().body(invalidBatchBody(observationBatchService.getMaxItems()));
         }
 
-        logger.info("Respuesta enviada al cliente: {}", obs);
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+        logger.info("Solicitud recibida para crear un lote de {} observaciones", observations.size());
+        List<ObservationBatchResultDTO> results = observationBatchService.createObservations(authToken,
+                observations);
+        return batchResponse(results);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateObservation(@RequestHeader("Authorization") String authToken,
+    public ResponseEntity<ApiResponse<Observation>> updateObservation(
+            @RequestHeader("Authorization") String authToken,
             @PathVariable String id,
-            @RequestBody Observation observation) {
-        ResponseEntity<Observation> response = observationService.updateObservation(authToken, id, observation);
-
-        Map<String, Object> responseBody = new HashMap<>();
-        if (response.getBody() != null) {
-            responseBody.put("success", true);
-            responseBody.put("data", response.getBody());
-            responseBody.put("message", "Observación actualizada exitosamente");
-        } else {
-            responseBody.put("success", false);
-            responseBody.put("message", "Error al actualizar la observación");
+            @RequestBody ObjectNode changes) {
+        // Se conserva qué campos envió el cliente: el write-behind fusiona solo esos
+        Observation observation;
+        try {
+            observation = objectMapper.treeToValue(changes, Observation.class);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Cuerpo de la observación inválido"));
+        }
+        ResponseEntity<Observation> response = observationService.updateObservation(authToken, id, observation,
+                changes);
+
+        return ResponseEntity.status(response.getStatusCode()).body(updatedBody(response.getBody()));
+    }
+
+    @PostMapping(value = "/{id}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImageUploadDTO>> uploadImage(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable String id,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (!ObservationImageService.isValidId(id) || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Se requiere un id válido y una imagen"));
+        }
+        if (!ObservationImageService.isSupported(file.getContentType())) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(ApiResponse.error("Formato de imagen no soportado (solo JPEG o PNG)"));
         }
 
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+        logger.info("Subida de imagen para la observación {}: {} bytes", id, file.getSize());
+        ImageUploadDTO upload = observationImageService.upload(authToken, id, file);
+        if (upload == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Observación no encontrada"));
+        }
+        // 202: la miniatura se añade a images cuando el worker termina
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.ok(upload, "Imagen recibida, miniatura en proceso"));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteObservation(@RequestHeader("Authorization") String authToken,
+    public ResponseEntity<ApiResponse<Void>> deleteObservation(@RequestHeader("Authorization") String authToken,
             @PathVariable String id) {
         ResponseEntity<Void> response = observationService.deleteObservation(authToken, id);
 
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("success", response.getStatusCode().is2xxSuccessful());
-        responseBody.put("message", response.getStatusCode().is2xxSuccessful() ? "Observación eliminada exitosamente"
-                : "Error al eliminar la observación");
+        return ResponseEntity.status(response.getStatusCode())
+                .body(deletedBody(response.getStatusCode().is2xxSuccessful()));
+    }
+
+    static Observation first(List<Observation> observations) {
+        return observations != null && !observations.isEmpty() ? observations.get(0) : null;
+    }
+
+    static PageResponse<Observation> pageBody(List<Observation> observations, int page, int pageSize) {
+        return PageResponse.offset(observations, page, ObservationService.clampPageSize(pageSize));
+    }
+
+    static String observationScope(String id) {
+        return "observation:" + id;
+    }
+
+    static String userPageScope(String userId, int page, int pageSize) {
+        return "observations:user:" + userId + ":page:" + page + ":size:"
+                + ObservationService.clampPageSize(pageSize);
+    }
+
+    static String userFeedScope(String userId, String cursor, int pageSize) {
+        return "observations:user:" + userId + ":cursor:" + cursor + ":size:"
+                + ObservationService.clampPageSize(pageSize);
+    }
 
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+    // El feed por cursor se pide con ?cursor= (vacío para la primera página); sin él se conserva la
+    // paginación por offset de siempre, con su sobre (page) y page=1 por defecto
+    static boolean isOffsetPage(String cursor) {
+        return cursor == null;
+    }
+
+    static PageResponse<Observation> feedBody(List<Observation> fetched, int pageSize) {
+        int size = ObservationService.clampPageSize(pageSize);
+        boolean hasMore = fetched != null && fetched.size() > size;
+        List<Observation> observations = hasMore ? fetched.subList(0, size) : fetched;
+        return PageResponse.feed(observations, size, hasMore,
+                hasMore ? ObservationCursor.encode(observations.get(size - 1)) : null);
+    }
+
+    static ApiResponse<Observation> foundBody(Observation obs) {
+        return obs != null ? ApiResponse.ok(obs) : ApiResponse.error("Observación no encontrada");
+    }
+
+    static ApiResponse<Observation> createdBody(Observation obs) {
+        return obs != null
+                ? ApiResponse.ok(obs, "Observación creada exitosamente")
+                : ApiResponse.error("Error al crear la observación");
+    }
+
+    static BatchResponse invalidBatchBody(int maxItems) {
+        return BatchResponse.invalid("El lote debe tener entre 1 y " + maxItems + " observaciones");
+    }
+
+    static ResponseEntity<BatchResponse> batchResponse(List<ObservationBatchResultDTO> results) {
+        long created = results.stream().filter(ObservationBatchResultDTO::isSuccess).count();
+        logger.info("Lote procesado: {} creadas, {} con errores", created, results.size() - created);
+
+        return ResponseEntity.status(created == results.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(BatchResponse.of(results, created));
+    }
+
+    static ApiResponse<Observation> updatedBody(Observation obs) {
+        return obs != null
+                ? ApiResponse.ok(obs, "Observación actualizada exitosamente")
+                : ApiResponse.error("Error al actualizar la observación");
+    }
+
+    static ApiResponse<Void> deletedBody(boolean deleted) {
+        return new ApiResponse<>(deleted, null, deleted ? "Observación eliminada exitosamente"
+                : "Error al eliminar la observación");
     }
-}
\ No newline at end of file
+}
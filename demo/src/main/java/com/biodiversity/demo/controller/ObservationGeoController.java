@@ -0,0 +1,131 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import com.biodiversity.demo.service.JwtVerifier;
+import com.biodiversity.demo.service.ObservationGeoIndex;
+import com.biodiversity.demo.service.ObservationMirror;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+@RestController
+@RequestMapping("/api/observations/geo")
+public class ObservationGeoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObservationGeoController.class);
+
+    private static final int MAX_RESULTS = 5000;
+
+    @Autowired
+    private ObservationMirror observationMirror;
+
+    @Autowired
+    private ObservationGeoIndex geoIndex;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @GetMapping("/bbox")
+    public ResponseEntity<Map<String, Object>> withinBox(
+            @RequestHeader("Authorization") String authToken,
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) String idSpecie,
+            @RequestParam(required = false) String typeObservation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "500") int limit) {
+        if (!validLat(minLat) || !validLat(maxLat) || !validLon(minLon) || !validLon(maxLon) || minLat > maxLat) {
+            return ResponseEntity.badRequest().body(errorBody("Coordenadas de la caja inválidas"));
+        }
+        // El espejo se sirve sin pasar por Supabase: el token se valida aquí
+        jwtVerifier.claimsOf(authToken);
+        observationMirror.ensureLoaded();
+        List<ObservationPoint> points = geoIndex.withinBox(minLat, minLon, maxLat, maxLon,
+                filter(idSpecie, typeObservation, from, to), clamp(limit));
+        logger.debug("Consulta por caja devolvió {} observaciones", points.size());
+        return ResponseEntity.ok(resultBody(points));
+    }
+
+    @GetMapping("/radius")
+    public ResponseEntity<Map<String, Object>> withinRadius(
+            @RequestHeader("Authorization") String authToken,
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(required = false) String idSpecie,
+            @RequestParam(required = false) String typeObservation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "500") int limit) {
+        if (!validLat(lat) || !validLon(lon) || !(radiusKm > 0)) {
+            return ResponseEntity.badRequest().body(errorBody("Centro o radio inválidos"));
+        }
+        jwtVerifier.claimsOf(authToken);
+        observationMirror.ensureLoaded();
+        return ResponseEntity.ok(resultBody(geoIndex.withinRadius(lat, lon, radiusKm,
+                filter(idSpecie, typeObservation, from, to), clamp(limit))));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<Map<String, Object>> nearest(
+            @RequestHeader("Authorization") String authToken,
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) String idSpecie,
+            @RequestParam(required = false) String typeObservation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!validLat(lat) || !validLon(lon)) {
+            return ResponseEntity.badRequest().body(errorBody("Coordenadas inválidas"));
+        }
+        jwtVerifier.claimsOf(authToken);
+        observationMirror.ensureLoaded();
+        return ResponseEntity.ok(resultBody(geoIndex.nearest(lat, lon, clamp(k),
+                filter(idSpecie, typeObservation, from, to))));
+    }
+
+    private Predicate<ObservationPoint> filter(String idSpecie, String typeObservation, LocalDate from,
+            LocalDate to) {
+        return ObservationGeoIndex.filter(idSpecie, typeObservation, from, to);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RESULTS));
+    }
+
+    private static boolean validLat(double lat) {
+        return lat >= -90 && lat <= 90;
+    }
+
+    private static boolean validLon(double lon) {
+        return lon >= -180 && lon <= 180;
+    }
+
+    private static Map<String, Object> resultBody(List<?> data) {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", data);
+        responseBody.put("count", data.size());
+        return responseBody;
+    }
+
+    private static Map<String, Object> errorBody(String message) {
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", false);
+        responseBody.put("message", message);
+        return responseBody;
+    }
+}
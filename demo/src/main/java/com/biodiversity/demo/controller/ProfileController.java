@@ -3,6 +3,7 @@ package com.biodiversity.demo.controller;
 import com.biodiversity.demo.model.Profile;
 import com.biodiversity.demo.service.ProfileService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,8 +23,18 @@ public class ProfileController {
 
     @GetMapping("/{id}")
     public ResponseEntity<Profile> getProfileById(@RequestHeader("Authorization") String authToken,
-            @PathVariable String id) {
-        return profileService.getProfileById(authToken, id);
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String scope = "profile:" + id;
+        if (ifNoneMatch != null) {
+            String current = EntityTags.forProfile(scope, profileService.getProfileVersionById(authToken, id));
+            if (EntityTags.matches(ifNoneMatch, current)) {
+                return EntityTags.notModified(current);
+            }
+        }
+        ResponseEntity<Profile> response = profileService.getProfileById(authToken, id);
+        return EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                EntityTags.forProfile(scope, response)).body(response.getBody());
     }
 
     @GetMapping("/email/{email}")
@@ -0,0 +1,152 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.dto.ApiResponse;
+import com.biodiversity.demo.dto.BatchResponse;
+import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.biodiversity.demo.dto.PageResponse;
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.service.ObservationBatchService;
+import com.biodiversity.demo.service.ReactiveObservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/observations")
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "reactive")
+public class ReactiveObservationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveObservationController.class);
+
+    @Autowired
+    private ReactiveObservationService observationService;
+
+    @Autowired
+    private ObservationBatchService observationBatchService;
+
+    @GetMapping
+    public Mono<ResponseEntity<PageResponse<Observation>>> getAllObservations(
+            @RequestHeader("Authorization") String authToken,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int pageSize,
+            @RequestParam(required = false) String specieCommonName) {
+        if (ObservationController.isOffsetPage(cursor)) {
+            logger.debug("Solicitud reactiva para obtener todas las observaciones, página: {}", page);
+            return observationService.getAllObservations(authToken, page, pageSize, specieCommonName)
+                    .map(response -> ResponseEntity.status(response.getStatusCode())
+                            .body(ObservationController.pageBody(response.getBody(), page, pageSize)));
+        }
+        logger.debug("Solicitud reactiva para obtener todas las observaciones, cursor: {}", cursor);
+        return observationService.getObservationFeed(authToken, cursor, pageSize, specieCommonName)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .body(ObservationController.feedBody(response.getBody(), pageSize)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Observation>>> getObservationById(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String scope = ObservationController.observationScope(id);
+        return revalidate(scope, ifNoneMatch, () -> observationService.getObservationVersionById(authToken, id),
+                () -> observationService.getObservationById(authToken, id)
+                        .map(response -> EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                                EntityTags.forObservations(scope, response))
+                                .body(ObservationController.foundBody(
+                                        ObservationController.first(response.getBody())))));
+    }
+
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<PageResponse<Observation>>> getObservationsByUserId(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int pageSize,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ObservationController.isOffsetPage(cursor)) {
+            String scope = ObservationController.userPageScope(userId, page, pageSize);
+            return revalidate(scope, ifNoneMatch,
+                    () -> observationService.getObservationVersionsByUserId(authToken, userId, page, pageSize),
+                    () -> observationService.getObservationsByUserId(authToken, userId, page, pageSize)
+                            .map(response -> EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                                    EntityTags.forObservations(scope, response))
+                                    .body(ObservationController.pageBody(response.getBody(), page,
+                                            pageSize))));
+        }
+        String scope = ObservationController.userFeedScope(userId, cursor, pageSize);
+        return revalidate(scope, ifNoneMatch,
+                () -> observationService.getObservationFeedVersionsByUserId(authToken, userId, cursor, pageSize),
+                () -> observationService.getObservationFeedByUserId(authToken, userId, cursor, pageSize)
+                        .map(response -> EntityTags.tagged(ResponseEntity.status(response.getStatusCode()),
+                                EntityTags.forObservations(scope, response))
+                                .body(ObservationController.feedBody(response.getBody(), pageSize))));
+    }
+
+    // Con If-None-Match se consulta solo id y updated_at; la lectura completa ocurre únicamente si cambió algo
+    private <T> Mono<ResponseEntity<T>> revalidate(String scope, String ifNoneMatch,
+            Supplier<Mono<ResponseEntity<List<Observation>>>> versions,
+            Supplier<Mono<ResponseEntity<T>>> full) {
+        if (ifNoneMatch == null) {
+            return full.get();
+        }
+        return versions.get().flatMap(response -> {
+            String current = EntityTags.forObservations(scope, response);
+            return EntityTags.matches(ifNoneMatch, current)
+                    ? Mono.just(EntityTags.<T>notModified(current))
+                    : full.get();
+        });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<Observation>>> createObservation(
+            @RequestHeader("Authorization") String authToken,
+            @RequestBody CreateObservationDTO observationDTO) {
+        return observationService.createObservation(authToken, observationDTO)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .body(ObservationController.createdBody(ObservationController.first(response.getBody()))));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResponse>> createObservations(
+            @RequestHeader("Authorization") String authToken,
+            @RequestBody List<CreateObservationDTO> observations) {
+        if (observations == null || observations.isEmpty()
+                || observations.size() > observationBatchService.getMaxItems()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(ObservationController.invalidBatchBody(observationBatchService.getMaxItems())));
+        }
+        return Mono.fromCallable(() -> observationBatchService.createObservations(authToken, observations))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ObservationController::batchResponse);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Observation>>> updateObservation(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable String id,
+            @RequestBody Observation observation) {
+        return observationService.updateObservation(authToken, id, observation)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .body(ObservationController.updatedBody(response.getBody())));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Void>>> deleteObservation(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable String id) {
+        return observationService.deleteObservation(authToken, id)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .body(ObservationController.deletedBody(response.getStatusCode().is2xxSuccessful())));
+    }
+}
@@ -0,0 +1,68 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.dto.ApiResponse;
+import com.biodiversity.demo.dto.SpecieSummaryDTO;
+import com.biodiversity.demo.model.Specie;
+import com.biodiversity.demo.service.ReactiveSpecieService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/species")
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "reactive")
+public class ReactiveSpecieController {
+
+    @Autowired
+    private ReactiveSpecieService specieService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Specie>>> getAllSpecies(@RequestHeader("Authorization") String authToken) {
+        return specieService.getAllSpecies(authToken);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Specie>>> searchSpecies(@RequestHeader("Authorization") String authToken,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return specieService.searchSpecies(authToken, q, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Specie>> getSpecieById(@RequestHeader("Authorization") String authToken,
+            @PathVariable String id) {
+        return specieService.getSpecieById(authToken, id);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Specie>> createSpecie(@RequestHeader("Authorization") String authToken,
+            @RequestBody Specie specie) {
+        return specieService.createSpecie(authToken, specie);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Specie>> updateSpecie(@RequestHeader("Authorization") String authToken,
+            @PathVariable String id,
+            @RequestBody Specie specie) {
+        return specieService.updateSpecie(authToken, id, specie);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteSpecie(@RequestHeader("Authorization") String authToken,
+            @PathVariable String id) {
+        return specieService.deleteSpecie(authToken, id);
+    }
+
+    @GetMapping("/scientific-name/{scientificName}")
+    public Mono<ResponseEntity<ApiResponse<SpecieSummaryDTO>>> getSpecieByScientificName(
+            @RequestHeader("Authorization") String authToken,
+            @PathVariable String scientificName) {
+        return specieService.getSpecieByScientificName(authToken, scientificName)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .body(SpecieController.scientificNameBody(response.getBody())));
+    }
+}
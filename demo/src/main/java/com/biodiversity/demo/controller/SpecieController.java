@@ -1,17 +1,19 @@
 package com.biodiversity.demo.controller;
 
+import com.biodiversity.demo.dto.ApiResponse;
+import com.biodiversity.demo.dto.SpecieSummaryDTO;
 import com.biodiversity.demo.model.Specie;
 import com.biodiversity.demo.service.SpecieService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 
 @RestController
 @RequestMapping("/api/species")
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "blocking", matchIfMissing = true)
 public class SpecieController {
 
     @Autowired
@@ -22,6 +24,13 @@ public class SpecieController {
         return specieService.getAllSpecies(authToken);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<Specie>> searchSpecies(@RequestHeader("Authorization") String authToken,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return specieService.searchSpecies(authToken, q, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Specie> getSpecieById(@RequestHeader("Authorization") String authToken,
             @PathVariable String id) {
@@ -48,27 +57,17 @@ public class SpecieController {
     }
 
     @GetMapping("/scientific-name/{scientificName}")
-    public ResponseEntity<Map<String, Object>> getSpecieByScientificName(
+    public ResponseEntity<ApiResponse<SpecieSummaryDTO>> getSpecieByScientificName(
             @RequestHeader("Authorization") String authToken,
             @PathVariable String scientificName) {
         ResponseEntity<List<Specie>> response = specieService.getSpecieByScientificName(authToken, scientificName);
-        List<Specie> species = response.getBody();
+        return ResponseEntity.status(response.getStatusCode()).body(scientificNameBody(response.getBody()));
+    }
 
-        Map<String, Object> responseBody = new HashMap<>();
+    static ApiResponse<SpecieSummaryDTO> scientificNameBody(List<Specie> species) {
         if (species != null && !species.isEmpty()) {
-            Specie specie = species.get(0);
-            Map<String, String> specieInfo = new HashMap<>();
-            specieInfo.put("id_specie", specie.getId());
-            specieInfo.put("scientific_name", specie.getScientificName());
-            specieInfo.put("common_name", specie.getCommonName());
-
-            responseBody.put("success", true);
-            responseBody.put("data", specieInfo);
-        } else {
-            responseBody.put("success", false);
-            responseBody.put("message", "Especie no encontrada");
+            return ApiResponse.ok(SpecieSummaryDTO.of(species.get(0)));
         }
-
-        return ResponseEntity.status(response.getStatusCode()).body(responseBody);
+        return ApiResponse.error("Especie no encontrada");
     }
-}
\ No newline at end of file
+}
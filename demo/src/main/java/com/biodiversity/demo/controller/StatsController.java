@@ -0,0 +1,38 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.service.JwtVerifier;
+import com.biodiversity.demo.service.ObservationMirror;
+import com.biodiversity.demo.service.ObservationStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private ObservationMirror observationMirror;
+
+    @Autowired
+    private ObservationStats observationStats;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @GetMapping("/observations")
+    public ResponseEntity<Map<String, Object>> getObservationStats(
+            @RequestHeader("Authorization") String authToken,
+            @RequestParam(required = false) String idSpecie) {
+        jwtVerifier.claimsOf(authToken);
+        observationMirror.ensureLoaded();
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("success", true);
+        responseBody.put("data", observationStats.getRollups(idSpecie));
+        return ResponseEntity.ok(responseBody);
+    }
+}
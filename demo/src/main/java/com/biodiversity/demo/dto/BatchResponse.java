@@ -0,0 +1,19 @@
+package com.biodiversity.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResponse(boolean success, String message, List<ObservationBatchResultDTO> data, Integer total,
+        Long created, Long failed) {
+
+    public static BatchResponse of(List<ObservationBatchResultDTO> results, long created) {
+        return new BatchResponse(created == results.size(), null, results, results.size(), created,
+                results.size() - created);
+    }
+
+    public static BatchResponse invalid(String message) {
+        return new BatchResponse(false, message, null, null, null, null);
+    }
+}
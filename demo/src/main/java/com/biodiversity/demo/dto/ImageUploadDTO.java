@@ -0,0 +1,14 @@
+package com.biodiversity.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadDTO {
+    private String originalUrl;
+    // Se añade a Observation.images cuando el worker termina de generarla
+    private String thumbnailUrl;
+}
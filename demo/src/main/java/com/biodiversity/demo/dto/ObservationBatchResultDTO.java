@@ -0,0 +1,17 @@
+package com.biodiversity.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ObservationBatchResultDTO {
+    private int index;
+    private boolean success;
+    private String id;
+    private List<String> errors;
+}
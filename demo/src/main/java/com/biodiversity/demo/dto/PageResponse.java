@@ -0,0 +1,19 @@
+package com.biodiversity.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// page solo aplica a la paginación por offset; hasMore y nextCursor solo al feed por cursor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PageResponse<T>(boolean success, List<T> data, Integer page, int pageSize, int count, Boolean hasMore,
+        String nextCursor) {
+
+    public static <T> PageResponse<T> offset(List<T> data, int page, int pageSize) {
+        return new PageResponse<>(true, data, page, pageSize, data != null ? data.size() : 0, null, null);
+    }
+
+    public static <T> PageResponse<T> feed(List<T> data, int pageSize, boolean hasMore, String nextCursor) {
+        return new PageResponse<>(true, data, null, pageSize, data != null ? data.size() : 0, hasMore, nextCursor);
+    }
+}
@@ -0,0 +1,14 @@
+package com.biodiversity.demo.dto;
+
+import com.biodiversity.demo.model.Specie;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record SpecieSummaryDTO(
+        @JsonProperty("id_specie") String id,
+        @JsonProperty("scientific_name") String scientificName,
+        @JsonProperty("common_name") String commonName) {
+
+    public static SpecieSummaryDTO of(Specie specie) {
+        return new SpecieSummaryDTO(specie.getId(), specie.getScientificName(), specie.getCommonName());
+    }
+}
@@ -0,0 +1,44 @@
+package com.biodiversity.demo.event;
+
+import com.biodiversity.demo.model.Observation;
+
+public class ObservationChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final String id;
+    private final Observation observation;
+
+    public ObservationChangedEvent(Type type, String id, Observation observation) {
+        this.type = type;
+        this.id = id;
+        this.observation = observation;
+    }
+
+    public static ObservationChangedEvent created(Observation observation) {
+        return new ObservationChangedEvent(Type.CREATED, observation.getId(), observation);
+    }
+
+    public static ObservationChangedEvent updated(String id, Observation observation) {
+        return new ObservationChangedEvent(Type.UPDATED, id, observation);
+    }
+
+    public static ObservationChangedEvent deleted(String id) {
+        return new ObservationChangedEvent(Type.DELETED, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Observation getObservation() {
+        return observation;
+    }
+}
@@ -0,0 +1,46 @@
+package com.biodiversity.demo.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Sin permiso del bulkhead dentro del tiempo de espera. Igual que UpstreamUnavailableException es una
+ * RestClientException (los servicios la tratan como cualquier fallo de Supabase) y un ErrorResponse
+ * que Spring MVC convierte en 503 con Retry-After.
+ */
+public class BulkheadFullException extends RestClientException implements ErrorResponse {
+
+    private final long retryAfterSeconds;
+    private final ProblemDetail body;
+
+    public BulkheadFullException(String upstream, long queueTimeoutMs) {
+        super("Sin capacidad disponible para '" + upstream + "' tras esperar " + queueTimeoutMs + " ms");
+        this.retryAfterSeconds = Math.max(1, (queueTimeoutMs + 999) / 1000);
+        this.body = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, getMessage());
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+
+    @Override
+    public ProblemDetail getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,12 @@
+package com.biodiversity.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class IndexUnavailableException extends RuntimeException {
+
+    public IndexUnavailableException(String message) {
+        super(message);
+    }
+}
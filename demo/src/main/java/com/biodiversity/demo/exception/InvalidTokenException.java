@@ -0,0 +1,12 @@
+package com.biodiversity.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String reason) {
+        super("Token inválido: " + reason);
+    }
+}
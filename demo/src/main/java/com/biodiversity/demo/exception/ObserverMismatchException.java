@@ -0,0 +1,12 @@
+package com.biodiversity.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class ObserverMismatchException extends RuntimeException {
+
+    public ObserverMismatchException(String idObserverUser) {
+        super("El token no pertenece al usuario observador " + idObserverUser);
+    }
+}
@@ -0,0 +1,12 @@
+package com.biodiversity.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ThumbnailQueueFullException extends RuntimeException {
+
+    public ThumbnailQueueFullException(int queueCapacity) {
+        super("Cola de miniaturas llena (" + queueCapacity + " pendientes), reintentar más tarde");
+    }
+}
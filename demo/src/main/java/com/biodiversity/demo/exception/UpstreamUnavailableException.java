@@ -0,0 +1,46 @@
+package com.biodiversity.demo.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Llamada a Supabase rechazada localmente (circuito abierto o límite de concurrencia alcanzado).
+ * Es una RestClientException para que los servicios que ya toleran fallos de Supabase la traten
+ * igual, y un ErrorResponse para que Spring MVC responda 503 con Retry-After.
+ */
+public class UpstreamUnavailableException extends RestClientException implements ErrorResponse {
+
+    private final long retryAfterSeconds;
+    private final ProblemDetail body;
+
+    public UpstreamUnavailableException(String upstream, String reason, long retryAfterSeconds) {
+        super("Supabase '" + upstream + "' no disponible: " + reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.body = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, getMessage());
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+
+    @Override
+    public ProblemDetail getBody() {
+        return body;
+    }
+}
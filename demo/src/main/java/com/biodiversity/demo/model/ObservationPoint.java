@@ -0,0 +1,35 @@
+package com.biodiversity.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class ObservationPoint {
+    @JsonProperty("id_observation")
+    String id;
+
+    @JsonProperty("latitude")
+    double latitude;
+
+    @JsonProperty("longitude")
+    double longitude;
+
+    @JsonProperty("id_specie")
+    String idSpecies;
+
+    @JsonProperty("type_observation")
+    String typeObservation;
+
+    @JsonProperty("verification_status")
+    boolean verified;
+
+    @JsonProperty("date")
+    LocalDate date;
+
+    public static ObservationPoint of(Observation obs) {
+        return new ObservationPoint(obs.getId(), obs.getLatitude(), obs.getLongitude(), obs.getIdSpecies(),
+                obs.getTypeObservation(), obs.isVerificationStatus(), obs.getDate());
+    }
+}
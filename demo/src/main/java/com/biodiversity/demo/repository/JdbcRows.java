@@ -0,0 +1,82 @@
+package com.biodiversity.demo.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Utilidades compartidas por los repositorios JDBC: mismo formato de fechas que PostgREST y
+ * parámetros de consulta con arrays para los filtros por conjunto.
+ */
+final class JdbcRows {
+
+    // PostgREST devuelve timestamptz como "2024-05-01T12:00:00.123456+00:00"; se imita para que ETags y cursores coincidan
+    static final DateTimeFormatter POSTGREST_TIMESTAMP = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .appendOffset("+HH:MM", "+00:00")
+            .toFormatter();
+
+    private JdbcRows() {
+    }
+
+    static String timestamp(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value == null ? null : POSTGREST_TIMESTAMP.format(value.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+
+    static Double nullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static List<String> textArray(ResultSet rs, String column) throws SQLException {
+        Array array = rs.getArray(column);
+        if (array == null) {
+            return null;
+        }
+        try {
+            return Arrays.asList((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+
+    /**
+     * Enlaza los parámetros en orden; las colecciones van como array de Postgres ({@code = ANY(?)}).
+     */
+    static void bind(PreparedStatement ps, List<Object> args, String arrayType) throws SQLException {
+        for (int i = 0; i < args.size(); i++) {
+            Object arg = args.get(i);
+            if (arg instanceof Collection<?> values) {
+                ps.setArray(i + 1, ps.getConnection().createArrayOf(arrayType, values.toArray()));
+            } else {
+                ps.setObject(i + 1, arg);
+            }
+        }
+    }
+
+    static String likePattern(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    static <T> List<T> timed(MeterRegistry registry, String resource, String query, Supplier<List<T>> call) {
+        return Timer.builder("supabase.jdbc.queries")
+                .tag("resource", resource)
+                .tag("query", query)
+                .register(registry)
+                .record(call);
+    }
+}
@@ -0,0 +1,160 @@
+package com.biodiversity.demo.repository;
+
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.service.ObservationCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecturas de observaciones directamente contra Postgres, con las mismas filas y el mismo orden
+ * que las consultas PostgREST de {@code ObservationService}. Las escrituras siguen por PostgREST.
+ */
+@Repository
+@ConditionalOnProperty(name = "supabase.data-path.observations", havingValue = "jdbc")
+public class ObservationJdbcRepository {
+
+    static final String COLUMNS = "id_observation, date, latitude, longitude, note, state, images, "
+            + "type_observation, verification_status, similarity_percentage, specie_scientific_name, "
+            + "specie_common_name, id_specie, id_observer_user, created_at, updated_at";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM observations";
+    private static final String FEED_ORDER = " ORDER BY created_at DESC, id_observation DESC LIMIT ?";
+    private static final String PAGE_ORDER = " ORDER BY created_at DESC, id_observation DESC LIMIT ? OFFSET ?";
+
+    @Autowired
+    private JdbcTemplate supabaseJdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${supabase.db.id-type:uuid}")
+    private String idType;
+
+    /**
+     * Filtro por especie ya resuelto: ids del catálogo en memoria o, sin catálogo, el nombre común.
+     */
+    public record SpeciesCriteria(List<String> ids, String commonName) {
+
+        public static SpeciesCriteria ofIds(List<String> ids) {
+            return new SpeciesCriteria(ids, null);
+        }
+
+        public static SpeciesCriteria ofCommonName(String commonName) {
+            return new SpeciesCriteria(null, commonName);
+        }
+
+        boolean matchesNothing() {
+            return ids != null && ids.isEmpty();
+        }
+    }
+
+    record Query(String sql, List<Object> args) {
+    }
+
+    public List<Observation> findById(String id) {
+        return run("byId", new Query(SELECT + " WHERE id_observation = ?", List.of(id)));
+    }
+
+    public List<Observation> findPage(int offset, int limit, SpeciesCriteria species) {
+        if (species != null && species.matchesNothing()) {
+            return List.of();
+        }
+        return run("page", pageQuery(offset, limit, species));
+    }
+
+    public List<Observation> findFeed(ObservationCursor cursor, int limit, SpeciesCriteria species) {
+        if (species != null && species.matchesNothing()) {
+            return List.of();
+        }
+        return run("feed", feedQuery(null, cursor, limit, species));
+    }
+
+    public List<Observation> findByUser(String userId, int offset, int limit) {
+        return run("byUser", new Query(SELECT + " WHERE id_observer_user = ?" + PAGE_ORDER,
+                List.of(userId, limit, offset)));
+    }
+
+    public List<Observation> findFeedByUser(String userId, ObservationCursor cursor, int limit) {
+        return run("feedByUser", feedQuery(userId, cursor, limit, null));
+    }
+
+    static Query pageQuery(int offset, int limit, SpeciesCriteria species) {
+        List<String> where = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addSpecies(where, args, species);
+        args.add(limit);
+        args.add(offset);
+        return new Query(SELECT + where(where) + PAGE_ORDER, args);
+    }
+
+    static Query feedQuery(String userId, ObservationCursor cursor, int limit, SpeciesCriteria species) {
+        List<String> where = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (userId != null) {
+            where.add("id_observer_user = ?");
+            args.add(userId);
+        }
+        if (cursor != null) {
+            // Comparación de filas: Postgres la resuelve con un único rango sobre (created_at, id_observation)
+            where.add("(created_at, id_observation) < (?, ?)");
+            args.add(cursor.getCreatedAt().atOffset(ZoneOffset.UTC));
+            args.add(cursor.getId());
+        }
+        addSpecies(where, args, species);
+        args.add(limit);
+        return new Query(SELECT + where(where) + FEED_ORDER, args);
+    }
+
+    private static void addSpecies(List<String> where, List<Object> args, SpeciesCriteria species) {
+        if (species == null) {
+            return;
+        }
+        if (species.ids() != null) {
+            where.add("id_specie = ANY(?)");
+            args.add(species.ids());
+        } else if (species.commonName() != null) {
+            where.add("specie_common_name ILIKE ?");
+            args.add(JdbcRows.likePattern(species.commonName()));
+        }
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private List<Observation> run(String name, Query query) {
+        return JdbcRows.timed(meterRegistry, "observations", name, () -> supabaseJdbcTemplate.query(query.sql(),
+                ps -> JdbcRows.bind(ps, query.args(), idType), ObservationJdbcRepository::mapRow));
+    }
+
+    static Observation mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Observation obs = new Observation();
+        obs.setId(rs.getString("id_observation"));
+        obs.setDate(rs.getObject("date", LocalDate.class));
+        obs.setLatitude(rs.getFloat("latitude"));
+        obs.setLongitude(rs.getFloat("longitude"));
+        obs.setNote(rs.getString("note"));
+        obs.setState(rs.getString("state"));
+        obs.setImages(JdbcRows.textArray(rs, "images"));
+        obs.setTypeObservation(rs.getString("type_observation"));
+        obs.setVerificationStatus(rs.getBoolean("verification_status"));
+        obs.setSimilarityPercentage(JdbcRows.nullableDouble(rs, "similarity_percentage"));
+        obs.setSpecieScientificName(rs.getString("specie_scientific_name"));
+        obs.setSpecieCommonName(rs.getString("specie_common_name"));
+        obs.setIdSpecies(rs.getString("id_specie"));
+        obs.setIdObserverUser(rs.getString("id_observer_user"));
+        obs.setCreatedAt(JdbcRows.timestamp(rs, "created_at"));
+        obs.setUpdatedAt(JdbcRows.timestamp(rs, "updated_at"));
+        return obs;
+    }
+}
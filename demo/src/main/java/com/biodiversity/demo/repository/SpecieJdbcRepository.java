@@ -0,0 +1,59 @@
+package com.biodiversity.demo.repository;
+
+import com.biodiversity.demo.model.Specie;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Lecturas del catálogo de especies directamente contra Postgres (carga completa para la caché y
+ * búsqueda por id cuando la caché está apagada).
+ */
+@Repository
+@ConditionalOnProperty(name = "supabase.data-path.species", havingValue = "jdbc")
+public class SpecieJdbcRepository {
+
+    static final String SELECT = "SELECT id_specie, scientific_name, common_name, type, habitat, size, "
+            + "ecological_role, conservation_status, description, distribution, family, created_at, updated_at "
+            + "FROM species";
+
+    @Autowired
+    private JdbcTemplate supabaseJdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public List<Specie> findAll() {
+        return JdbcRows.timed(meterRegistry, "species", "all",
+                () -> supabaseJdbcTemplate.query(SELECT, SpecieJdbcRepository::mapRow));
+    }
+
+    public List<Specie> findById(String id) {
+        return JdbcRows.timed(meterRegistry, "species", "byId",
+                () -> supabaseJdbcTemplate.query(SELECT + " WHERE id_specie = ?", SpecieJdbcRepository::mapRow,
+                        id));
+    }
+
+    static Specie mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Specie(
+                rs.getString("id_specie"),
+                rs.getString("scientific_name"),
+                rs.getString("common_name"),
+                rs.getString("type"),
+                rs.getString("habitat"),
+                rs.getString("size"),
+                rs.getString("ecological_role"),
+                rs.getString("conservation_status"),
+                rs.getString("description"),
+                rs.getString("distribution"),
+                rs.getString("family"),
+                JdbcRows.timestamp(rs, "created_at"),
+                JdbcRows.timestamp(rs, "updated_at"));
+    }
+}
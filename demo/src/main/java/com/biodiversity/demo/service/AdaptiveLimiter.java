@@ -0,0 +1,115 @@
+package com.biodiversity.demo.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia AIMD guiado por latencia. Compara la latencia reciente (EWMA rápida)
+ * con una línea base lenta: si la reciente supera la base por el factor de tolerancia, o la
+ * llamada falla, el límite se reduce multiplicativamente como máximo una vez por RTT; si no, y
+ * el límite se está usando, crece de a 1/límite por respuesta (≈ +1 por RTT). Lo que excede el
+ * límite se rechaza sin esperar.
+ */
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double TOLERANCE = 2.0;
+    private static final double SHORT_ALPHA = 0.2;
+    private static final double BASELINE_ALPHA = 0.01;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double baselineRttNanos;
+    private long lastDecreaseNanos;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        this(name, initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized void onSample(long rttNanos) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        }
+        shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+        // La base se mueve lento: sigue un cambio sostenido de Supabase sin aceptar picos como normales
+        baselineRttNanos += BASELINE_ALPHA * (rttNanos - baselineRttNanos);
+
+        if (shortRttNanos > baselineRttNanos * TOLERANCE) {
+            decrease();
+        } else if (inFlight.get() * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized void onDrop() {
+        decrease();
+    }
+
+    private void decrease() {
+        long now = nanoClock.getAsLong();
+        if (now - lastDecreaseNanos < (long) shortRttNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public synchronized double getBaselineRttMillis() {
+        return baselineRttNanos / 1_000_000.0;
+    }
+
+    public synchronized double getRecentRttMillis() {
+        return shortRttNanos / 1_000_000.0;
+    }
+}
@@ -1,16 +1,21 @@
 package com.biodiversity.demo.service;
 
+import com.biodiversity.demo.exception.InvalidTokenException;
 import com.biodiversity.demo.model.Admin;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class AdminService extends SupabaseService {
 
     private static final String ADMINS_ENDPOINT = "/rest/v1/admins";
+    private static final String AUTH_USER_ENDPOINT = "/auth/v1/user";
 
     public ResponseEntity<List<Admin>> getAllAdmins(String authToken) {
         HttpHeaders headers = createHeaders(authToken);
@@ -46,4 +51,50 @@ public class AdminService extends SupabaseService {
         HttpHeaders headers = createHeaders(authToken);
         return executeRequest(ADMINS_ENDPOINT + "?id=eq." + id, HttpMethod.DELETE, headers, null, Void.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * Si el token pertenece a un administrador: service_role, o un usuario con fila en {@code admins} por id
+     * o email. Con la verificación JWT apagada el usuario se identifica preguntando a Supabase Auth.
+     */
+    public boolean isAdmin(String authToken) {
+        Optional<AuthClaims> claims = claimsOf(authToken);
+        if (claims.isPresent()) {
+            if (AuthClaims.SERVICE_ROLE.equals(claims.get().role())) {
+                return true;
+            }
+            return claims.get().userId() != null
+                    && isListedAdmin(authToken, claims.get().userId(), claims.get().email());
+        }
+
+        Map<String, Object> user;
+        try {
+            user = restTemplate.exchange(
+                    supabaseConfig.getSupabaseUrl() + AUTH_USER_ENDPOINT,
+                    HttpMethod.GET,
+                    new HttpEntity<>(createHeaders(authToken)),
+                    new ParameterizedTypeReference<Map<String, Object>>() {
+                    }).getBody();
+        } catch (HttpClientErrorException.Unauthorized e) {
+            throw new InvalidTokenException("rechazado por Supabase Auth");
+        } catch (HttpClientErrorException e) {
+            return false;
+        }
+        if (user == null || !(user.get("id") instanceof String userId)) {
+            return false;
+        }
+        return isListedAdmin(authToken, userId, user.get("email") instanceof String email ? email : null);
+    }
+
+    private boolean isListedAdmin(String authToken, String userId, String email) {
+        String filter = email != null
+                ? "or=(id.eq." + userId + ",email.eq.\"" + email + "\")"
+                : "id=eq." + userId;
+        ResponseEntity<List<Admin>> response = restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + ADMINS_ENDPOINT + "?select=id&limit=1&" + filter,
+                HttpMethod.GET,
+                new HttpEntity<>(createHeaders(authToken)),
+                new ParameterizedTypeReference<List<Admin>>() {
+                });
+        return response.getBody() != null && !response.getBody().isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.biodiversity.demo.service;
+
+/**
+ * Claims de un JWT de Supabase ya verificado: {@code sub} (id del usuario, null para la anon key),
+ * {@code role} y {@code exp} en segundos epoch.
+ */
+public record AuthClaims(String userId, String role, String email, long expiresAt) {
+
+    public static final String SERVICE_ROLE = "service_role";
+
+    // service_role salta RLS en Supabase, así que aquí también puede actuar en nombre de cualquiera
+    public boolean mayActAs(String otherUserId) {
+        return SERVICE_ROLE.equals(role) || (userId != null && userId.equals(otherUserId));
+    }
+}
@@ -0,0 +1,61 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.BulkheadFullException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long queueTimeoutMs;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, long queueTimeoutMs) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name, queueTimeoutMs);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,174 @@
+package com.biodiversity.demo.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuito por conteo sobre las últimas N llamadas. Se abre cuando la tasa de fallos supera el
+ * umbral (con un mínimo de llamadas), rechaza todo durante el tiempo de apertura y luego deja
+ * pasar unas pocas llamadas de prueba: si todas salen bien se cierra, si alguna falla se reabre.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public enum Permit {
+        NORMAL, TRIAL
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int trialCalls;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] window;
+    private int position;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int trialsInFlight;
+    private int trialSuccesses;
+
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder openings = new LongAdder();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+            long openSeconds, int trialCalls) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, openSeconds, trialCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold, long openSeconds,
+            int trialCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.trialCalls = trialCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Devuelve null si la llamada debe rechazarse.
+     */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                shortCircuited.increment();
+                return null;
+            }
+            state = State.HALF_OPEN;
+            trialsInFlight = 0;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsInFlight + trialSuccesses >= trialCalls) {
+                shortCircuited.increment();
+                return null;
+            }
+            trialsInFlight++;
+            return Permit.TRIAL;
+        }
+        return Permit.NORMAL;
+    }
+
+    // Permiso concedido pero la llamada no se hizo (p. ej. la rechazó el limitador)
+    public synchronized void release(Permit permit) {
+        if (permit == Permit.TRIAL && state == State.HALF_OPEN) {
+            trialsInFlight--;
+        }
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit == Permit.TRIAL) {
+            if (state == State.HALF_OPEN) {
+                trialsInFlight--;
+                if (++trialSuccesses >= trialCalls) {
+                    close();
+                }
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit == Permit.TRIAL) {
+            if (state == State.HALF_OPEN) {
+                open();
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    public synchronized long retryAfterSeconds() {
+        if (state != State.OPEN) {
+            return 1;
+        }
+        long remaining = openNanos - (nanoClock.getAsLong() - openedAtNanos);
+        return Math.max(1, (long) Math.ceil(remaining / 1e9));
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+        openings.increment();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.sum();
+    }
+
+    public long getOpenings() {
+        return openings.sum();
+    }
+}
@@ -0,0 +1,425 @@
+package com.biodiversity.demo.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lecturas idempotentes con hedging y reintentos. Si el primer intento tarda más que el percentil
+ * reciente de su recurso sale un segundo intento (fuera del coalescing), gana la primera respuesta
+ * y el perdedor se cancela. Los 5xx y los fallos al conectar se reintentan con jitter; un timeout de
+ * lectura no, porque Supabase ya está lento. Hedges y reintentos gastan de un mismo presupuesto
+ * proporcional al tráfico y ningún intento empieza pasado max-total-ms desde el primero.
+ */
+@Component
+public class HedgedReads implements MeterBinder {
+
+    private static final int SAMPLE_WINDOW = 128;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final long TOKEN = 1000;
+
+    @Value("${supabase.hedging.enabled:false}")
+    private boolean enabled;
+
+    @Value("${supabase.hedging.percentile:0.95}")
+    private double percentile;
+
+    @Value("${supabase.hedging.initial-delay-ms:200}")
+    private long initialDelayMs;
+
+    @Value("${supabase.hedging.min-delay-ms:10}")
+    private long minDelayMs;
+
+    @Value("${supabase.hedging.max-delay-ms:2000}")
+    private long maxDelayMs;
+
+    @Value("${supabase.hedging.budget-ratio:0.05}")
+    private double budgetRatio;
+
+    @Value("${supabase.hedging.budget-burst:10}")
+    private int budgetBurst;
+
+    @Value("${supabase.hedging.max-retries:2}")
+    private int maxRetries;
+
+    @Value("${supabase.hedging.retry-backoff-ms:50}")
+    private long retryBackoffMs;
+
+    @Value("${supabase.hedging.max-total-ms:3000}")
+    private long maxTotalMs;
+
+    @Value("${supabase.hedging.threads:64}")
+    private int threads;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    // Presupuesto en milésimas de intento: cada lectura deposita budgetRatio, cada intento extra cuesta 1
+    private final AtomicLong budget = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    private volatile MeterRegistry registry;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "supabase-read-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        budget.set(budgetBurst * TOKEN);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public <T> ResponseEntity<T> execute(String resource, Supplier<ResponseEntity<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Route route = routes.computeIfAbsent(resource, Route::new);
+        deposit();
+        ServerTiming timing = ServerTiming.current();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxTotalMs);
+        try {
+            for (int attempt = 0;; attempt++) {
+                try {
+                    return hedged(route, call, timing, attempt == 0, deadline);
+                } catch (HttpServerErrorException | ResourceAccessException e) {
+                    long pauseMs = backoffMillis(attempt);
+                    if (attempt >= maxRetries || !isRetryable(e)
+                            || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMs) >= deadline
+                            || !withdraw()) {
+                        throw e;
+                    }
+                    route.retries.increment();
+                    pause(pauseMs);
+                }
+            }
+        } finally {
+            route.record(route.effective, System.nanoTime() - start);
+        }
+    }
+
+    static boolean isRetryable(RuntimeException e) {
+        if (e instanceof HttpServerErrorException) {
+            return true;
+        }
+        // Solo si no llegó a conectar: tras un timeout de lectura la petición pudo estar ocupando a Supabase
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> hedged(Route route, Supplier<ResponseEntity<T>> call, ServerTiming timing,
+            boolean first, long deadline) {
+        Race<T> race = new Race<>(first);
+        long start = System.nanoTime();
+        Future<?> primary = submit(() -> race.run(route, call, true));
+        if (primary == null) {
+            // Sin hilos libres: se hace la llamada en el hilo actual y sin hedge
+            return call.get();
+        }
+        Future<?> hedge = null;
+        try {
+            long remaining = deadline - System.nanoTime();
+            try {
+                return race.result.get(Math.min(route.hedgeDelayNanos(minDelayMs, initialDelayMs), remaining),
+                        TimeUnit.NANOSECONDS).response();
+            } catch (TimeoutException e) {
+                if (System.nanoTime() < deadline) {
+                    hedge = launchHedge(route, call, race);
+                }
+                Outcome<T> outcome = race.result.get(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                if (!outcome.primary()) {
+                    route.hedgeWins.increment();
+                }
+                return outcome.response();
+            }
+        } catch (TimeoutException e) {
+            throw new ResourceAccessException("Lectura de Supabase sin respuesta tras " + maxTotalMs + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Lectura de Supabase interrumpida");
+        } finally {
+            // El perdedor se cancela; si no responde a la interrupción su respuesta se descarta
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+            if (timing != null) {
+                // Los intentos corren en otro hilo: la espera (incluida la decodificación) cuenta como upstream
+                timing.addUpstream(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private <T> Future<?> launchHedge(Route route, Supplier<ResponseEntity<T>> call, Race<T> race) {
+        if (race.result.isDone()) {
+            return null;
+        }
+        if (!withdraw()) {
+            route.hedgesSkipped.increment();
+            return null;
+        }
+        race.pending.incrementAndGet();
+        Future<?> hedge = submit(() -> RequestCoalescingInterceptor.uncoalesced(() -> {
+            race.run(route, call, false);
+            return null;
+        }));
+        if (hedge == null) {
+            race.abandon();
+            route.hedgesSkipped.increment();
+            return null;
+        }
+        route.hedges.increment();
+        return hedge;
+    }
+
+    private Future<?> submit(Runnable task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private void deposit() {
+        long cap = budgetBurst * TOKEN;
+        long amount = (long) (budgetRatio * TOKEN);
+        budget.getAndUpdate(current -> Math.min(cap, current + amount));
+    }
+
+    private boolean withdraw() {
+        while (true) {
+            long current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        // Full jitter: espera aleatoria entre 0 y base * 2^intento
+        return ThreadLocalRandom.current().nextLong((retryBackoffMs << attempt) + 1);
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Reintento de lectura interrumpido");
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("budgetTokens", budget.get() / (double) TOKEN);
+        Map<String, Object> resources = new LinkedHashMap<>();
+        for (Route route : routes.values()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("hedgeDelayMs", route.hedgeDelayNanos(minDelayMs, initialDelayMs) / 1_000_000.0);
+            values.put("hedges", route.hedges.sum());
+            values.put("hedgeWins", route.hedgeWins.sum());
+            values.put("hedgesSkipped", route.hedgesSkipped.sum());
+            values.put("retries", route.retries.sum());
+            values.put("primaryP99Ms", p99Millis(route.primary));
+            values.put("effectiveP99Ms", p99Millis(route.effective));
+            resources.put(route.resource, values);
+        }
+        stats.put("resources", resources);
+        return stats;
+    }
+
+    private static Double p99Millis(Timer timer) {
+        if (timer == null) {
+            return null;
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.99) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        new ExecutorServiceMetrics(executor, "supabase.reads", List.of()).bindTo(registry);
+        Gauge.builder("supabase.reads.budget", budget, b -> b.get() / (double) TOKEN)
+                .register(registry);
+        routes.values().forEach(route -> route.bind(registry));
+    }
+
+    private record Outcome<T>(ResponseEntity<T> response, boolean primary) {
+    }
+
+    /**
+     * Carrera entre el intento primario y el hedge: gana el primer éxito; un fallo solo se propaga
+     * si ya no queda ningún intento en vuelo.
+     */
+    private static final class Race<T> {
+
+        private final CompletableFuture<Outcome<T>> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final boolean first;
+
+        private volatile RuntimeException failure;
+
+        Race(boolean first) {
+            this.first = first;
+        }
+
+        void abandon() {
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        void run(Route route, Supplier<ResponseEntity<T>> call, boolean primary) {
+            long start = System.nanoTime();
+            try {
+                ResponseEntity<T> response = call.get();
+                route.sample(System.nanoTime() - start);
+                result.complete(new Outcome<>(response, primary));
+            } catch (RuntimeException e) {
+                failure = e;
+                abandon();
+            } finally {
+                if (primary && first) {
+                    // Si el primario perdió y atendió la cancelación esto es una cota inferior de su latencia
+                    route.record(route.primary, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    private final class Route {
+
+        private final String resource;
+        private final long[] samples = new long[SAMPLE_WINDOW];
+        private int position;
+        private int count;
+        private volatile long delayNanos = -1;
+
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+        private final LongAdder hedgesSkipped = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        private volatile Timer primary;
+        private volatile Timer effective;
+
+        private Route(String resource) {
+            this.resource = resource;
+            MeterRegistry current = registry;
+            if (current != null) {
+                bind(current);
+            }
+        }
+
+        long hedgeDelayNanos(long minMs, long initialMs) {
+            long delay = delayNanos;
+            return delay < 0 ? TimeUnit.MILLISECONDS.toNanos(initialMs)
+                    : Math.max(TimeUnit.MILLISECONDS.toNanos(minMs), delay);
+        }
+
+        synchronized void sample(long nanos) {
+            samples[position] = nanos;
+            position = (position + 1) % samples.length;
+            count++;
+            if (count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0) {
+                long[] sorted = Arrays.copyOf(samples, Math.min(count, samples.length));
+                Arrays.sort(sorted);
+                int index = Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1);
+                delayNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(maxDelayMs), sorted[index]);
+            }
+        }
+
+        void record(Timer timer, long nanos) {
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        synchronized void bind(MeterRegistry registry) {
+            if (primary != null) {
+                return;
+            }
+            // primary: latencia que habría tenido la lectura sin hedge ni reintentos; effective: la observada
+            primary = timer(registry, "primary");
+            effective = timer(registry, "effective");
+            FunctionCounter.builder("supabase.reads.hedges", hedges, LongAdder::sum)
+                    .tag("resource", resource).tag("result", "sent").register(registry);
+            FunctionCounter.builder("supabase.reads.hedges", hedgeWins, LongAdder::sum)
+                    .tag("resource", resource).tag("result", "won").register(registry);
+            FunctionCounter.builder("supabase.reads.hedges", hedgesSkipped, LongAdder::sum)
+                    .tag("resource", resource).tag("result", "skipped").register(registry);
+            FunctionCounter.builder("supabase.reads.retries", retries, LongAdder::sum)
+                    .tag("resource", resource).register(registry);
+            Gauge.builder("supabase.reads.hedge.delay", this, r -> r.hedgeDelayNanos(minDelayMs, initialDelayMs) / 1e9)
+                    .tag("resource", resource).baseUnit("seconds").register(registry);
+        }
+
+        private Timer timer(MeterRegistry registry, String attempt) {
+            return Timer.builder("supabase.reads.latency")
+                    .tag("resource", resource)
+                    .tag("attempt", attempt)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.biodiversity.demo.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Almacenamiento de objetos en disco local con la misma forma que Supabase Storage (clave → URL
+ * pública). Cada objeto se escribe en un temporal del mismo directorio y se publica con un move
+ * atómico: una URL devuelta nunca apunta a un fichero a medio escribir.
+ */
+@Component
+public class ImageStorage {
+
+    static final String INCOMING = ".incoming";
+
+    @Value("${storage.local.root:${java.io.tmpdir}/biodiversity-storage}")
+    private Path root;
+
+    @Value("${storage.public-url:/storage}")
+    private String publicUrl;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = root.toAbsolutePath().normalize();
+        // Destino de las partes multipart de Tomcat: mismo disco, así transferTo es un rename
+        Files.createDirectories(root.resolve(INCOMING));
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public String url(String key) {
+        return publicUrl + "/" + key;
+    }
+
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Clave de almacenamiento inválida: " + key);
+        }
+        return path;
+    }
+
+    /**
+     * Guarda la parte multipart sin pasar por el heap: Tomcat ya la dejó en disco y transferTo(File)
+     * la renombra (o la copia por streaming si está en otro sistema de ficheros).
+     */
+    public String store(String key, MultipartFile file) throws IOException {
+        Path target = resolve(key);
+        Path tmp = tempFor(target);
+        try {
+            file.transferTo(tmp.toFile());
+            publish(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return url(key);
+    }
+
+    public String write(String key, ObjectWriter writer) throws IOException {
+        Path target = resolve(key);
+        Path tmp = tempFor(target);
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.writeTo(out);
+            }
+            publish(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return url(key);
+    }
+
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path tempFor(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+    }
+
+    private static void publish(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ObjectWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,205 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.InvalidTokenException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifica localmente los JWT de Supabase (HS256 con el JWT secret del proyecto) y guarda los claims
+ * de los tokens válidos hasta su expiración, indexados por el SHA-256 del token para no retener
+ * credenciales en memoria. Un token repetido cuesta un hash y una búsqueda en la caché.
+ */
+@Component
+public class JwtVerifier implements MeterBinder {
+
+    private static final String BEARER = "Bearer ";
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    @Value("${supabase.auth.jwt.enabled:false}")
+    private boolean enabled;
+
+    @Value("${supabase.auth.jwt.secret:}")
+    private String secret;
+
+    @Value("${supabase.auth.jwt.cache.max-entries:50000}")
+    private long maxEntries;
+
+    @Value("${supabase.auth.jwt.clock-skew-seconds:30}")
+    private long clockSkewSeconds;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Clock clock = Clock.systemUTC();
+
+    private Cache<String, AuthClaims> claims;
+    private ThreadLocal<Mac> mac;
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        if (enabled && (secret == null || secret.isBlank())) {
+            throw new IllegalStateException("supabase.auth.jwt.enabled=true requiere supabase.auth.jwt.secret");
+        }
+        SecretKeySpec key = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256")
+                : null;
+        // Mac no es thread-safe y su init es caro: una instancia por hilo
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        claims = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, AuthClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, AuthClaims value, long currentTime) {
+                        long remaining = value.expiresAt() - clock.instant().getEpochSecond();
+                        return TimeUnit.SECONDS.toNanos(Math.max(0, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AuthClaims value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AuthClaims value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Claims del token de la cabecera Authorization; vacío si la verificación local está apagada.
+     */
+    public Optional<AuthClaims> claimsOf(String authorization) {
+        return enabled ? Optional.of(verify(authorization)) : Optional.empty();
+    }
+
+    public AuthClaims verify(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            throw reject("falta el esquema Bearer");
+        }
+        String token = authorization.substring(BEARER.length()).trim();
+        String key = sha256(token);
+        AuthClaims cached = claims.getIfPresent(key);
+        if (cached != null && cached.expiresAt() + clockSkewSeconds > clock.instant().getEpochSecond()) {
+            return cached;
+        }
+        AuthClaims verified = parseAndVerify(token);
+        claims.put(key, verified);
+        return verified;
+    }
+
+    private AuthClaims parseAndVerify(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (first <= 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            throw reject("formato incorrecto");
+        }
+        JsonNode header = decode(token.substring(0, first));
+        // Solo HS256: rechaza "none" y cualquier intento de cambiar el algoritmo
+        if (!"HS256".equals(header.path("alg").asText())) {
+            throw reject("algoritmo no admitido");
+        }
+        byte[] expected = mac.get().doFinal(token.substring(0, second).getBytes(StandardCharsets.US_ASCII));
+        byte[] signature;
+        try {
+            signature = BASE64_URL.decode(token.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            throw reject("firma mal codificada");
+        }
+        if (!MessageDigest.isEqual(expected, signature)) {
+            throw reject("firma incorrecta");
+        }
+
+        JsonNode payload = decode(token.substring(first + 1, second));
+        long now = clock.instant().getEpochSecond();
+        if (!payload.path("exp").canConvertToLong()) {
+            throw reject("sin expiración");
+        }
+        long exp = payload.get("exp").asLong();
+        if (exp + clockSkewSeconds <= now) {
+            throw reject("expirado");
+        }
+        if (payload.path("nbf").canConvertToLong() && payload.get("nbf").asLong() - clockSkewSeconds > now) {
+            throw reject("todavía no es válido");
+        }
+        return new AuthClaims(text(payload, "sub"), text(payload, "role"), text(payload, "email"), exp);
+    }
+
+    private JsonNode decode(String part) {
+        try {
+            JsonNode node = objectMapper.readTree(BASE64_URL.decode(part));
+            if (node == null || !node.isObject()) {
+                throw reject("formato incorrecto");
+            }
+            return node;
+        } catch (IllegalArgumentException | IOException e) {
+            throw reject("formato incorrecto");
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private InvalidTokenException reject(String reason) {
+        rejected.increment();
+        return new InvalidTokenException(reason);
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(claims, "auth.jwt", List.of()).bindTo(registry);
+        FunctionCounter.builder("auth.jwt.rejected", rejected, LongAdder::sum)
+                .register(registry);
+    }
+}
@@ -0,0 +1,149 @@
+package com.biodiversity.demo.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class LongCounterMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(long key, int count);
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    public LongCounterMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public void add(long key, int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Clave reservada");
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = find(key);
+            if (keys[slot] == EMPTY) {
+                if (delta <= 0) {
+                    return;
+                }
+                keys[slot] = key;
+                counts[slot] = delta;
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+                return;
+            }
+            counts[slot] += delta;
+            if (counts[slot] <= 0) {
+                remove(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int get(long key) {
+        lock.readLock().lock();
+        try {
+            int slot = find(key);
+            return keys[slot] == EMPTY ? 0 : counts[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEach(Visitor visitor) {
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    visitor.accept(keys[i], counts[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(counts, 0);
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void remove(int slot) {
+        // Borrado con desplazamiento hacia atrás para no dejar huecos en las cadenas de sondeo lineal
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == EMPTY) {
+                break;
+            }
+            int home = mix(keys[next]) & mask;
+            boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        counts[hole] = 0;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,191 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.biodiversity.demo.dto.ObservationBatchResultDTO;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.Specie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static com.biodiversity.demo.service.ObservationService.OBSERVATIONS_ENDPOINT;
+
+@Service
+public class ObservationBatchService extends SupabaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObservationBatchService.class);
+
+    @Value("${observations.batch.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${observations.batch.max-items:500}")
+    private int maxItems;
+
+    @Autowired
+    private SpecieCatalogCache specieCatalogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public List<ObservationBatchResultDTO> createObservations(String authToken, List<CreateObservationDTO> items) {
+        ObservationBatchResultDTO[] results = new ObservationBatchResultDTO[items.size()];
+        Optional<SpecieCatalogCache.Snapshot> catalog = specieCatalogCache.snapshot();
+        Optional<AuthClaims> claims = claimsOf(authToken);
+
+        IntStream.range(0, items.size()).parallel().forEach(i -> {
+            List<String> errors = validate(items.get(i), catalog.orElse(null));
+            CreateObservationDTO item = items.get(i);
+            if (item != null && item.getIdObserverUser() != null && claims.isPresent()
+                    && !claims.get().mayActAs(item.getIdObserverUser())) {
+                errors.add("El token no pertenece al usuario observador " + item.getIdObserverUser());
+            }
+            if (!errors.isEmpty()) {
+                results[i] = new ObservationBatchResultDTO(i, false, null, errors);
+            }
+        });
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] == null) {
+                valid.add(i);
+            }
+        }
+
+        HttpHeaders headers = createHeaders(authToken);
+        String abortReason = null;
+        for (int start = 0; start < valid.size(); start += chunkSize) {
+            List<Integer> chunk = valid.subList(start, Math.min(start + chunkSize, valid.size()));
+            if (abortReason == null) {
+                abortReason = insertChunk(headers, items, chunk, results);
+            } else {
+                // Token inválido o límite de peticiones: los bloques restantes fallarían igual
+                fail(chunk, results, abortReason);
+            }
+        }
+
+        logger.info("Lote de observaciones procesado: {} recibidas, {} válidas", items.size(), valid.size());
+        return List.of(results);
+    }
+
+    /**
+     * Inserta el bloque y devuelve null, o el motivo por el que no tiene sentido seguir enviando bloques.
+     */
+    private String insertChunk(HttpHeaders headers, List<CreateObservationDTO> items, List<Integer> chunk,
+            ObservationBatchResultDTO[] results) {
+        List<CreateObservationDTO> body = chunk.stream().map(items::get).toList();
+        try {
+            List<Observation> created = insert(headers, body);
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                Observation obs = created != null && created.size() > i ? created.get(i) : null;
+                if (obs != null && obs.getId() != null) {
+                    eventPublisher.publishEvent(ObservationChangedEvent.created(obs));
+                }
+                results[index] = obs != null
+                        ? new ObservationBatchResultDTO(index, true, obs.getId(), List.of())
+                        : new ObservationBatchResultDTO(index, false, null,
+                                List.of("Supabase no devolvió la observación creada"));
+            }
+            return null;
+        } catch (HttpClientErrorException e) {
+            String reason = "Rechazada por Supabase: " + e.getStatusCode().value();
+            if (!isRowError(e.getStatusCode())) {
+                // 401/403/429 afectan a la petición entera: partir el bloque solo multiplicaría los rechazos
+                logger.warn("Lote de observaciones rechazado por Supabase ({})", e.getStatusCode().value());
+                fail(chunk, results, reason);
+                return reason;
+            }
+            if (chunk.size() == 1) {
+                fail(chunk, results, reason);
+                return null;
+            }
+            // El insert en bloque es transaccional: se parte en mitades para aislar las filas rechazadas
+            logger.warn("Bloque de {} observaciones rechazado ({}), dividiéndolo", chunk.size(),
+                    e.getStatusCode().value());
+            int middle = chunk.size() / 2;
+            String abortReason = insertChunk(headers, items, chunk.subList(0, middle), results);
+            if (abortReason != null) {
+                fail(chunk.subList(middle, chunk.size()), results, abortReason);
+                return abortReason;
+            }
+            return insertChunk(headers, items, chunk.subList(middle, chunk.size()), results);
+        } catch (RestClientException e) {
+            logger.error("Error enviando bloque de {} observaciones a Supabase", chunk.size(), e);
+            fail(chunk, results, "Error de comunicación con Supabase");
+            return null;
+        }
+    }
+
+    static boolean isRowError(HttpStatusCode status) {
+        // Errores atribuibles al contenido de alguna fila (validación, restricciones, conflictos)
+        int code = status.value();
+        return code == 400 || code == 409 || code == 422;
+    }
+
+    private static void fail(List<Integer> chunk, ObservationBatchResultDTO[] results, String reason) {
+        for (Integer index : chunk) {
+            results[index] = new ObservationBatchResultDTO(index, false, null, List.of(reason));
+        }
+    }
+
+    private List<Observation> insert(HttpHeaders headers, List<CreateObservationDTO> body) {
+        ResponseEntity<List<Observation>> response = restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + OBSERVATIONS_ENDPOINT,
+                HttpMethod.POST,
+                new HttpEntity<>(body, headers),
+                new ParameterizedTypeReference<List<Observation>>() {
+                });
+        return response.getBody();
+    }
+
+    static List<String> validate(CreateObservationDTO obs, SpecieCatalogCache.Snapshot catalog) {
+        List<String> errors = new ArrayList<>();
+        if (obs == null) {
+            errors.add("La observación es nula");
+            return errors;
+        }
+        if (obs.getDate() == null) {
+            errors.add("La fecha es obligatoria");
+        } else if (obs.getDate().isAfter(LocalDate.now().plusDays(1))) {
+            errors.add("La fecha no puede estar en el futuro");
+        }
+        if (Float.isNaN(obs.getLatitude()) || obs.getLatitude() < -90 || obs.getLatitude() > 90) {
+            errors.add("La latitud debe estar entre -90 y 90");
+        }
+        if (Float.isNaN(obs.getLongitude()) || obs.getLongitude() < -180 || obs.getLongitude() > 180) {
+            errors.add("La longitud debe estar entre -180 y 180");
+        }
+        if (obs.getIdObserverUser() == null || obs.getIdObserverUser().isBlank()) {
+            errors.add("El usuario observador es obligatorio");
+        }
+        if (obs.getSimilarityPercentage() != null
+                && (obs.getSimilarityPercentage() < 0 || obs.getSimilarityPercentage() > 100)) {
+            errors.add("El porcentaje de similitud debe estar entre 0 y 100");
+        }
+        if (catalog != null && obs.getIdSpecies() != null && !obs.getIdSpecies().isBlank()) {
+            Specie specie = catalog.byId(obs.getIdSpecies());
+            if (specie == null) {
+                errors.add("La especie " + obs.getIdSpecies() + " no existe");
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,60 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.InvalidCursorException;
+import com.biodiversity.demo.model.Observation;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public final class ObservationCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String createdAt;
+    private final String id;
+
+    private ObservationCursor(String createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static String encode(Observation last) {
+        if (last == null || last.getCreatedAt() == null || last.getId() == null) {
+            return null;
+        }
+        String raw = last.getCreatedAt() + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ObservationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String id = raw.substring(separator + 1);
+            if (separator <= 0 || !id.matches("[0-9a-fA-F-]{1,64}")) {
+                throw new InvalidCursorException(token);
+            }
+            // Instant.toString evita el '+' del offset, que PostgREST leería como espacio
+            String createdAt = OffsetDateTime.parse(raw.substring(0, separator)).toInstant().toString();
+            return new ObservationCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    public Instant getCreatedAt() {
+        return Instant.parse(createdAt);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    String filter() {
+        return "or=(created_at.lt." + createdAt + ",and(created_at.eq." + createdAt + ",id_observation.lt." + id
+                + "))";
+    }
+}
@@ -0,0 +1,210 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Observation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.biodiversity.demo.service.ObservationService.OBSERVATIONS_ENDPOINT;
+
+@Service
+public class ObservationExportService extends SupabaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObservationExportService.class);
+
+    static final String[] CSV_COLUMNS = { "id_observation", "date", "latitude", "longitude",
+            "specie_scientific_name", "specie_common_name", "id_specie", "id_observer_user", "type_observation",
+            "state", "verification_status", "similarity_percentage", "note", "images", "created_at", "updated_at",
+            "cursor" };
+
+    static final String[] DWC_TERMS = { "occurrenceID", "eventDate", "decimalLatitude", "decimalLongitude",
+            "scientificName", "vernacularName", "taxonID", "recordedBy", "basisOfRecord",
+            "identificationVerificationStatus", "occurrenceRemarks", "associatedMedia", "modified" };
+
+    private static final String EML_XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <eml:eml xmlns:eml="eml://ecoinformatics.org/eml-2.1.1" packageId="biodiversity-watch-observations" system="biodiversity-watch">
+              <dataset>
+                <title>Biodiversity Watch - Observaciones</title>
+                <creator><organizationName>Biodiversity Watch</organizationName></creator>
+              </dataset>
+            </eml:eml>
+            """;
+
+    @Value("${observations.export.chunk-size:1000}")
+    private int chunkSize;
+
+    public enum Format {
+        CSV, DWCA
+    }
+
+    @FunctionalInterface
+    interface ChunkWriter {
+        void write(List<Observation> chunk) throws IOException;
+    }
+
+    public void export(String authToken, String cursor, Format format, OutputStream out) throws IOException {
+        if (format == Format.DWCA) {
+            writeDarwinCoreArchive(authToken, cursor, out);
+        } else {
+            writeCsv(authToken, cursor, out);
+        }
+    }
+
+    void writeCsv(String authToken, String cursor, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        forEachChunk(authToken, cursor, chunk -> {
+            for (Observation obs : chunk) {
+                writeRow(writer, ',', csvRow(obs));
+            }
+            writer.flush();
+        });
+        writer.flush();
+    }
+
+    void writeDarwinCoreArchive(String authToken, String cursor, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+
+        zip.putNextEntry(new ZipEntry("meta.xml"));
+        writer.write(metaXml());
+        writer.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("occurrence.txt"));
+        writer.write(String.join("\t", DWC_TERMS));
+        writer.write("\tcursor\n");
+        forEachChunk(authToken, cursor, chunk -> {
+            for (Observation obs : chunk) {
+                writeRow(writer, '\t', dwcRow(obs));
+            }
+            writer.flush();
+        });
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("eml.xml"));
+        writer.write(EML_XML);
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    long forEachChunk(String authToken, String cursor, ChunkWriter chunkWriter) throws IOException {
+        HttpHeaders headers = createHeaders(authToken);
+        String next = cursor;
+        long exported = 0;
+        while (true) {
+            ResponseEntity<List<Observation>> response = restTemplate.exchange(
+                    supabaseConfig.getSupabaseUrl() + exportChunkQuery(next, chunkSize),
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<List<Observation>>() {
+                    });
+            List<Observation> chunk = response.getBody();
+            // PostgREST puede recortar con db-max-rows, así que solo un lote vacío marca el final
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            chunkWriter.write(chunk);
+            exported += chunk.size();
+            next = ObservationCursor.encode(chunk.get(chunk.size() - 1));
+            if (next == null) {
+                logger.warn("Lectura por lotes detenida: la observación {} no tiene created_at",
+                        chunk.get(chunk.size() - 1).getId());
+                break;
+            }
+        }
+        logger.info("Lectura por lotes completada: {} observaciones", exported);
+        return exported;
+    }
+
+    static String exportChunkQuery(String cursor, int chunkSize) {
+        String url = OBSERVATIONS_ENDPOINT + "?order=created_at.desc,id_observation.desc&limit=" + chunkSize;
+        if (cursor != null && !cursor.isBlank()) {
+            url += "&" + ObservationCursor.decode(cursor).filter();
+        }
+        return url;
+    }
+
+    static String[] csvRow(Observation obs) {
+        return new String[] { obs.getId(), str(obs.getDate()), String.valueOf(obs.getLatitude()),
+                String.valueOf(obs.getLongitude()), obs.getSpecieScientificName(), obs.getSpecieCommonName(),
+                obs.getIdSpecies(), obs.getIdObserverUser(), obs.getTypeObservation(), obs.getState(),
+                String.valueOf(obs.isVerificationStatus()), str(obs.getSimilarityPercentage()), obs.getNote(),
+                obs.getImages() != null ? String.join("|", obs.getImages()) : null, obs.getCreatedAt(),
+                obs.getUpdatedAt(), ObservationCursor.encode(obs) };
+    }
+
+    static String[] dwcRow(Observation obs) {
+        return new String[] { obs.getId(), str(obs.getDate()), String.valueOf(obs.getLatitude()),
+                String.valueOf(obs.getLongitude()), obs.getSpecieScientificName(), obs.getSpecieCommonName(),
+                obs.getIdSpecies(), obs.getIdObserverUser(), "HumanObservation",
+                obs.isVerificationStatus() ? "verified" : "unverified", obs.getNote(),
+                obs.getImages() != null ? String.join("|", obs.getImages()) : null, obs.getUpdatedAt(),
+                ObservationCursor.encode(obs) };
+    }
+
+    static void writeRow(Writer writer, char separator, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(separator);
+            }
+            writer.write(separator == ',' ? csvEscape(values[i]) : tsvEscape(values[i]));
+        }
+        writer.write(separator == ',' ? "\r\n" : "\n");
+    }
+
+    static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static String tsvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+
+    private static String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static String metaXml() {
+        StringBuilder xml = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<archive xmlns=\"http://rs.tdwg.org/dwc/text/\" metadata=\"eml.xml\">\n")
+                .append("  <core encoding=\"UTF-8\" fieldsTerminatedBy=\"\\t\" linesTerminatedBy=\"\\n\"")
+                .append(" fieldsEnclosedBy=\"\" ignoreHeaderLines=\"1\"")
+                .append(" rowType=\"http://rs.tdwg.org/dwc/terms/Occurrence\">\n")
+                .append("    <files><location>occurrence.txt</location></files>\n")
+                .append("    <id index=\"0\"/>\n");
+        for (int i = 0; i < DWC_TERMS.length; i++) {
+            String namespace = DWC_TERMS[i].equals("modified") ? "http://purl.org/dc/terms/"
+                    : "http://rs.tdwg.org/dwc/terms/";
+            xml.append("    <field index=\"").append(i).append("\" term=\"").append(namespace)
+                    .append(DWC_TERMS[i]).append("\"/>\n");
+        }
+        return xml.append("  </core>\n</archive>\n").toString();
+    }
+}
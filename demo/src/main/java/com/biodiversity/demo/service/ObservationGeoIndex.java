@@ -0,0 +1,267 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+@Component
+public class ObservationGeoIndex implements ObservationMirrorListener {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    @Value("${geo.index.cell-degrees:0.1}")
+    private double cellDegrees;
+
+    private final Map<Long, Map<String, ObservationPoint>> cells = new ConcurrentHashMap<>();
+
+    private int rows;
+    private int cols;
+
+    @PostConstruct
+    void init() {
+        rows = (int) Math.round(180 / cellDegrees);
+        cols = (int) Math.round(360 / cellDegrees);
+    }
+
+    @Override
+    public void onChange(ObservationPoint before, ObservationPoint after) {
+        if (before != null) {
+            Map<String, ObservationPoint> cell = cells.get(cellOf(before.getLatitude(), before.getLongitude()));
+            if (cell != null) {
+                cell.remove(before.getId());
+            }
+        }
+        if (after != null && isValid(after)) {
+            cells.computeIfAbsent(cellOf(after.getLatitude(), after.getLongitude()), k -> new ConcurrentHashMap<>())
+                    .put(after.getId(), after);
+        }
+    }
+
+    public List<ObservationPoint> withinBox(double minLat, double minLon, double maxLat, double maxLon,
+            Predicate<ObservationPoint> filter, int limit) {
+        List<ObservationPoint> result = new ArrayList<>();
+        Predicate<ObservationPoint> inBox = point -> point.getLatitude() >= minLat && point.getLatitude() <= maxLat
+                && inLonRange(point.getLongitude(), minLon, maxLon) && filter.test(point);
+        // minLon > maxLon indica una caja que cruza el antimeridiano
+        int[] span = colSpan(minLon, minLon > maxLon ? maxLon + 360 : maxLon);
+        int minRow = row(minLat);
+        int maxRow = row(maxLat);
+        if (scanOccupied(maxRow - minRow + 1, span)) {
+            for (Map<String, ObservationPoint> cell : cells.values()) {
+                if (collect(result, cell, inBox, limit)) {
+                    return result;
+                }
+            }
+            return result;
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = span[0]; c <= span[1]; c++) {
+                Map<String, ObservationPoint> cell = cells.get(key(r, Math.floorMod(c, cols)));
+                if (cell != null && collect(result, cell, inBox, limit)) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public List<Hit> withinRadius(double lat, double lon, double radiusKm, Predicate<ObservationPoint> filter,
+            int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lonDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat));
+        int minRow = row(lat - latDelta);
+        int maxRow = row(lat + latDelta);
+        int[] span = colSpan(lon - lonDelta, lon + lonDelta);
+
+        // Se guardan solo los limit más cercanos en vez de todos los aciertos del radio
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::getDistanceKm).reversed());
+        if (scanOccupied(maxRow - minRow + 1, span)) {
+            for (Map<String, ObservationPoint> cell : cells.values()) {
+                offer(best, cell, lat, lon, limit, radiusKm, filter);
+            }
+        } else {
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = span[0]; c <= span[1]; c++) {
+                    Map<String, ObservationPoint> cell = cells.get(key(r, Math.floorMod(c, cols)));
+                    if (cell != null) {
+                        offer(best, cell, lat, lon, limit, radiusKm, filter);
+                    }
+                }
+            }
+        }
+        return sorted(best);
+    }
+
+    public List<Hit> nearest(double lat, double lon, int k, Predicate<ObservationPoint> filter) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::getDistanceKm).reversed());
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+
+        for (int ring = 0;; ring++) {
+            if (best.size() >= k && best.peek().getDistanceKm() <= ringMinKm(lat, ring)) {
+                break;
+            }
+            // Con pocas celdas ocupadas sale más barato recorrerlas todas que seguir ampliando anillos
+            long ringArea = (long) (2 * ring + 1) * (2 * ring + 1);
+            if (2 * ring + 1 >= cols || ringArea > 4L * cells.size() + 64) {
+                best.clear();
+                for (Map<String, ObservationPoint> cell : cells.values()) {
+                    offer(best, cell, lat, lon, k, Double.POSITIVE_INFINITY, filter);
+                }
+                break;
+            }
+            for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    Map<String, ObservationPoint> cell = cells.get(key(r, Math.floorMod(centerCol + dc, cols)));
+                    if (cell != null) {
+                        offer(best, cell, lat, lon, k, Double.POSITIVE_INFINITY, filter);
+                    }
+                }
+            }
+        }
+        return sorted(best);
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    public static Predicate<ObservationPoint> filter(String idSpecie, String typeObservation, LocalDate from,
+            LocalDate to) {
+        return point -> (idSpecie == null || idSpecie.equals(point.getIdSpecies()))
+                && (typeObservation == null || typeObservation.equalsIgnoreCase(point.getTypeObservation()))
+                && (from == null || (point.getDate() != null && !point.getDate().isBefore(from)))
+                && (to == null || (point.getDate() != null && !point.getDate().isAfter(to)));
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private boolean scanOccupied(int boxRows, int[] span) {
+        // Mismo criterio que nearest: si la zona abarca más celdas que las ocupadas se recorren estas
+        long area = (long) boxRows * (span[1] - span[0] + 1);
+        return area > 4L * cells.size() + 64;
+    }
+
+    private static boolean collect(List<ObservationPoint> result, Map<String, ObservationPoint> cell,
+            Predicate<ObservationPoint> accept, int limit) {
+        for (ObservationPoint point : cell.values()) {
+            if (result.size() >= limit) {
+                return true;
+            }
+            if (accept.test(point)) {
+                result.add(point);
+            }
+        }
+        return result.size() >= limit;
+    }
+
+    private static List<Hit> sorted(PriorityQueue<Hit> best) {
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return result;
+    }
+
+    private void offer(PriorityQueue<Hit> best, Map<String, ObservationPoint> cell, double lat, double lon, int k,
+            double maxKm, Predicate<ObservationPoint> filter) {
+        for (ObservationPoint point : cell.values()) {
+            if (!filter.test(point)) {
+                continue;
+            }
+            double distance = distanceKm(lat, lon, point.getLatitude(), point.getLongitude());
+            if (distance > maxKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Hit(point, distance));
+            } else if (distance < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(new Hit(point, distance));
+            }
+        }
+    }
+
+    private double ringMinKm(double lat, int ring) {
+        // Un punto aún no visitado está al menos a (ring - 1) celdas; en longitud se usa el coseno más pequeño
+        double cells = Math.max(0, ring - 1) * cellDegrees;
+        double cosLat = Math.cos(Math.toRadians(Math.min(90, Math.abs(lat) + ring * cellDegrees)));
+        return cells * KM_PER_DEGREE * Math.max(0.0, cosLat);
+    }
+
+    private static boolean inLonRange(double lon, double minLon, double maxLon) {
+        return minLon <= maxLon ? lon >= minLon && lon <= maxLon : lon >= minLon || lon <= maxLon;
+    }
+
+    private int[] colSpan(double fromLon, double toLon) {
+        // Columnas sin normalizar: quien recorre aplica floorMod para dar la vuelta al antimeridiano
+        int from = (int) Math.floor((fromLon + 180) / cellDegrees);
+        int to = (int) Math.floor((toLon + 180) / cellDegrees);
+        if (to - from + 1 >= cols) {
+            return new int[] {0, cols - 1};
+        }
+        return new int[] {from, to};
+    }
+
+    private boolean isValid(ObservationPoint point) {
+        return point.getLatitude() >= -90 && point.getLatitude() <= 90
+                && point.getLongitude() >= -180 && point.getLongitude() <= 180;
+    }
+
+    private long cellOf(double lat, double lon) {
+        return key(row(lat), col(lon));
+    }
+
+    private int row(double lat) {
+        return Math.min(rows - 1, (int) Math.floor((Math.max(-90, Math.min(90, lat)) + 90) / cellDegrees));
+    }
+
+    private int col(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180) / cellDegrees), cols);
+    }
+
+    private long key(int row, int col) {
+        return (long) row * cols + col;
+    }
+
+    public static final class Hit {
+
+        private final ObservationPoint point;
+        private final double distanceKm;
+
+        Hit(ObservationPoint point, double distanceKm) {
+            this.point = point;
+            this.distanceKm = distanceKm;
+        }
+
+        public ObservationPoint getPoint() {
+            return point;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
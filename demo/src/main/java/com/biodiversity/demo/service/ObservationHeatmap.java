@@ -0,0 +1,220 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conteos por celda de tesela, totales y por especie y estado de verificación. El filtro por tipo de
+ * especie ({@code Specie.type}) se resuelve a ids de especie al consultar, así un cambio en el catálogo
+ * no deja conteos con un tipo antiguo.
+ */
+@Component
+public class ObservationHeatmap implements ObservationMirrorListener {
+
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+    private static final int COORD_BITS = 22;
+    private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+    private static final int ALL = 0;
+    private static final int ALL_UNVERIFIED = 1;
+    private static final int ALL_VERIFIED = 2;
+
+    @Value("${heatmap.zooms:4,6,8,10,12}")
+    private List<Integer> zooms;
+
+    @Value("${heatmap.bin-bits:4}")
+    private int binBits;
+
+    private final Map<Integer, LongCounterMap> levels = new TreeMap<>();
+    private final Map<String, Integer> species = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (Integer zoom : zooms) {
+            if (zoom < 0 || zoom + binBits > COORD_BITS) {
+                throw new IllegalStateException("Zoom de heatmap no soportado: " + zoom);
+            }
+            levels.put(zoom, new LongCounterMap(1024));
+        }
+    }
+
+    @Override
+    public void onChange(ObservationPoint before, ObservationPoint after) {
+        if (before != null) {
+            update(before, -1);
+        }
+        if (after != null) {
+            update(after, 1);
+        }
+    }
+
+    public boolean supportsZoom(int zoom) {
+        return levels.containsKey(zoom);
+    }
+
+    public List<Integer> getZooms() {
+        return new ArrayList<>(levels.keySet());
+    }
+
+    public int getBinsPerSide() {
+        return 1 << binBits;
+    }
+
+    /**
+     * idSpecies null cuenta todas las especies; verified null, ambos estados.
+     */
+    public Tile tile(int zoom, int x, int y, Collection<String> idSpecies, Boolean verified) {
+        LongCounterMap level = levels.get(zoom);
+        int bins = 1 << binBits;
+        List<Integer> categories = categories(idSpecies, verified);
+        List<int[]> cells = new ArrayList<>();
+        long total = 0;
+        int max = 0;
+        long baseX = (long) x << binBits;
+        long baseY = (long) y << binBits;
+        for (int by = 0; by < bins; by++) {
+            for (int bx = 0; bx < bins; bx++) {
+                int count = 0;
+                for (int category : categories) {
+                    count += level.get(key(category, baseX + bx, baseY + by));
+                }
+                if (count > 0) {
+                    cells.add(new int[] { bx, by, count });
+                    total += count;
+                    max = Math.max(max, count);
+                }
+            }
+        }
+        return new Tile(zoom, x, y, bins, total, max, cells);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> sizes = new HashMap<>();
+        levels.forEach((zoom, level) -> sizes.put(String.valueOf(zoom), level.size()));
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("zooms", getZooms());
+        stats.put("binsPerSide", getBinsPerSide());
+        stats.put("species", species.size());
+        stats.put("countersPerZoom", sizes);
+        return stats;
+    }
+
+    private void update(ObservationPoint point, int delta) {
+        if (Double.isNaN(point.getLatitude()) || Double.isNaN(point.getLongitude())) {
+            return;
+        }
+        int category = category(specieId(point.getIdSpecies()), point.isVerified());
+        int byStatus = point.isVerified() ? ALL_VERIFIED : ALL_UNVERIFIED;
+        levels.forEach((zoom, level) -> {
+            int binZoom = zoom + binBits;
+            long bx = tileX(point.getLongitude(), binZoom);
+            long by = tileY(point.getLatitude(), binZoom);
+            level.add(key(ALL, bx, by), delta);
+            level.add(key(byStatus, bx, by), delta);
+            level.add(key(category, bx, by), delta);
+        });
+    }
+
+    private List<Integer> categories(Collection<String> idSpecies, Boolean verified) {
+        if (idSpecies == null) {
+            // Sin filtro de especie hay contadores agregados: una sola búsqueda por celda
+            return List.of(verified == null ? ALL : verified ? ALL_VERIFIED : ALL_UNVERIFIED);
+        }
+        List<Integer> result = new ArrayList<>();
+        for (String idSpecie : idSpecies) {
+            Integer id = species.get(idSpecie);
+            if (id == null) {
+                continue;
+            }
+            if (verified == null || verified) {
+                result.add(category(id, true));
+            }
+            if (verified == null || !verified) {
+                result.add(category(id, false));
+            }
+        }
+        return result;
+    }
+
+    private int specieId(String idSpecie) {
+        return species.computeIfAbsent(idSpecie == null ? "" : idSpecie, k -> species.size());
+    }
+
+    private static int category(int specieId, boolean verified) {
+        return 3 + specieId * 2 + (verified ? 1 : 0);
+    }
+
+    private static long key(int category, long x, long y) {
+        return ((long) category << (2 * COORD_BITS)) | ((x & COORD_MASK) << COORD_BITS) | (y & COORD_MASK);
+    }
+
+    static long tileX(double lon, int zoom) {
+        long n = 1L << zoom;
+        return Math.min(n - 1, Math.max(0, (long) Math.floor((lon + 180) / 360 * n)));
+    }
+
+    static long tileY(double lat, int zoom) {
+        long n = 1L << zoom;
+        double rad = Math.toRadians(Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat)));
+        double y = (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * n;
+        return Math.min(n - 1, Math.max(0, (long) Math.floor(y)));
+    }
+
+    public static final class Tile {
+
+        private final int z;
+        private final int x;
+        private final int y;
+        private final int binsPerSide;
+        private final long total;
+        private final int max;
+        private final List<int[]> cells;
+
+        Tile(int z, int x, int y, int binsPerSide, long total, int max, List<int[]> cells) {
+            this.z = z;
+            this.x = x;
+            this.y = y;
+            this.binsPerSide = binsPerSide;
+            this.total = total;
+            this.max = max;
+            this.cells = cells;
+        }
+
+        public int getZ() {
+            return z;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getBinsPerSide() {
+            return binsPerSide;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public List<int[]> getCells() {
+            return cells;
+        }
+    }
+}
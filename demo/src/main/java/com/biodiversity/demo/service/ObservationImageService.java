@@ -0,0 +1,294 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.dto.ImageUploadDTO;
+import com.biodiversity.demo.exception.ThumbnailQueueFullException;
+import com.biodiversity.demo.model.Observation;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Subida de imágenes de observaciones. El original se guarda tal cual llega (Tomcat lo deja en
+ * disco, nunca entero en el heap) y un pool acotado genera la miniatura en segundo plano y la añade
+ * a Observation.images, de modo que el feed solo descarga imágenes pequeñas. El original queda junto
+ * a la miniatura con el mismo nombre sin el sufijo "_thumb".
+ */
+@Service
+public class ObservationImageService extends SupabaseService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObservationImageService.class);
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            MediaType.IMAGE_JPEG_VALUE, "jpg",
+            MediaType.IMAGE_PNG_VALUE, "png");
+    private static final Pattern SAFE_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+    private static final int LOCK_STRIPES = 64;
+
+    @Value("${observations.images.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${observations.images.thumbnail-quality:0.8}")
+    private float thumbnailQuality;
+
+    @Value("${observations.images.max-pixels:50000000}")
+    private long maxPixels;
+
+    @Value("${observations.images.workers:2}")
+    private int workers;
+
+    @Value("${observations.images.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${observations.images.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ObservationService observationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private ThreadPoolExecutor executor;
+
+    // Serializa el leer-añadir-escribir de images por observación dentro de esta instancia
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Timer thumbnailTimer;
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        // Cola acotada sin CallerRunsPolicy: si se llena se rechaza la subida en vez de redimensionar
+        // en el hilo de la petición
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "thumbnail-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            logger.warn("Miniaturas pendientes sin generar al apagar: {}", executor.getQueue().size());
+        }
+    }
+
+    public static boolean isSupported(String contentType) {
+        return contentType != null && EXTENSIONS.containsKey(contentType);
+    }
+
+    // El id forma parte de la clave de almacenamiento
+    public static boolean isValidId(String id) {
+        return id != null && SAFE_ID.matcher(id).matches();
+    }
+
+    /**
+     * Guarda el original y encola su miniatura; null si la observación no existe o no es visible para
+     * el token.
+     */
+    public ImageUploadDTO upload(String authToken, String id, MultipartFile file) throws IOException {
+        ResponseEntity<List<Observation>> current = observationService.getObservationById(authToken, id);
+        Observation obs = current.getBody() != null && !current.getBody().isEmpty() ? current.getBody().get(0) : null;
+        if (obs == null) {
+            return null;
+        }
+        ObservationService.checkObserver(claimsOf(authToken), obs.getIdObserverUser());
+
+        String base = "observations/" + id + "/" + UUID.randomUUID();
+        String originalKey = base + "." + EXTENSIONS.get(file.getContentType());
+        String thumbnailKey = base + THUMBNAIL_SUFFIX;
+        String originalUrl = imageStorage.store(originalKey, file);
+        try {
+            executor.execute(() -> generate(authToken, id, originalKey, thumbnailKey));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            imageStorage.delete(originalKey);
+            throw new ThumbnailQueueFullException(queueCapacity);
+        }
+        uploads.increment();
+        logger.info("Imagen de la observación {} guardada ({} bytes), miniatura en cola", id, file.getSize());
+        return new ImageUploadDTO(originalUrl, imageStorage.url(thumbnailKey));
+    }
+
+    void generate(String authToken, String id, String originalKey, String thumbnailKey) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage thumbnail = resize(imageStorage.resolve(originalKey), thumbnailSize, maxPixels);
+            String url = imageStorage.write(thumbnailKey, out -> writeJpeg(thumbnail, thumbnailQuality, out));
+            appendImage(authToken, id, url);
+            generated.increment();
+        } catch (IOException | RestClientException e) {
+            failed.increment();
+            logger.error("No se pudo generar la miniatura de {} para la observación {}: {}", originalKey, id,
+                    e.getMessage());
+        } finally {
+            Timer timer = thumbnailTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void appendImage(String authToken, String id, String url) {
+        synchronized (locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)]) {
+            ResponseEntity<List<Observation>> current = observationService.getObservationById(authToken, id);
+            Observation obs = current.getBody() != null && !current.getBody().isEmpty()
+                    ? current.getBody().get(0) : null;
+            if (obs == null) {
+                logger.warn("La observación {} ya no existe, se descarta la miniatura {}", id, url);
+                return;
+            }
+            List<String> images = new ArrayList<>(obs.getImages() != null ? obs.getImages() : List.of());
+            images.add(url);
+            // PATCH parcial: solo images, para no pisar cambios concurrentes en otras columnas
+            ResponseEntity<Observation> response = executeRequest(ObservationService.observationByIdQuery(id),
+                    HttpMethod.PATCH, createHeaders(authToken), Map.of("images", images), Observation.class);
+            ObservationService.publishUpdated(eventPublisher, id, response);
+        }
+    }
+
+    /**
+     * Decodifica con submuestreo para no materializar el original a resolución completa y termina
+     * con un escalado bilineal al lado máximo pedido.
+     */
+    static BufferedImage resize(Path source, int maxEdge, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Formato de imagen no reconocido");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Imagen demasiado grande: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (maxEdge * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scale(reader.read(0, param), maxEdge);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int maxEdge) {
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG no tiene alfa: la transparencia de los PNG queda en blanco
+            g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static void writeJpeg(BufferedImage image, float quality, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("uploads", uploads.sum());
+        stats.put("thumbnailsGenerated", generated.sum());
+        stats.put("thumbnailsFailed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        thumbnailTimer = Timer.builder("observations.images.thumbnail.duration")
+                .register(registry);
+        FunctionCounter.builder("observations.images.uploads", uploads, LongAdder::sum)
+                .register(registry);
+        thumbnails(registry, "generated", generated);
+        thumbnails(registry, "failed", failed);
+        thumbnails(registry, "rejected", rejected);
+        new ExecutorServiceMetrics(executor, "observations.images", List.of()).bindTo(registry);
+    }
+
+    private static void thumbnails(MeterRegistry registry, String result, LongAdder adder) {
+        FunctionCounter.builder("observations.images.thumbnails", adder, LongAdder::sum)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,268 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.exception.IndexUnavailableException;
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.ObservationPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class ObservationMirror extends SupabaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObservationMirror.class);
+
+    @Value("${observations.mirror.enabled:true}")
+    private boolean enabled;
+
+    @Value("${observations.mirror.retry-seconds:30}")
+    private long retrySeconds;
+
+    @Autowired
+    private ObservationExportService exportService;
+
+    @Autowired(required = false)
+    private List<ObservationMirrorListener> listeners = List.of();
+
+    private final Map<String, ObservationPoint> points = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private volatile boolean loaded;
+    private volatile long retryAfterNanos;
+    private volatile long loadedAtMillis;
+    private volatile Long reconciledAtMillis;
+    private volatile int lastCorrections;
+    private volatile long totalCorrections;
+    private Set<String> touchedWhileLoading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            startLoad();
+        }
+    }
+
+    /**
+     * No bloquea: si el índice aún no está cargado lanza la carga en segundo plano y responde 503, así
+     * la exportación completa nunca corre en un hilo de petición.
+     */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        if (!enabled) {
+            throw new IndexUnavailableException("El índice de observaciones está deshabilitado");
+        }
+        if (!startLoad() && !loading.get()) {
+            if (loaded) {
+                return;
+            }
+            throw new IndexUnavailableException("No fue posible inicializar el índice de observaciones");
+        }
+        throw new IndexUnavailableException("El índice de observaciones se está inicializando");
+    }
+
+    private boolean startLoad() {
+        if (loaded || System.nanoTime() - retryAfterNanos < 0 || !loading.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                load();
+            } finally {
+                loading.set(false);
+            }
+        }, "observation-mirror-load");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        try {
+            Map<String, ObservationPoint> fetched = fetchAll();
+            synchronized (writeLock) {
+                for (ObservationPoint point : fetched.values()) {
+                    // Un evento recibido durante la carga es más reciente que la lectura en bloque
+                    if (!touchedWhileLoading.contains(point.getId())) {
+                        apply(point.getId(), point);
+                    }
+                }
+                touchedWhileLoading = null;
+                loaded = true;
+                loadedAtMillis = System.currentTimeMillis();
+            }
+            logger.info("Índice de observaciones inicializado con {} observaciones", points.size());
+        } catch (RestClientException e) {
+            synchronized (writeLock) {
+                touchedWhileLoading = null;
+            }
+            retryAfterNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(retrySeconds);
+            logger.error("No fue posible inicializar el índice de observaciones", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${observations.mirror.reconcile-interval-ms:900000}",
+            initialDelayString = "${observations.mirror.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        if (!enabled || !loaded) {
+            return;
+        }
+        synchronized (this) {
+            Map<String, ObservationPoint> fetched;
+            try {
+                fetched = fetchAll();
+            } catch (RestClientException e) {
+                synchronized (writeLock) {
+                    touchedWhileLoading = null;
+                }
+                logger.error("Falló la reconciliación del índice de observaciones", e);
+                return;
+            }
+
+            int corrections = 0;
+            synchronized (writeLock) {
+                for (ObservationPoint point : fetched.values()) {
+                    if (!touchedWhileLoading.contains(point.getId()) && !point.equals(points.get(point.getId()))) {
+                        apply(point.getId(), point);
+                        corrections++;
+                    }
+                }
+                for (String id : List.copyOf(points.keySet())) {
+                    if (!fetched.containsKey(id) && !touchedWhileLoading.contains(id)) {
+                        apply(id, null);
+                        corrections++;
+                    }
+                }
+                touchedWhileLoading = null;
+            }
+            lastCorrections = corrections;
+            totalCorrections += corrections;
+            reconciledAtMillis = System.currentTimeMillis();
+            if (corrections > 0) {
+                logger.warn("Reconciliación del índice de observaciones: {} correcciones", corrections);
+            } else {
+                logger.info("Reconciliación del índice de observaciones sin diferencias");
+            }
+        }
+    }
+
+    @EventListener
+    public void onObservationChanged(ObservationChangedEvent event) {
+        if (!enabled || event.getId() == null) {
+            return;
+        }
+        ObservationPoint after;
+        switch (event.getType()) {
+            case DELETED -> after = null;
+            case CREATED, UPDATED -> {
+                Observation observation = event.getObservation();
+                if (observation == null) {
+                    try {
+                        observation = fetchById(event.getId());
+                    } catch (RestClientException e) {
+                        logger.warn("No fue posible refrescar la observación {} en el índice", event.getId(), e);
+                        return;
+                    }
+                }
+                after = observation != null ? ObservationPoint.of(observation) : null;
+            }
+            default -> throw new IllegalStateException("Tipo de evento desconocido: " + event.getType());
+        }
+        synchronized (writeLock) {
+            if (touchedWhileLoading != null) {
+                touchedWhileLoading.add(event.getId());
+            }
+            apply(event.getId(), after);
+        }
+    }
+
+    public ObservationPoint get(String id) {
+        return points.get(id);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("loaded", loaded);
+        stats.put("loading", loading.get());
+        stats.put("size", points.size());
+        stats.put("loadedAt", loaded ? loadedAtMillis : null);
+        stats.put("reconciledAt", reconciledAtMillis);
+        stats.put("lastCorrections", lastCorrections);
+        stats.put("totalCorrections", totalCorrections);
+        return stats;
+    }
+
+    void apply(String id, ObservationPoint after) {
+        ObservationPoint before = after != null ? points.put(id, after) : points.remove(id);
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        for (ObservationMirrorListener listener : listeners) {
+            listener.onChange(before, after);
+        }
+    }
+
+    Map<String, ObservationPoint> fetchAll() {
+        synchronized (writeLock) {
+            touchedWhileLoading = new HashSet<>();
+        }
+        Map<String, ObservationPoint> fetched = new HashMap<>();
+        try {
+            exportService.forEachChunk(serviceToken(), null, chunk -> {
+                for (Observation obs : chunk) {
+                    if (obs.getId() != null) {
+                        fetched.put(obs.getId(), ObservationPoint.of(obs));
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new RestClientException("Error leyendo observaciones", e);
+        }
+        return fetched;
+    }
+
+    private Observation fetchById(String id) {
+        ResponseEntity<List<Observation>> response = restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + ObservationService.observationByIdQuery(id),
+                HttpMethod.GET,
+                new HttpEntity<>(createHeaders(serviceToken())),
+                new ParameterizedTypeReference<List<Observation>>() {
+                });
+        List<Observation> body = response.getBody();
+        return body != null && !body.isEmpty() ? body.get(0) : null;
+    }
+
+    private String serviceToken() {
+        return "Bearer " + supabaseConfig.getSupabaseServiceRoleKey();
+    }
+}
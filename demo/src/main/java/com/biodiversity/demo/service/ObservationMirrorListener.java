@@ -0,0 +1,8 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+
+public interface ObservationMirrorListener {
+
+    void onChange(ObservationPoint before, ObservationPoint after);
+}
@@ -2,58 +2,170 @@ package com.biodiversity.demo.service;
 
 import com.biodiversity.demo.model.Observation;
 import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.exception.ObserverMismatchException;
+import com.biodiversity.demo.repository.ObservationJdbcRepository;
+import com.biodiversity.demo.repository.ObservationJdbcRepository.SpeciesCriteria;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
 public class ObservationService extends SupabaseService {
 
-    private static final String OBSERVATIONS_ENDPOINT = "/rest/v1/observations";
+    static final String OBSERVATIONS_ENDPOINT = "/rest/v1/observations";
+    static final int PAGE_SIZE = 5;
+    static final int MAX_PAGE_SIZE = 50;
+    private static final String FEED_ORDER = "order=created_at.desc,id_observation.desc";
+    private static final Pattern UNSAFE_NAME_CHARS = Pattern.compile("[^\\p{L}\\p{N} \\-]");
+    static final String NO_SPECIES_MATCH = "id_specie=in.()";
+    static final String VERSION_SELECT = "select=id_observation,updated_at";
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SpecieService specieService;
+
+    // Presente solo con supabase.data-path.observations=jdbc: las lecturas van directas a Postgres
+    @Autowired(required = false)
+    private ObservationJdbcRepository observationJdbc;
+
+    // Presente solo con observations.write-behind.enabled=true
+    @Autowired(required = false)
+    private ObservationWriteBehind writeBehind;
 
     public ResponseEntity<List<Observation>> getAllObservations(String authToken, int page, String specieCommonName) {
+        return getAllObservations(authToken, page, PAGE_SIZE, specieCommonName);
+    }
+
+    public ResponseEntity<List<Observation>> getAllObservations(String authToken, int page, int pageSize,
+            String specieCommonName) {
+        if (observationJdbc != null) {
+            // Postgres no ve el token: sin esta verificación la lectura JDBC no exigiría autenticación
+            claimsOf(authToken);
+            int size = clampPageSize(pageSize);
+            return ResponseEntity.ok(observationJdbc.findPage((page - 1) * size, size,
+                    speciesCriteria(authToken, specieCommonName)));
+        }
+        String speciesFilter = resolveSpeciesFilter(authToken, specieCommonName);
+        if (NO_SPECIES_MATCH.equals(speciesFilter)) {
+            return ResponseEntity.ok(List.of());
+        }
         HttpHeaders headers = createHeaders(authToken);
-        int limit = 5;
-        int offset = (page - 1) * limit;
+        return restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + allObservationsQuery(page, pageSize, speciesFilter),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<List<Observation>>() {
+                });
+    }
 
-        String url = supabaseConfig.getSupabaseUrl() + OBSERVATIONS_ENDPOINT +
-                "?order=created_at.desc" +
-                "&limit=" + limit +
-                "&offset=" + offset;
+    public ResponseEntity<List<Observation>> getObservationFeed(String authToken, String cursor, int pageSize,
+            String specieCommonName) {
+        if (observationJdbc != null) {
+            claimsOf(authToken);
+            return ResponseEntity.ok(observationJdbc.findFeed(decodeCursor(cursor), clampPageSize(pageSize) + 1,
+                    speciesCriteria(authToken, specieCommonName)));
+        }
+        String speciesFilter = resolveSpeciesFilter(authToken, specieCommonName);
+        if (NO_SPECIES_MATCH.equals(speciesFilter)) {
+            return ResponseEntity.ok(List.of());
+        }
+        HttpHeaders headers = createHeaders(authToken);
+        return restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + observationFeedQuery(cursor, pageSize, speciesFilter),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<List<Observation>>() {
+                });
+    }
 
-        if (specieCommonName != null && !specieCommonName.trim().isEmpty()) {
-            url += "&specie_common_name=ilike.*" + specieCommonName + "*";
+    public ResponseEntity<List<Observation>> getObservationById(String authToken, String id) {
+        ResponseEntity<List<Observation>> response;
+        if (observationJdbc != null) {
+            claimsOf(authToken);
+            response = ResponseEntity.ok(observationJdbc.findById(id));
+        } else {
+            HttpHeaders headers = createHeaders(authToken);
+            response = executeIdempotentGet("observations", observationByIdQuery(id), headers,
+                    new ParameterizedTypeReference<List<Observation>>() {
+                    });
         }
+        return writeBehind != null ? writeBehind.overlay(response) : response;
+    }
+
+    public ResponseEntity<List<Observation>> getObservationsByUserId(String authToken, String userId, int page) {
+        return getObservationsByUserId(authToken, userId, page, PAGE_SIZE);
+    }
 
+    public ResponseEntity<List<Observation>> getObservationsByUserId(String authToken, String userId, int page,
+            int pageSize) {
+        if (observationJdbc != null) {
+            claimsOf(authToken);
+            int size = clampPageSize(pageSize);
+            return ResponseEntity.ok(observationJdbc.findByUser(userId, (page - 1) * size, size));
+        }
+        HttpHeaders headers = createHeaders(authToken);
         return restTemplate.exchange(
-                url,
+                supabaseConfig.getSupabaseUrl() + observationsByUserQuery(userId, page, pageSize),
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
                 new ParameterizedTypeReference<List<Observation>>() {
                 });
     }
 
-    public ResponseEntity<List<Observation>> getObservationById(String authToken, String id) {
+    public ResponseEntity<List<Observation>> getObservationFeedByUserId(String authToken, String userId,
+            String cursor, int pageSize) {
+        if (observationJdbc != null) {
+            claimsOf(authToken);
+            return ResponseEntity.ok(observationJdbc.findFeedByUser(userId, decodeCursor(cursor),
+                    clampPageSize(pageSize) + 1));
+        }
         HttpHeaders headers = createHeaders(authToken);
         return restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + OBSERVATIONS_ENDPOINT + "?id_observation=eq." + id,
+                supabaseConfig.getSupabaseUrl() + observationFeedByUserQuery(userId, cursor, pageSize),
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
                 new ParameterizedTypeReference<List<Observation>>() {
                 });
     }
 
-    public ResponseEntity<List<Observation>> getObservationsByUserId(String authToken, String userId, int page) {
+    // Por JDBC las filas completas cuestan casi lo mismo que las columnas de versión
+    public ResponseEntity<List<Observation>> getObservationVersionById(String authToken, String id) {
+        // Con cambios pendientes el updated_at de Supabase no describe lo que se devolverá
+        if (observationJdbc != null || (writeBehind != null && writeBehind.isPending(id))) {
+            return getObservationById(authToken, id);
+        }
+        return fetchVersions(authToken, versionQuery(observationByIdQuery(id)));
+    }
+
+    public ResponseEntity<List<Observation>> getObservationVersionsByUserId(String authToken, String userId,
+            int page, int pageSize) {
+        if (observationJdbc != null) {
+            return getObservationsByUserId(authToken, userId, page, pageSize);
+        }
+        return fetchVersions(authToken, versionQuery(observationsByUserQuery(userId, page, pageSize)));
+    }
+
+    public ResponseEntity<List<Observation>> getObservationFeedVersionsByUserId(String authToken, String userId,
+            String cursor, int pageSize) {
+        if (observationJdbc != null) {
+            return getObservationFeedByUserId(authToken, userId, cursor, pageSize);
+        }
+        return fetchVersions(authToken, versionQuery(observationFeedByUserQuery(userId, cursor, pageSize)));
+    }
+
+    private ResponseEntity<List<Observation>> fetchVersions(String authToken, String query) {
         HttpHeaders headers = createHeaders(authToken);
-        int limit = 5;
-        int offset = (page - 1) * limit;
         return restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + OBSERVATIONS_ENDPOINT +
-                        "?id_observer_user=eq." + userId +
-                        "&order=created_at.desc" +
-                        "&limit=" + limit +
-                        "&offset=" + offset,
+                supabaseConfig.getSupabaseUrl() + query,
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
                 new ParameterizedTypeReference<List<Observation>>() {
@@ -61,24 +173,178 @@ public class ObservationService extends SupabaseService {
     }
 
     public ResponseEntity<List<Observation>> createObservation(String authToken, CreateObservationDTO observationDTO) {
+        checkObserver(claimsOf(authToken), observationDTO.getIdObserverUser());
         HttpHeaders headers = createHeaders(authToken);
         headers.set("Prefer", "return=representation");
-        return restTemplate.exchange(
+        ResponseEntity<List<Observation>> response = restTemplate.exchange(
                 supabaseConfig.getSupabaseUrl() + OBSERVATIONS_ENDPOINT,
                 HttpMethod.POST,
                 new HttpEntity<>(observationDTO, headers),
                 new ParameterizedTypeReference<List<Observation>>() {
                 });
+        publishCreated(eventPublisher, response);
+        return response;
+    }
+
+    /**
+     * Con write-behind se encolan solo los campos presentes en el cuerpo (changes); si no está activo
+     * o el buffer no los admite, sigue el PATCH directo con el modelo completo.
+     */
+    public ResponseEntity<Observation> updateObservation(String authToken, String id, Observation observation,
+            ObjectNode changes) {
+        if (writeBehind != null && changes != null) {
+            ResponseEntity<Observation> buffered = writeBehind.enqueue(authToken, id, changes);
+            if (buffered != null) {
+                return buffered;
+            }
+        }
+        return updateObservation(authToken, id, observation);
     }
 
     public ResponseEntity<Observation> updateObservation(String authToken, String id, Observation observation) {
         HttpHeaders headers = createHeaders(authToken);
-        return executeRequest(OBSERVATIONS_ENDPOINT + "?id=eq." + id, HttpMethod.PATCH, headers, observation,
-                Observation.class);
+        ResponseEntity<Observation> response = executeRequest(observationByIdQuery(id),
+                HttpMethod.PATCH, headers, observation, Observation.class);
+        publishUpdated(eventPublisher, id, response);
+        return response;
     }
 
     public ResponseEntity<Void> deleteObservation(String authToken, String id) {
+        if (writeBehind != null) {
+            writeBehind.discard(id);
+        }
         HttpHeaders headers = createHeaders(authToken);
-        return executeRequest(OBSERVATIONS_ENDPOINT + "?id=eq." + id, HttpMethod.DELETE, headers, null, Void.class);
+        ResponseEntity<Void> response = executeRequest(observationByIdQuery(id), HttpMethod.DELETE,
+                headers, null, Void.class);
+        publishDeleted(eventPublisher, id, response);
+        return response;
+    }
+
+    // Se rechaza antes de ir a Supabase: el usuario del token solo puede crear observaciones propias
+    static void checkObserver(Optional<AuthClaims> claims, String idObserverUser) {
+        if (claims.isPresent() && idObserverUser != null && !claims.get().mayActAs(idObserverUser)) {
+            throw new ObserverMismatchException(idObserverUser);
+        }
+    }
+
+    static void publishCreated(ApplicationEventPublisher publisher, ResponseEntity<List<Observation>> response) {
+        if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            for (Observation obs : response.getBody()) {
+                if (obs != null && obs.getId() != null) {
+                    publisher.publishEvent(ObservationChangedEvent.created(obs));
+                }
+            }
+        }
+    }
+
+    static void publishUpdated(ApplicationEventPublisher publisher, String id, ResponseEntity<Observation> response) {
+        if (response != null && response.getStatusCode().is2xxSuccessful()) {
+            publisher.publishEvent(ObservationChangedEvent.updated(id, response.getBody()));
+        }
+    }
+
+    static void publishDeleted(ApplicationEventPublisher publisher, String id, ResponseEntity<Void> response) {
+        if (response != null && response.getStatusCode().is2xxSuccessful()) {
+            publisher.publishEvent(ObservationChangedEvent.deleted(id));
+        }
+    }
+
+    private String resolveSpeciesFilter(String authToken, String specieCommonName) {
+        if (isBlank(specieCommonName)) {
+            return null;
+        }
+        return speciesFilter(specieCommonName, specieService.resolveSpecieIds(authToken, specieCommonName));
+    }
+
+    private SpeciesCriteria speciesCriteria(String authToken, String specieCommonName) {
+        if (isBlank(specieCommonName)) {
+            return null;
+        }
+        // Con parámetros de JDBC el nombre no necesita saneado, a diferencia del filtro de PostgREST
+        return specieService.resolveSpecieIds(authToken, specieCommonName)
+                .map(SpeciesCriteria::ofIds)
+                .orElseGet(() -> SpeciesCriteria.ofCommonName(specieCommonName.trim()));
+    }
+
+    private static ObservationCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : ObservationCursor.decode(cursor);
+    }
+
+    static String speciesFilter(String specieCommonName, Optional<List<String>> resolvedIds) {
+        if (isBlank(specieCommonName)) {
+            return null;
+        }
+        if (resolvedIds.isPresent()) {
+            List<String> ids = resolvedIds.get();
+            return ids.isEmpty() ? NO_SPECIES_MATCH : "id_specie=in.(" + String.join(",", ids) + ")";
+        }
+        // Sin catálogo en memoria se conserva el ilike, pero sin caracteres que alteren la consulta de PostgREST
+        String sanitized = UNSAFE_NAME_CHARS.matcher(specieCommonName).replaceAll("").trim();
+        return sanitized.isEmpty() ? NO_SPECIES_MATCH : "specie_common_name=ilike.*" + sanitized + "*";
+    }
+
+    // Mismo orden total que el feed: sin desempate por id, filas con igual created_at se repiten o
+    // desaparecen entre páginas
+    static String allObservationsQuery(int page, int pageSize, String speciesFilter) {
+        int size = clampPageSize(pageSize);
+        int offset = (page - 1) * size;
+        String url = OBSERVATIONS_ENDPOINT +
+                "?" + FEED_ORDER +
+                "&limit=" + size +
+                "&offset=" + offset;
+
+        if (!isBlank(speciesFilter)) {
+            url += "&" + speciesFilter;
+        }
+        return url;
+    }
+
+    static String observationFeedQuery(String cursor, int pageSize, String speciesFilter) {
+        String url = OBSERVATIONS_ENDPOINT + "?" + FEED_ORDER + "&limit=" + (clampPageSize(pageSize) + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            url += "&" + ObservationCursor.decode(cursor).filter();
+        }
+        if (!isBlank(speciesFilter)) {
+            url += "&" + speciesFilter;
+        }
+        return url;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    static String observationFeedByUserQuery(String userId, String cursor, int pageSize) {
+        String url = OBSERVATIONS_ENDPOINT +
+                "?id_observer_user=eq." + userId +
+                "&" + FEED_ORDER +
+                "&limit=" + (clampPageSize(pageSize) + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            url += "&" + ObservationCursor.decode(cursor).filter();
+        }
+        return url;
+    }
+
+    // Mismas filas que la consulta completa, pero solo las columnas que forman el ETag
+    static String versionQuery(String query) {
+        return query + "&" + VERSION_SELECT;
+    }
+
+    public static int clampPageSize(int pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    static String observationByIdQuery(String id) {
+        return OBSERVATIONS_ENDPOINT + "?id_observation=eq." + id;
+    }
+
+    static String observationsByUserQuery(String userId, int page, int pageSize) {
+        int size = clampPageSize(pageSize);
+        int offset = (page - 1) * size;
+        return OBSERVATIONS_ENDPOINT +
+                "?id_observer_user=eq." + userId +
+                "&" + FEED_ORDER +
+                "&limit=" + size +
+                "&offset=" + offset;
     }
-}
\ No newline at end of file
+}
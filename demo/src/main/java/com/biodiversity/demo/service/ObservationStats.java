@@ -0,0 +1,127 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class ObservationStats implements ObservationMirrorListener {
+
+    private static final int UNKNOWN_MONTH = 0;
+    private static final String NO_VALUE = "";
+
+    private final Dictionary species = new Dictionary();
+    private final Dictionary types = new Dictionary();
+
+    private final LongCounterMap bySpecies = new LongCounterMap(1024);
+    private final LongCounterMap byMonth = new LongCounterMap(256);
+    private final LongCounterMap byType = new LongCounterMap(16);
+    private final LongCounterMap byVerification = new LongCounterMap(2);
+    private final LongCounterMap bySpeciesMonth = new LongCounterMap(4096);
+
+    @Override
+    public void onChange(ObservationPoint before, ObservationPoint after) {
+        if (before != null) {
+            update(before, -1);
+        }
+        if (after != null) {
+            update(after, 1);
+        }
+    }
+
+    public Map<String, Object> getRollups(String idSpecie) {
+        Map<String, Object> rollups = new TreeMap<>();
+        if (idSpecie != null) {
+            Integer speciesId = species.find(idSpecie);
+            Map<String, Integer> months = new TreeMap<>();
+            if (speciesId != null) {
+                bySpeciesMonth.forEach((key, count) -> {
+                    if ((int) (key >>> 32) == speciesId) {
+                        months.put(monthLabel((int) key), count);
+                    }
+                });
+            }
+            rollups.put("idSpecie", idSpecie);
+            rollups.put("total", speciesId != null ? bySpecies.get(speciesId) : 0);
+            rollups.put("byMonth", months);
+            return rollups;
+        }
+
+        rollups.put("total", byVerification.get(0) + byVerification.get(1));
+        rollups.put("bySpecies", labelled(bySpecies, species));
+        rollups.put("byType", labelled(byType, types));
+        Map<String, Integer> months = new TreeMap<>();
+        byMonth.forEach((key, count) -> months.put(monthLabel((int) key), count));
+        rollups.put("byMonth", months);
+        Map<String, Integer> verification = new TreeMap<>();
+        verification.put("verified", byVerification.get(1));
+        verification.put("unverified", byVerification.get(0));
+        rollups.put("byVerification", verification);
+        return rollups;
+    }
+
+    private void update(ObservationPoint point, int delta) {
+        int speciesId = species.idOf(point.getIdSpecies());
+        int month = monthOf(point.getDate());
+        bySpecies.add(speciesId, delta);
+        byMonth.add(month, delta);
+        byType.add(types.idOf(normalize(point.getTypeObservation())), delta);
+        byVerification.add(point.isVerified() ? 1 : 0, delta);
+        bySpeciesMonth.add(((long) speciesId << 32) | month, delta);
+    }
+
+    private static Map<String, Integer> labelled(LongCounterMap counters, Dictionary dictionary) {
+        Map<String, Integer> result = new TreeMap<>();
+        counters.forEach((key, count) -> {
+            String label = dictionary.valueOf((int) key);
+            result.put(label.isEmpty() ? "sin-dato" : label, count);
+        });
+        return result;
+    }
+
+    static int monthOf(LocalDate date) {
+        return date == null ? UNKNOWN_MONTH : date.getYear() * 12 + date.getMonthValue();
+    }
+
+    static String monthLabel(int month) {
+        if (month == UNKNOWN_MONTH) {
+            return "sin-fecha";
+        }
+        int year = (month - 1) / 12;
+        int monthValue = month - year * 12;
+        return String.format(Locale.ROOT, "%04d-%02d", year, monthValue);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final List<String> values = new CopyOnWriteArrayList<>();
+
+        int idOf(String value) {
+            String key = value == null ? NO_VALUE : value;
+            return ids.computeIfAbsent(key, k -> {
+                values.add(k);
+                return values.size() - 1;
+            });
+        }
+
+        Integer find(String value) {
+            return ids.get(value == null ? NO_VALUE : value);
+        }
+
+        String valueOf(int id) {
+            return values.get(id);
+        }
+    }
+}
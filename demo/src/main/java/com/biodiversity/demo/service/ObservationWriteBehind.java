@@ -0,0 +1,339 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Observation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind de los PATCH de observaciones. Se guardan solo los campos que el cliente envió; las
+ * actualizaciones a un mismo id dentro de la ventana se fusionan campo a campo (gana la más
+ * reciente, los campos no enviados se conservan) y salen como un solo PATCH parcial. Por id hay
+ * una cola de lotes: los de otro token no se mezclan y cada lote espera a que termine el anterior,
+ * así Supabase recibe los cambios en orden. Las lecturas por id superponen lo pendiente
+ * (read-your-writes) y al apagar se vacía todo antes de cerrar el cliente HTTP.
+ */
+@Component
+@ConditionalOnProperty(name = "observations.write-behind.enabled", havingValue = "true")
+public class ObservationWriteBehind extends SupabaseService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObservationWriteBehind.class);
+
+    private static final String ID_FIELD = "id_observation";
+
+    @Value("${observations.write-behind.window-ms:500}")
+    private long windowMs;
+
+    @Value("${observations.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${observations.write-behind.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${observations.write-behind.threads:4}")
+    private int threads;
+
+    @Value("${observations.write-behind.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    private volatile boolean accepting = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread thread = new Thread(r, "observation-write-behind-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Encola la actualización y devuelve 202 con el estado pendiente fusionado, o null si el buffer
+     * no la admite (lleno o apagándose) y hay que enviarla directamente.
+     */
+    public ResponseEntity<Observation> enqueue(String authToken, String id, ObjectNode changes) {
+        ObjectNode fields = changes.deepCopy();
+        while (true) {
+            if (!accepting) {
+                bypassed.increment();
+                return null;
+            }
+            Slot slot = slots.get(id);
+            if (slot == null) {
+                // Solo se limita la cantidad de ids; fusionar en uno existente no ocupa más memoria
+                if (slots.size() >= maxPending) {
+                    bypassed.increment();
+                    return null;
+                }
+                slot = slots.computeIfAbsent(id, Slot::new);
+            }
+            synchronized (slot) {
+                if (slot.removed) {
+                    continue;
+                }
+                Batch last = slot.batches.peekLast();
+                // El lote en vuelo ya se está serializando: lo que llegue ahora va en un lote nuevo
+                boolean inFlight = slot.flushing && last == slot.batches.peekFirst();
+                if (last != null && !inFlight && last.authToken.equals(authToken)) {
+                    last.fields.setAll(fields);
+                    merged.increment();
+                } else {
+                    slot.batches.addLast(new Batch(authToken, fields));
+                }
+                enqueued.increment();
+                scheduleIfIdle(slot, windowMs);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(view(slot, id));
+            }
+        }
+    }
+
+    /**
+     * Superpone los cambios pendientes (incluido el PATCH en vuelo) a las filas leídas de Supabase.
+     */
+    public ResponseEntity<List<Observation>> overlay(ResponseEntity<List<Observation>> response) {
+        if (response == null || response.getBody() == null || slots.isEmpty()) {
+            return response;
+        }
+        for (Observation obs : response.getBody()) {
+            Slot slot = obs != null && obs.getId() != null ? slots.get(obs.getId()) : null;
+            if (slot != null) {
+                synchronized (slot) {
+                    apply(slot, obs);
+                }
+            }
+        }
+        return response;
+    }
+
+    public boolean isPending(String id) {
+        return slots.containsKey(id);
+    }
+
+    // Un DELETE deja sin sentido los cambios que aún no salieron
+    public void discard(String id) {
+        Slot slot = slots.get(id);
+        if (slot == null) {
+            return;
+        }
+        synchronized (slot) {
+            slot.batches.clear();
+            if (slot.scheduled != null) {
+                slot.scheduled.cancel(false);
+                slot.scheduled = null;
+            }
+            removeIfIdle(slot);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        accepting = false;
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            logger.warn("Write-behind: PATCH en curso no terminaron en {} ms", shutdownTimeoutMs);
+        }
+        int pending = 0;
+        for (Slot slot : slots.values()) {
+            while (flush(slot)) {
+                pending++;
+            }
+        }
+        logger.info("Write-behind vaciado al apagar: {} PATCH enviados", pending);
+    }
+
+    private void scheduleIfIdle(Slot slot, long delayMs) {
+        if (slot.scheduled == null && !slot.flushing && !scheduler.isShutdown()) {
+            slot.scheduled = scheduler.schedule(() -> flush(slot), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Envía el lote más antiguo del id; devuelve false si no había nada que enviar.
+     */
+    boolean flush(Slot slot) {
+        Batch batch;
+        synchronized (slot) {
+            slot.scheduled = null;
+            if (slot.flushing || slot.batches.isEmpty()) {
+                removeIfIdle(slot);
+                return false;
+            }
+            batch = slot.batches.peekFirst();
+            slot.flushing = true;
+        }
+
+        boolean done = true;
+        try {
+            ResponseEntity<Observation> response = executeRequest(ObservationService.observationByIdQuery(slot.id),
+                    HttpMethod.PATCH, createHeaders(batch.authToken), batch.fields, Observation.class);
+            flushed.increment();
+            ObservationService.publishUpdated(eventPublisher, slot.id, response);
+        } catch (HttpClientErrorException e) {
+            // Un 4xx no mejora reintentando: se descarta el lote y se deja constancia de lo perdido
+            failed.increment();
+            logger.error("Write-behind: PATCH de la observación {} rechazado ({}), cambios descartados: {}",
+                    slot.id, e.getStatusCode().value(), batch.fields);
+        } catch (RestClientException e) {
+            if (++batch.attempts < maxAttempts) {
+                retried.increment();
+                done = false;
+                logger.warn("Write-behind: fallo al enviar PATCH de la observación {} (intento {}): {}", slot.id,
+                        batch.attempts, e.getMessage());
+            } else {
+                failed.increment();
+                logger.error("Write-behind: PATCH de la observación {} falló {} veces, cambios descartados: {}",
+                        slot.id, batch.attempts, batch.fields);
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("Write-behind: error inesperado enviando PATCH de la observación {}, cambios descartados: {}",
+                    slot.id, batch.fields, e);
+        } finally {
+            // Siempre se libera el slot: uno que se quedara en flushing no volvería a enviarse nunca
+            synchronized (slot) {
+                slot.flushing = false;
+                if (done) {
+                    slot.batches.remove(batch);
+                }
+                if (slot.batches.isEmpty()) {
+                    removeIfIdle(slot);
+                } else {
+                    // Lo acumulado mientras había un PATCH en vuelo sale sin esperar otra ventana completa
+                    scheduleIfIdle(slot, done ? 0 : windowMs * batch.attempts);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void removeIfIdle(Slot slot) {
+        if (slot.batches.isEmpty() && !slot.flushing && slot.scheduled == null) {
+            slot.removed = true;
+            slots.remove(slot.id, slot);
+        }
+    }
+
+    private Observation view(Slot slot, String id) {
+        Observation obs = new Observation();
+        obs.setId(id);
+        apply(slot, obs);
+        return obs;
+    }
+
+    private void apply(Slot slot, Observation target) {
+        for (Batch batch : slot.batches) {
+            ObjectNode fields = batch.fields.deepCopy();
+            fields.remove(ID_FIELD);
+            try {
+                objectMapper.readerForUpdating(target).readValue(fields);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pendingIds", slots.size());
+        stats.put("enqueued", enqueued.sum());
+        stats.put("merged", merged.sum());
+        stats.put("flushed", flushed.sum());
+        stats.put("retried", retried.sum());
+        stats.put("failed", failed.sum());
+        stats.put("bypassed", bypassed.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("observations.write.behind.pending", slots, Map::size)
+                .register(registry);
+        counter(registry, "enqueued", enqueued);
+        counter(registry, "merged", merged);
+        counter(registry, "flushed", flushed);
+        counter(registry, "retried", retried);
+        counter(registry, "failed", failed);
+        counter(registry, "bypassed", bypassed);
+    }
+
+    private static void counter(MeterRegistry registry, String result, LongAdder adder) {
+        FunctionCounter.builder("observations.write.behind.updates", adder, LongAdder::sum)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    static final class Slot {
+
+        private final String id;
+        private final Deque<Batch> batches = new ArrayDeque<>();
+        private ScheduledFuture<?> scheduled;
+        private boolean flushing;
+        private boolean removed;
+
+        Slot(String id) {
+            this.id = id;
+        }
+    }
+
+    private static final class Batch {
+
+        private final String authToken;
+        private final ObjectNode fields;
+        private int attempts;
+
+        private Batch(String authToken, ObjectNode fields) {
+            this.authToken = authToken;
+            this.fields = fields;
+        }
+    }
+}
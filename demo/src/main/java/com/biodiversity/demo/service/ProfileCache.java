@@ -0,0 +1,208 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Profile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ProfileCache implements MeterBinder {
+
+    @Value("${profiles.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${profiles.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${profiles.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${profiles.cache.negative-ttl-seconds:5}")
+    private long negativeTtlSeconds;
+
+    private Cache<String, CachedProfile> byId;
+    private Cache<String, CachedProfile> byEmail;
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        byId = newCache();
+        byEmail = newCache();
+    }
+
+    public Optional<CachedProfile> getById(String id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    public Optional<CachedProfile> getByEmail(String email) {
+        if (!enabled || email == null) {
+            return Optional.empty();
+        }
+        CachedProfile cached = byEmail.getIfPresent(email);
+        if (cached == null || cached.getProfile() == null) {
+            return Optional.ofNullable(cached);
+        }
+        // La entrada por id es la fuente de verdad; así un email cambiado no devuelve un perfil viejo
+        CachedProfile current = byId.getIfPresent(cached.getProfile().getId());
+        if (current == null || current.getProfile() == null || !email.equals(current.getProfile().getEmail())) {
+            byEmail.invalidate(email);
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(long expectedGeneration, Profile profile) {
+        if (!enabled || profile == null || profile.getId() == null) {
+            return;
+        }
+        CachedProfile entry = new CachedProfile(profile);
+        synchronized (generation) {
+            if (generation.get() != expectedGeneration) {
+                return;
+            }
+            byId.put(profile.getId(), entry);
+            if (profile.getEmail() != null) {
+                byEmail.put(profile.getEmail(), entry);
+            }
+        }
+    }
+
+    public void putMissingId(long expectedGeneration, String id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        synchronized (generation) {
+            if (generation.get() == expectedGeneration) {
+                byId.put(id, CachedProfile.MISSING);
+            }
+        }
+    }
+
+    public void putMissingEmail(long expectedGeneration, String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        synchronized (generation) {
+            if (generation.get() == expectedGeneration) {
+                byEmail.put(email, CachedProfile.MISSING);
+            }
+        }
+    }
+
+    public void invalidate(String id, String newEmail) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (generation) {
+            generation.incrementAndGet();
+            if (id != null) {
+                CachedProfile previous = byId.asMap().remove(id);
+                if (previous != null && previous.getProfile() != null && previous.getProfile().getEmail() != null) {
+                    byEmail.invalidate(previous.getProfile().getEmail());
+                }
+            }
+            if (newEmail != null) {
+                byEmail.invalidate(newEmail);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "profiles.byId", byId);
+        bind(registry, "profiles.byEmail", byEmail);
+    }
+
+    private void bind(MeterRegistry registry, String name, Cache<String, CachedProfile> cache) {
+        new CaffeineCacheMetrics<>(cache, name, List.of()).bindTo(registry);
+        // Caffeine informa 1.0 sin peticiones; se publica 0 como en el catálogo de especies
+        Gauge.builder("cache.hit.ratio", cache, c -> {
+                    CacheStats stats = c.stats();
+                    return stats.requestCount() == 0 ? 0.0 : stats.hitRate();
+                })
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("byId", toMap(byId.stats(), byId.estimatedSize()));
+        stats.put("byEmail", toMap(byEmail.stats(), byEmail.estimatedSize()));
+        return stats;
+    }
+
+    private Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("size", size);
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRatio", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        return values;
+    }
+
+    private Cache<String, CachedProfile> newCache() {
+        long positiveNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long negativeNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, CachedProfile>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedProfile value, long currentTime) {
+                        return value.getProfile() != null ? positiveNanos : negativeNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedProfile value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedProfile value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public static final class CachedProfile {
+
+        static final CachedProfile MISSING = new CachedProfile(null);
+
+        private final Profile profile;
+
+        CachedProfile(Profile profile) {
+            this.profile = profile;
+        }
+
+        public Profile getProfile() {
+            return profile;
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.biodiversity.demo.service;
 
 import com.biodiversity.demo.model.Profile;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ProfileService extends SupabaseService {
 
     private static final String PROFILES_ENDPOINT = "/rest/v1/profiles";
 
+    @Autowired
+    private ProfileCache profileCache;
+
     public ResponseEntity<List<Profile>> getAllProfiles(String authToken) {
         HttpHeaders headers = createHeaders(authToken);
         return restTemplate.exchange(
@@ -23,9 +28,35 @@ public class ProfileService extends SupabaseService {
     }
 
     public ResponseEntity<Profile> getProfileById(String authToken, String id) {
+        Optional<ProfileCache.CachedProfile> cached = profileCache.getById(id);
+        if (cached.isPresent()) {
+            return toResponse(cached.get().getProfile());
+        }
+
+        long generation = profileCache.generation();
+        HttpHeaders headers = createHeaders(authToken);
+        ResponseEntity<List<Profile>> response = executeIdempotentGet("profiles",
+                PROFILES_ENDPOINT + "?id=eq." + id, headers,
+                new ParameterizedTypeReference<List<Profile>>() {
+                });
+
+        if (response.getBody() != null && !response.getBody().isEmpty()) {
+            profileCache.put(generation, response.getBody().get(0));
+            return ResponseEntity.ok(response.getBody().get(0));
+        }
+        profileCache.putMissingId(generation, id);
+        return ResponseEntity.notFound().build();
+    }
+
+    public ResponseEntity<Profile> getProfileVersionById(String authToken, String id) {
+        Optional<ProfileCache.CachedProfile> cached = profileCache.getById(id);
+        if (cached.isPresent()) {
+            return toResponse(cached.get().getProfile());
+        }
+
         HttpHeaders headers = createHeaders(authToken);
         ResponseEntity<List<Profile>> response = restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + PROFILES_ENDPOINT + "?id=eq." + id,
+                supabaseConfig.getSupabaseUrl() + PROFILES_ENDPOINT + "?id=eq." + id + "&select=id,updated_at",
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
                 new ParameterizedTypeReference<List<Profile>>() {
@@ -38,6 +69,12 @@ public class ProfileService extends SupabaseService {
     }
 
     public ResponseEntity<Profile> getProfileByEmail(String authToken, String email) {
+        Optional<ProfileCache.CachedProfile> cached = profileCache.getByEmail(email);
+        if (cached.isPresent()) {
+            return toResponse(cached.get().getProfile());
+        }
+
+        long generation = profileCache.generation();
         HttpHeaders headers = createHeaders(authToken);
         ResponseEntity<List<Profile>> response = restTemplate.exchange(
                 supabaseConfig.getSupabaseUrl() + PROFILES_ENDPOINT + "?email=eq." + email,
@@ -47,23 +84,42 @@ public class ProfileService extends SupabaseService {
                 });
 
         if (response.getBody() != null && !response.getBody().isEmpty()) {
+            profileCache.put(generation, response.getBody().get(0));
             return ResponseEntity.ok(response.getBody().get(0));
         }
+        profileCache.putMissingEmail(generation, email);
         return ResponseEntity.notFound().build();
     }
 
     public ResponseEntity<Profile> createProfile(String authToken, Profile profile) {
         HttpHeaders headers = createHeaders(authToken);
-        return executeRequest(PROFILES_ENDPOINT, HttpMethod.POST, headers, profile, Profile.class);
+        try {
+            return executeRequest(PROFILES_ENDPOINT, HttpMethod.POST, headers, profile, Profile.class);
+        } finally {
+            profileCache.invalidate(profile.getId(), profile.getEmail());
+        }
     }
 
     public ResponseEntity<Profile> updateProfile(String authToken, String id, Profile profile) {
         HttpHeaders headers = createHeaders(authToken);
-        return executeRequest(PROFILES_ENDPOINT + "?id=eq." + id, HttpMethod.PATCH, headers, profile, Profile.class);
+        try {
+            return executeRequest(PROFILES_ENDPOINT + "?id=eq." + id, HttpMethod.PATCH, headers, profile,
+                    Profile.class);
+        } finally {
+            profileCache.invalidate(id, profile.getEmail());
+        }
     }
 
     public ResponseEntity<Void> deleteProfile(String authToken, String id) {
         HttpHeaders headers = createHeaders(authToken);
-        return executeRequest(PROFILES_ENDPOINT + "?id=eq." + id, HttpMethod.DELETE, headers, null, Void.class);
+        try {
+            return executeRequest(PROFILES_ENDPOINT + "?id=eq." + id, HttpMethod.DELETE, headers, null, Void.class);
+        } finally {
+            profileCache.invalidate(id, null);
+        }
+    }
+
+    private ResponseEntity<Profile> toResponse(Profile profile) {
+        return profile != null ? ResponseEntity.ok(profile) : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.biodiversity.demo.model.Observation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.biodiversity.demo.service.ObservationService.NO_SPECIES_MATCH;
+import static com.biodiversity.demo.service.ObservationService.OBSERVATIONS_ENDPOINT;
+
+@Service
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "reactive")
+public class ReactiveObservationService extends ReactiveSupabaseService {
+
+    private static final ParameterizedTypeReference<List<Observation>> OBSERVATION_LIST = new ParameterizedTypeReference<List<Observation>>() {
+    };
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReactiveSpecieService specieService;
+
+    public Mono<ResponseEntity<List<Observation>>> getAllObservations(String authToken, int page,
+            String specieCommonName) {
+        return getAllObservations(authToken, page, ObservationService.PAGE_SIZE, specieCommonName);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getAllObservations(String authToken, int page, int pageSize,
+            String specieCommonName) {
+        return resolveSpeciesFilter(authToken, specieCommonName).flatMap(filter -> NO_SPECIES_MATCH.equals(filter)
+                ? Mono.just(ResponseEntity.ok(List.<Observation>of()))
+                : exchange(ObservationService.allObservationsQuery(page, pageSize, filter), HttpMethod.GET,
+                        createHeaders(authToken), null, OBSERVATION_LIST));
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationFeed(String authToken, String cursor, int pageSize,
+            String specieCommonName) {
+        return resolveSpeciesFilter(authToken, specieCommonName).flatMap(filter -> NO_SPECIES_MATCH.equals(filter)
+                ? Mono.just(ResponseEntity.ok(List.<Observation>of()))
+                : exchange(ObservationService.observationFeedQuery(cursor, pageSize, filter), HttpMethod.GET,
+                        createHeaders(authToken), null, OBSERVATION_LIST));
+    }
+
+    private Mono<String> resolveSpeciesFilter(String authToken, String specieCommonName) {
+        if (specieCommonName == null || specieCommonName.isBlank()) {
+            return Mono.just("");
+        }
+        return specieService.resolveSpecieIds(authToken, specieCommonName)
+                .map(ids -> ObservationService.speciesFilter(specieCommonName, ids));
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationById(String authToken, String id) {
+        return exchange(ObservationService.observationByIdQuery(id), HttpMethod.GET, createHeaders(authToken), null,
+                OBSERVATION_LIST);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationsByUserId(String authToken, String userId,
+            int page, int pageSize) {
+        return exchange(ObservationService.observationsByUserQuery(userId, page, pageSize), HttpMethod.GET,
+                createHeaders(authToken), null, OBSERVATION_LIST);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationFeedByUserId(String authToken, String userId,
+            String cursor, int pageSize) {
+        return exchange(ObservationService.observationFeedByUserQuery(userId, cursor, pageSize), HttpMethod.GET,
+                createHeaders(authToken), null, OBSERVATION_LIST);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationVersionById(String authToken, String id) {
+        return exchange(ObservationService.versionQuery(ObservationService.observationByIdQuery(id)), HttpMethod.GET,
+                createHeaders(authToken), null, OBSERVATION_LIST);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationVersionsByUserId(String authToken, String userId,
+            int page, int pageSize) {
+        return exchange(ObservationService.versionQuery(
+                ObservationService.observationsByUserQuery(userId, page, pageSize)),
+                HttpMethod.GET, createHeaders(authToken), null, OBSERVATION_LIST);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> getObservationFeedVersionsByUserId(String authToken,
+            String userId, String cursor, int pageSize) {
+        return exchange(ObservationService.versionQuery(
+                ObservationService.observationFeedByUserQuery(userId, cursor, pageSize)), HttpMethod.GET,
+                createHeaders(authToken), null, OBSERVATION_LIST);
+    }
+
+    public Mono<ResponseEntity<List<Observation>>> createObservation(String authToken,
+            CreateObservationDTO observationDTO) {
+        return Mono.fromRunnable(() -> ObservationService.checkObserver(claimsOf(authToken),
+                        observationDTO.getIdObserverUser()))
+                .then(exchange(OBSERVATIONS_ENDPOINT, HttpMethod.POST, createHeaders(authToken), observationDTO,
+                        OBSERVATION_LIST))
+                .doOnNext(response -> ObservationService.publishCreated(eventPublisher, response));
+    }
+
+    public Mono<ResponseEntity<Observation>> updateObservation(String authToken, String id, Observation observation) {
+        return exchange(ObservationService.observationByIdQuery(id), HttpMethod.PATCH, createHeaders(authToken),
+                observation, Observation.class)
+                .doOnNext(response -> ObservationService.publishUpdated(eventPublisher, id, response));
+    }
+
+    public Mono<ResponseEntity<Void>> deleteObservation(String authToken, String id) {
+        return exchange(ObservationService.observationByIdQuery(id), HttpMethod.DELETE, createHeaders(authToken), null,
+                Void.class)
+                .doOnNext(response -> ObservationService.publishDeleted(eventPublisher, id, response));
+    }
+}
@@ -0,0 +1,115 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Specie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.biodiversity.demo.service.SpecieService.SPECIES_ENDPOINT;
+
+@Service
+@ConditionalOnProperty(name = "supabase.gateway.mode", havingValue = "reactive")
+public class ReactiveSpecieService extends ReactiveSupabaseService {
+
+    private static final ParameterizedTypeReference<List<Specie>> SPECIE_LIST = new ParameterizedTypeReference<List<Specie>>() {
+    };
+
+    @Autowired
+    private SpecieCatalogCache specieCatalogCache;
+
+    public Mono<ResponseEntity<List<Specie>>> getAllSpecies(String authToken) {
+        Optional<SpecieCatalogCache.Snapshot> cached = specieCatalogCache.snapshot();
+        if (cached.isPresent()) {
+            return Mono.just(ResponseEntity.ok(cached.get().getAll()));
+        }
+        long generation = specieCatalogCache.generation();
+        return exchange(SPECIES_ENDPOINT, HttpMethod.GET, createHeaders(authToken), null, SPECIE_LIST)
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        specieCatalogCache.store(generation, response.getBody());
+                    }
+                });
+    }
+
+    public Mono<ResponseEntity<Specie>> getSpecieById(String authToken, String id) {
+        return catalog(authToken).flatMap(catalog -> {
+            if (catalog.isPresent()) {
+                Specie specie = catalog.get().byId(id);
+                return Mono.just(specie != null ? ResponseEntity.ok(specie) : ResponseEntity.notFound().<Specie>build());
+            }
+            return exchange(SPECIES_ENDPOINT + "?id_specie=eq." + id, HttpMethod.GET, createHeaders(authToken), null,
+                    SPECIE_LIST)
+                    .map(this::firstOrNotFound);
+        });
+    }
+
+    public Mono<ResponseEntity<Specie>> createSpecie(String authToken, Specie specie) {
+        return exchange(SPECIES_ENDPOINT, HttpMethod.POST, createHeaders(authToken), specie, Specie.class)
+                .doFinally(signal -> specieCatalogCache.invalidate());
+    }
+
+    public Mono<ResponseEntity<Specie>> updateSpecie(String authToken, String id, Specie specie) {
+        return exchange(SPECIES_ENDPOINT + "?id_specie=eq." + id, HttpMethod.PATCH, createHeaders(authToken), specie,
+                SPECIE_LIST)
+                .doFinally(signal -> specieCatalogCache.invalidate())
+                .map(this::firstOrNotFound);
+    }
+
+    public Mono<ResponseEntity<Void>> deleteSpecie(String authToken, String id) {
+        return exchange(SPECIES_ENDPOINT + "?id_specie=eq." + id, HttpMethod.DELETE, createHeaders(authToken), null,
+                SPECIE_LIST)
+                .doFinally(signal -> specieCatalogCache.invalidate())
+                .map(response -> response.getStatusCode().is2xxSuccessful()
+                        ? ResponseEntity.ok().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    public Mono<ResponseEntity<List<Specie>>> getSpecieByScientificName(String authToken, String scientificName) {
+        return catalog(authToken).flatMap(catalog -> {
+            if (catalog.isPresent()) {
+                return Mono.just(ResponseEntity.ok(catalog.get().byScientificName(scientificName)));
+            }
+            return exchange(SPECIES_ENDPOINT + "?scientific_name=eq." + scientificName, HttpMethod.GET,
+                    createHeaders(authToken), null, SPECIE_LIST);
+        });
+    }
+
+    public Mono<ResponseEntity<List<Specie>>> searchSpecies(String authToken, String query, int limit) {
+        return catalog(authToken).map(catalog -> catalog
+                .map(snapshot -> ResponseEntity.ok(snapshot.nameIndex().search(query, SpecieService.clampLimit(limit))
+                        .stream()
+                        .map(SpecieNameIndex.Match::getSpecie)
+                        .toList()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    public Mono<Optional<List<String>>> resolveSpecieIds(String authToken, String name) {
+        return catalog(authToken).map(catalog -> catalog
+                .map(snapshot -> snapshot.nameIndex().resolveIds(name, SpecieService.MAX_SEARCH_RESULTS)));
+    }
+
+    private Mono<Optional<SpecieCatalogCache.Snapshot>> catalog(String authToken) {
+        Optional<SpecieCatalogCache.Snapshot> cached = specieCatalogCache.snapshot();
+        if (cached.isPresent() || !specieCatalogCache.shouldLoad()) {
+            return Mono.just(cached);
+        }
+        long generation = specieCatalogCache.generation();
+        return exchange(SPECIES_ENDPOINT, HttpMethod.GET, createHeaders(authToken), null, SPECIE_LIST)
+                .map(response -> response.getStatusCode().is2xxSuccessful()
+                        ? specieCatalogCache.store(generation, response.getBody())
+                        : Optional.<SpecieCatalogCache.Snapshot>empty());
+    }
+
+    private ResponseEntity<Specie> firstOrNotFound(ResponseEntity<List<Specie>> response) {
+        if (response.getBody() != null && !response.getBody().isEmpty()) {
+            return ResponseEntity.ok(response.getBody().get(0));
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
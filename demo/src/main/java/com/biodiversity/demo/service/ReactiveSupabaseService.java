@@ -0,0 +1,32 @@
+package com.biodiversity.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+public class ReactiveSupabaseService extends SupabaseService {
+
+    @Autowired
+    protected WebClient supabaseWebClient;
+
+    protected <T> Mono<ResponseEntity<T>> exchange(String url, HttpMethod method, HttpHeaders headers, Object body,
+            ParameterizedTypeReference<T> responseType) {
+        WebClient.RequestBodySpec request = supabaseWebClient
+                .method(method)
+                .uri(supabaseConfig.getSupabaseUrl() + url)
+                .headers(h -> h.addAll(headers));
+        if (body != null) {
+            return request.bodyValue(body).retrieve().toEntity(responseType);
+        }
+        return request.retrieve().toEntity(responseType);
+    }
+
+    protected <T> Mono<ResponseEntity<T>> exchange(String url, HttpMethod method, HttpHeaders headers, Object body,
+            Class<T> responseType) {
+        return exchange(url, method, headers, body, ParameterizedTypeReference.forType(responseType));
+    }
+}
@@ -0,0 +1,52 @@
+package com.biodiversity.demo.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ReleasingResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ReleasingResponse(ClientHttpResponse delegate, Runnable onClose) {
+        this.delegate = delegate;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return delegate.getBody();
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            if (closed.compareAndSet(false, true)) {
+                onClose.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.InvalidTokenException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+
+    private static final List<String> VARYING_HEADERS = List.of(HttpHeaders.ACCEPT, "Prefer", HttpHeaders.RANGE,
+            "apikey");
+
+    @Value("${supabase.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${supabase.coalescing.paths:/rest/v1/}")
+    private List<String> paths;
+
+    @Value("${supabase.coalescing.shared-paths:/rest/v1/observations,/rest/v1/species,/rest/v1/profiles}")
+    private List<String> sharedPaths;
+
+    @Autowired(required = false)
+    private JwtVerifier jwtVerifier;
+
+    // Marca las llamadas que deben ir a Supabase aunque haya una idéntica en vuelo (p. ej. un hedge)
+    private static final ThreadLocal<Boolean> UNCOALESCED = new ThreadLocal<>();
+
+    private final Map<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder absorbed = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String key = keyOf(request, body);
+        if (key == null) {
+            bypassed.increment();
+            return execution.execute(request, body);
+        }
+
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            absorbed.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            BufferedResponse response;
+            try (ClientHttpResponse upstream = execution.execute(request, body)) {
+                response = BufferedResponse.of(upstream);
+            }
+            call.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("supabase.coalescing.requests", leaders, LongAdder::sum)
+                .tag("result", "leader")
+                .register(registry);
+        FunctionCounter.builder("supabase.coalescing.requests", absorbed, LongAdder::sum)
+                .tag("result", "absorbed")
+                .register(registry);
+        FunctionCounter.builder("supabase.coalescing.requests", bypassed, LongAdder::sum)
+                .tag("result", "bypassed")
+                .register(registry);
+        Gauge.builder("supabase.coalescing.in.flight", inFlight, Map::size)
+                .register(registry);
+    }
+
+    public Map<String, Object> getStats() {
+        long leaderCount = leaders.sum();
+        long absorbedCount = absorbed.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("upstreamCalls", leaderCount);
+        stats.put("absorbed", absorbedCount);
+        stats.put("bypassed", bypassed.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("absorbedRatio", leaderCount + absorbedCount == 0 ? 0.0
+                : (double) absorbedCount / (leaderCount + absorbedCount));
+        return stats;
+    }
+
+    static <T> T uncoalesced(Supplier<T> call) {
+        UNCOALESCED.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            UNCOALESCED.remove();
+        }
+    }
+
+    String keyOf(HttpRequest request, byte[] body) {
+        if (!enabled || UNCOALESCED.get() != null || request.getMethod() != HttpMethod.GET || (body != null && body.length > 0)) {
+            return null;
+        }
+        String path = request.getURI().getPath();
+        if (path == null || paths.stream().noneMatch(path::startsWith)) {
+            return null;
+        }
+
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(request.getURI().toString());
+        for (String header : VARYING_HEADERS) {
+            key.append('\n').append(header).append('=').append(headers.getFirst(header));
+        }
+        // Con RLS el resultado depende del token. En recursos públicos se comparte entre tokens solo si el
+        // token ya se verificó localmente: uno caducado no debe recibir el 200 de otro llamador
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if (sharedPaths.stream().noneMatch(path::startsWith) || !isVerified(authorization)) {
+            key.append('\n').append(HttpHeaders.AUTHORIZATION).append('=')
+                    .append(authorization);
+        }
+        return key.toString();
+    }
+
+    private boolean isVerified(String authorization) {
+        if (jwtVerifier == null || !jwtVerifier.isEnabled()) {
+            return false;
+        }
+        try {
+            jwtVerifier.verify(authorization);
+            return true;
+        } catch (InvalidTokenException e) {
+            return false;
+        }
+    }
+
+    private BufferedResponse await(CompletableFuture<BufferedResponse> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrumpido esperando una petición compartida a Supabase");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    static final class BufferedResponse implements ClientHttpResponse {
+
+        private final HttpStatusCode statusCode;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private BufferedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.statusText = statusText;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        static BufferedResponse of(ClientHttpResponse response) throws IOException {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            try (InputStream in = response.getBody()) {
+                return new BufferedResponse(response.getStatusCode(), response.getStatusText(),
+                        HttpHeaders.readOnlyHttpHeaders(headers), in.readAllBytes());
+            }
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.biodiversity.demo.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cronómetro de una petición para la cabecera {@code Server-Timing}. Vive en un ThreadLocal del hilo
+ * que atiende la petición, así que solo existe cuando el filtro está activo; con la función apagada
+ * {@link #current()} devuelve null y los puntos de medida no hacen nada.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    // Los hilos de hedging y del cliente reactivo también suman: volatile no basta para un +=
+    private final LongAdder upstreamNanos = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+    private final LongAdder serializeNanos = new LongAdder();
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(ServerTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void addUpstream(long nanos) {
+        upstreamNanos.add(nanos);
+    }
+
+    public void addDecode(long nanos) {
+        decodeNanos.add(nanos);
+    }
+
+    public void addSerialize(long nanos) {
+        serializeNanos.add(nanos);
+    }
+
+    /**
+     * upstream: espera a Supabase hasta recibir las cabeceras (incluye bulkhead y coalescing);
+     * decode: lectura del cuerpo y mapeo JSON de las respuestas; serialize: escritura JSON de la
+     * respuesta; app: el resto del tiempo propio.
+     */
+    public String toHeaderValue() {
+        long total = System.nanoTime() - startNanos;
+        long upstream = upstreamNanos.sum();
+        long decode = decodeNanos.sum();
+        long serialize = serializeNanos.sum();
+        long app = Math.max(0, total - upstream - decode - serialize);
+        return metric("upstream", upstream) + ", " + metric("decode", decode) + ", " + metric("app", app)
+                + ", " + metric("serialize", serialize) + ", " + metric("total", total);
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.2f", name, nanos / 1_000_000.0);
+    }
+}
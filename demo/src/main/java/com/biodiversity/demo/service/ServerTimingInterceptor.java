@@ -0,0 +1,52 @@
+package com.biodiversity.demo.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return execution.execute(request, body);
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } finally {
+            timing.addUpstream(System.nanoTime() - start);
+        }
+        // RestTemplate cierra la respuesta después de leer y mapear el cuerpo
+        long received = System.nanoTime();
+        return new ReleasingResponse(response, () -> timing.addDecode(System.nanoTime() - received));
+    }
+
+    // En modo reactivo solo se atribuyen las llamadas suscritas en el hilo de la petición;
+    // la lectura del cuerpo ocurre en los hilos de Netty y queda dentro de app
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            ServerTiming timing = ServerTiming.current();
+            if (timing == null) {
+                return next.exchange(request);
+            }
+            long start = System.nanoTime();
+            return next.exchange(request).doFinally(signal -> timing.addUpstream(System.nanoTime() - start));
+        };
+    }
+}
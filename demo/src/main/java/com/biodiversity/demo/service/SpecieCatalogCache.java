@@ -0,0 +1,192 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Specie;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class SpecieCatalogCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpecieCatalogCache.class);
+    private static final String CACHE_NAME = "species";
+
+    @Value("${species.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${species.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${species.cache.max-entries:5000}")
+    private int maxEntries;
+
+    private volatile Snapshot current;
+    private volatile long oversizedUntilNanos;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public Optional<Snapshot> snapshot() {
+        Snapshot snapshot = current;
+        if (snapshot != null && System.nanoTime() - snapshot.loadedAtNanos < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            hits.increment();
+            return Optional.of(snapshot);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public boolean shouldLoad() {
+        return enabled && System.nanoTime() - oversizedUntilNanos > 0;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<Snapshot> store(long expectedGeneration, List<Specie> species) {
+        if (!enabled || species == null) {
+            return Optional.empty();
+        }
+        if (species.size() > maxEntries) {
+            logger.warn("El catálogo de especies ({}) supera el máximo cacheable ({})", species.size(), maxEntries);
+            oversizedUntilNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+            return Optional.empty();
+        }
+        Snapshot snapshot = new Snapshot(species);
+        synchronized (generation) {
+            if (generation.get() != expectedGeneration) {
+                return Optional.empty();
+            }
+            current = snapshot;
+        }
+        loads.increment();
+        return Optional.of(snapshot);
+    }
+
+    public void invalidate() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            current = null;
+        }
+        invalidations.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Mismos nombres que los binders de Micrometer para caches, así los paneles sirven para todas
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.puts", loads, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", invalidations, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.size", this, cache -> {
+                    Snapshot snapshot = cache.current;
+                    return snapshot != null ? snapshot.all.size() : 0;
+                })
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, cache -> {
+                    long hitCount = cache.hits.sum();
+                    long total = hitCount + cache.misses.sum();
+                    return total == 0 ? 0.0 : (double) hitCount / total;
+                })
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot snapshot = current;
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("loads", loads.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("size", snapshot != null ? snapshot.all.size() : 0);
+        stats.put("ageMs", snapshot != null
+                ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - snapshot.loadedAtNanos)
+                : null);
+        return stats;
+    }
+
+    public static final class Snapshot {
+
+        private final List<Specie> all;
+        private final Map<String, Specie> byId;
+        private final Map<String, List<Specie>> byScientificName;
+        private final long loadedAtNanos = System.nanoTime();
+        private volatile SpecieNameIndex nameIndex;
+
+        private Snapshot(List<Specie> species) {
+            this.all = Collections.unmodifiableList(new ArrayList<>(species));
+            Map<String, Specie> ids = new HashMap<>(species.size() * 2);
+            Map<String, List<Specie>> names = new HashMap<>(species.size() * 2);
+            for (Specie specie : species) {
+                if (specie.getId() != null) {
+                    ids.put(specie.getId(), specie);
+                }
+                if (specie.getScientificName() != null) {
+                    names.computeIfAbsent(specie.getScientificName(), k -> new ArrayList<>(1)).add(specie);
+                }
+            }
+            this.byId = ids;
+            this.byScientificName = names;
+        }
+
+        public List<Specie> getAll() {
+            return all;
+        }
+
+        public Specie byId(String id) {
+            return byId.get(id);
+        }
+
+        public List<Specie> byScientificName(String scientificName) {
+            return byScientificName.getOrDefault(scientificName, Collections.emptyList());
+        }
+
+        public SpecieNameIndex nameIndex() {
+            SpecieNameIndex index = nameIndex;
+            if (index == null) {
+                // Se construye una vez por snapshot; al invalidar el catálogo el índice se descarta con él
+                synchronized (this) {
+                    index = nameIndex;
+                    if (index == null) {
+                        index = new SpecieNameIndex(all);
+                        nameIndex = index;
+                    }
+                }
+            }
+            return index;
+        }
+    }
+}
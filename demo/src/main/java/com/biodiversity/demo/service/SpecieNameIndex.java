@@ -0,0 +1,248 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Specie;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class SpecieNameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double MIN_SIMILARITY = 0.35;
+    private static final double STRONG_SIMILARITY = 0.5;
+    private static final int[] NONE = new int[0];
+
+    private final List<Specie> species;
+    private final String[] names;
+    private final int[] owners;
+    private final int[] entryGramCounts;
+    private final int[][] entryTerms;
+    private final Map<String, int[]> entryPostings;
+
+    // Cada palabra distinta es un término; la similitud por palabra tolera typos en nombres largos
+    private final String[] termTexts;
+    private final int[] termGramCounts;
+    private final int[][] termEntries;
+    private final Map<String, int[]> termPostings;
+    private final String[] sortedTerms;
+    private final int[] sortedTermIds;
+
+    public SpecieNameIndex(List<Specie> catalog) {
+        this.species = catalog;
+        List<String> entryNames = new ArrayList<>();
+        List<Integer> entryOwners = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            Specie specie = catalog.get(i);
+            for (String name : new String[] { specie.getCommonName(), specie.getScientificName() }) {
+                String normalized = normalize(name);
+                if (!normalized.isEmpty()) {
+                    entryNames.add(normalized);
+                    entryOwners.add(i);
+                }
+            }
+        }
+
+        names = entryNames.toArray(new String[0]);
+        owners = entryOwners.stream().mapToInt(Integer::intValue).toArray();
+        entryGramCounts = new int[names.length];
+        entryTerms = new int[names.length][];
+
+        Map<String, List<Integer>> entryGrams = new HashMap<>();
+        Map<String, Integer> termIds = new HashMap<>();
+        List<List<Integer>> termEntryLists = new ArrayList<>();
+        for (int entry = 0; entry < names.length; entry++) {
+            Set<String> grams = trigrams(names[entry]);
+            entryGramCounts[entry] = grams.size();
+            for (String gram : grams) {
+                entryGrams.computeIfAbsent(gram, k -> new ArrayList<>()).add(entry);
+            }
+            Set<Integer> terms = new LinkedHashSet<>();
+            for (String word : names[entry].split(" ")) {
+                int term = termIds.computeIfAbsent(word, k -> {
+                    termEntryLists.add(new ArrayList<>());
+                    return termEntryLists.size() - 1;
+                });
+                if (terms.add(term)) {
+                    termEntryLists.get(term).add(entry);
+                }
+            }
+            entryTerms[entry] = terms.stream().mapToInt(Integer::intValue).toArray();
+        }
+        entryPostings = toPostings(entryGrams);
+
+        String[] terms = new String[termIds.size()];
+        termIds.forEach((term, id) -> terms[id] = term);
+        termTexts = terms;
+        termGramCounts = new int[terms.length];
+        termEntries = new int[terms.length][];
+        Map<String, List<Integer>> termGrams = new HashMap<>();
+        for (int term = 0; term < terms.length; term++) {
+            Set<String> grams = trigrams(terms[term]);
+            termGramCounts[term] = grams.size();
+            termEntries[term] = termEntryLists.get(term).stream().mapToInt(Integer::intValue).toArray();
+            for (String gram : grams) {
+                termGrams.computeIfAbsent(gram, k -> new ArrayList<>()).add(term);
+            }
+        }
+        termPostings = toPostings(termGrams);
+
+        Integer[] order = new Integer[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(id -> terms[id]));
+        sortedTerms = Arrays.stream(order).map(id -> terms[id]).toArray(String[]::new);
+        sortedTermIds = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    public List<Match> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        boolean[] prefixHits = new boolean[names.length];
+        for (String word : q.split(" ")) {
+            for (int i = lowerBound(word); i < sortedTerms.length && sortedTerms[i].startsWith(word); i++) {
+                for (int entry : termEntries[sortedTermIds[i]]) {
+                    prefixHits[entry] = true;
+                }
+            }
+        }
+
+        // Consultas cortas solo por prefijo; con 3+ caracteres se cuentan trigramas compartidos vía postings
+        int[] entryShared = new int[names.length];
+        int[] termShared = new int[termGramCounts.length];
+        int queryGrams = 0;
+        if (q.length() >= 3) {
+            Set<String> grams = trigrams(q);
+            queryGrams = grams.size();
+            for (String gram : grams) {
+                for (int entry : entryPostings.getOrDefault(gram, NONE)) {
+                    entryShared[entry]++;
+                }
+                for (int term : termPostings.getOrDefault(gram, NONE)) {
+                    termShared[term]++;
+                }
+            }
+        }
+
+        int needed = Math.max(1, queryGrams / 3);
+        double[] best = new double[species.size()];
+        for (int entry = 0; entry < names.length; entry++) {
+            if (!prefixHits[entry] && (queryGrams == 0 || entryShared[entry] < needed)) {
+                continue;
+            }
+            double score = score(q, entry, queryGrams, entryShared, termShared);
+            if (score > best[owners[entry]]) {
+                best[owners[entry]] = score;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < best.length; i++) {
+            if (best[i] >= MIN_SIMILARITY) {
+                matches.add(new Match(species.get(i), best[i]));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::getScore).reversed()
+                .thenComparing(match -> String.valueOf(match.getSpecie().getCommonName())));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    public List<String> resolveIds(String query, int max) {
+        List<String> ids = new ArrayList<>();
+        for (Match match : search(query, max)) {
+            // Solo coincidencias claras se convierten en filtro; un typo leve sigue resolviendo a su especie
+            if (match.getScore() >= STRONG_SIMILARITY && match.getSpecie().getId() != null) {
+                ids.add(match.getSpecie().getId());
+            }
+        }
+        return ids;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private double score(String q, int entry, int queryGrams, int[] entryShared, int[] termShared) {
+        String name = names[entry];
+        if (name.equals(q)) {
+            return 4;
+        }
+        if (name.startsWith(q)) {
+            return 3 + (double) q.length() / name.length();
+        }
+        for (int term : entryTerms[entry]) {
+            if (termTexts[term].startsWith(q)) {
+                return 2.5 + (double) q.length() / name.length();
+            }
+        }
+        if (name.contains(q)) {
+            return 2;
+        }
+        double similarity = dice(entryShared[entry], queryGrams, entryGramCounts[entry]);
+        for (int term : entryTerms[entry]) {
+            similarity = Math.max(similarity, dice(termShared[term], queryGrams, termGramCounts[term]));
+        }
+        return similarity;
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(sortedTerms, prefix);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static Map<String, int[]> toPostings(Map<String, List<Integer>> lists) {
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return postings;
+    }
+
+    private static Set<String> trigrams(String value) {
+        String padded = " " + value + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static double dice(int shared, int a, int b) {
+        return a == 0 || b == 0 ? 0 : 2.0 * shared / (a + b);
+    }
+
+    public static final class Match {
+
+        private final Specie specie;
+        private final double score;
+
+        Match(Specie specie, double score) {
+            this.specie = specie;
+            this.score = score;
+        }
+
+        public Specie getSpecie() {
+            return specie;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -1,33 +1,60 @@
 package com.biodiversity.demo.service;
 
 import com.biodiversity.demo.model.Specie;
+import com.biodiversity.demo.repository.SpecieJdbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class SpecieService extends SupabaseService {
 
-    private static final String SPECIES_ENDPOINT = "/rest/v1/species";
+    static final String SPECIES_ENDPOINT = "/rest/v1/species";
+    static final int MAX_SEARCH_RESULTS = 50;
+
+    @Autowired
+    private SpecieCatalogCache specieCatalogCache;
+
+    // Presente solo con supabase.data-path.species=jdbc
+    @Autowired(required = false)
+    private SpecieJdbcRepository specieJdbc;
 
     public ResponseEntity<List<Specie>> getAllSpecies(String authToken) {
-        HttpHeaders headers = createHeaders(authToken);
-        return restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT,
-                HttpMethod.GET,
-                new HttpEntity<>(headers),
-                new ParameterizedTypeReference<List<Specie>>() {
-                });
+        Optional<SpecieCatalogCache.Snapshot> cached = specieCatalogCache.snapshot();
+        if (cached.isPresent()) {
+            return ResponseEntity.ok(cached.get().getAll());
+        }
+
+        long generation = specieCatalogCache.generation();
+        ResponseEntity<List<Specie>> response = fetchAllSpecies(authToken);
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            specieCatalogCache.store(generation, response.getBody());
+        }
+        return response;
     }
 
     public ResponseEntity<Specie> getSpecieById(String authToken, String id) {
+        Optional<SpecieCatalogCache.Snapshot> catalog = catalog(authToken);
+        if (catalog.isPresent()) {
+            Specie specie = catalog.get().byId(id);
+            return specie != null ? ResponseEntity.ok(specie) : ResponseEntity.notFound().build();
+        }
+
+        if (specieJdbc != null) {
+            // Postgres no ve el token: se verifica aquí
+            claimsOf(authToken);
+            List<Specie> found = specieJdbc.findById(id);
+            return found.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(found.get(0));
+        }
+
         HttpHeaders headers = createHeaders(authToken);
-        ResponseEntity<List<Specie>> response = restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT + "?id_specie=eq." + id,
-                HttpMethod.GET,
-                new HttpEntity<>(headers),
+        ResponseEntity<List<Specie>> response = executeIdempotentGet("species",
+                SPECIES_ENDPOINT + "?id_specie=eq." + id, headers,
                 new ParameterizedTypeReference<List<Specie>>() {
                 });
 
@@ -39,17 +66,26 @@ public class SpecieService extends SupabaseService {
 
     public ResponseEntity<Specie> createSpecie(String authToken, Specie specie) {
         HttpHeaders headers = createHeaders(authToken);
-        return executeRequest(SPECIES_ENDPOINT, HttpMethod.POST, headers, specie, Specie.class);
+        try {
+            return executeRequest(SPECIES_ENDPOINT, HttpMethod.POST, headers, specie, Specie.class);
+        } finally {
+            specieCatalogCache.invalidate();
+        }
     }
 
     public ResponseEntity<Specie> updateSpecie(String authToken, String id, Specie specie) {
         HttpHeaders headers = createHeaders(authToken);
-        ResponseEntity<List<Specie>> response = restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT + "?id_specie=eq." + id,
-                HttpMethod.PATCH,
-                new HttpEntity<>(specie, headers),
-                new ParameterizedTypeReference<List<Specie>>() {
-                });
+        ResponseEntity<List<Specie>> response;
+        try {
+            response = restTemplate.exchange(
+                    supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT + "?id_specie=eq." + id,
+                    HttpMethod.PATCH,
+                    new HttpEntity<>(specie, headers),
+                    new ParameterizedTypeReference<List<Specie>>() {
+                    });
+        } finally {
+            specieCatalogCache.invalidate();
+        }
 
         if (response.getBody() != null && !response.getBody().isEmpty()) {
             return ResponseEntity.ok(response.getBody().get(0));
@@ -59,12 +95,17 @@ public class SpecieService extends SupabaseService {
 
     public ResponseEntity<Void> deleteSpecie(String authToken, String id) {
         HttpHeaders headers = createHeaders(authToken);
-        ResponseEntity<List<Specie>> response = restTemplate.exchange(
-                supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT + "?id_specie=eq." + id,
-                HttpMethod.DELETE,
-                new HttpEntity<>(headers),
-                new ParameterizedTypeReference<List<Specie>>() {
-                });
+        ResponseEntity<List<Specie>> response;
+        try {
+            response = restTemplate.exchange(
+                    supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT + "?id_specie=eq." + id,
+                    HttpMethod.DELETE,
+                    new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<List<Specie>>() {
+                    });
+        } finally {
+            specieCatalogCache.invalidate();
+        }
 
         if (response.getStatusCode().is2xxSuccessful()) {
             return ResponseEntity.ok().build();
@@ -73,6 +114,11 @@ public class SpecieService extends SupabaseService {
     }
 
     public ResponseEntity<List<Specie>> getSpecieByScientificName(String authToken, String scientificName) {
+        Optional<SpecieCatalogCache.Snapshot> catalog = catalog(authToken);
+        if (catalog.isPresent()) {
+            return ResponseEntity.ok(catalog.get().byScientificName(scientificName));
+        }
+
         HttpHeaders headers = createHeaders(authToken);
         return restTemplate.exchange(
                 supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT + "?scientific_name=eq." + scientificName,
@@ -81,4 +127,62 @@ public class SpecieService extends SupabaseService {
                 new ParameterizedTypeReference<List<Specie>>() {
                 });
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<List<Specie>> searchSpecies(String authToken, String query, int limit) {
+        Optional<SpecieCatalogCache.Snapshot> catalog = catalog(authToken);
+        if (catalog.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        List<Specie> species = catalog.get().nameIndex().search(query, clampLimit(limit)).stream()
+                .map(SpecieNameIndex.Match::getSpecie)
+                .toList();
+        return ResponseEntity.ok(species);
+    }
+
+    public List<String> specieIdsOfType(String authToken, String type) {
+        List<Specie> species = getAllSpecies(authToken).getBody();
+        if (species == null) {
+            return List.of();
+        }
+        return species.stream()
+                .filter(specie -> specie.getType() != null && specie.getType().trim().equalsIgnoreCase(type.trim()))
+                .map(Specie::getId)
+                .toList();
+    }
+
+    public Optional<List<String>> resolveSpecieIds(String authToken, String name) {
+        return catalog(authToken).map(catalog -> catalog.nameIndex().resolveIds(name, MAX_SEARCH_RESULTS));
+    }
+
+    private ResponseEntity<List<Specie>> fetchAllSpecies(String authToken) {
+        if (specieJdbc != null) {
+            claimsOf(authToken);
+            return ResponseEntity.ok(specieJdbc.findAll());
+        }
+        HttpHeaders headers = createHeaders(authToken);
+        return restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + SPECIES_ENDPOINT,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<List<Specie>>() {
+                });
+    }
+
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    private Optional<SpecieCatalogCache.Snapshot> catalog(String authToken) {
+        Optional<SpecieCatalogCache.Snapshot> cached = specieCatalogCache.snapshot();
+        if (cached.isPresent() || !specieCatalogCache.shouldLoad()) {
+            return cached;
+        }
+
+        long generation = specieCatalogCache.generation();
+        ResponseEntity<List<Specie>> response = fetchAllSpecies(authToken);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return Optional.empty();
+        }
+        return specieCatalogCache.store(generation, response.getBody());
+    }
+}
@@ -2,10 +2,14 @@ package com.biodiversity.demo.service;
 
 import com.biodiversity.demo.config.SupabaseConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
 @Service
 public class SupabaseService {
 
@@ -15,6 +19,12 @@ public class SupabaseService {
     @Autowired
     protected RestTemplate restTemplate;
 
+    @Autowired(required = false)
+    protected HedgedReads hedgedReads;
+
+    @Autowired(required = false)
+    protected JwtVerifier jwtVerifier;
+
     protected HttpHeaders createHeaders(String authToken) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", authToken);
@@ -33,4 +43,20 @@ public class SupabaseService {
                 entity,
                 responseType);
     }
-}
\ No newline at end of file
+
+    // Claims verificados localmente (caché por token); vacío si la verificación JWT está apagada
+    protected Optional<AuthClaims> claimsOf(String authToken) {
+        return jwtVerifier != null ? jwtVerifier.claimsOf(authToken) : Optional.empty();
+    }
+
+    // Solo para GET idempotentes: pueden salir en paralelo (hedge) o repetirse ante 5xx
+    protected <T> ResponseEntity<T> executeIdempotentGet(String resource, String url, HttpHeaders headers,
+            ParameterizedTypeReference<T> responseType) {
+        Supplier<ResponseEntity<T>> call = () -> restTemplate.exchange(
+                supabaseConfig.getSupabaseUrl() + url,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                responseType);
+        return hedgedReads != null ? hedgedReads.execute(resource, call) : call.get();
+    }
+}
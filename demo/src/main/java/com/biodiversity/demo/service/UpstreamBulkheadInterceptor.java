@@ -0,0 +1,120 @@
+package com.biodiversity.demo.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+@ConditionalOnProperty(name = "supabase.bulkhead.enabled", havingValue = "true")
+public class UpstreamBulkheadInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+
+    public static final String REST = "rest";
+    public static final String STORAGE = "storage";
+    public static final String ML = "ml";
+
+    @Value("${supabase.bulkhead.rest.max-concurrent:64}")
+    private int restMaxConcurrent;
+
+    @Value("${supabase.bulkhead.rest.queue-timeout-ms:500}")
+    private long restQueueTimeoutMs;
+
+    @Value("${supabase.bulkhead.storage.max-concurrent:16}")
+    private int storageMaxConcurrent;
+
+    @Value("${supabase.bulkhead.storage.queue-timeout-ms:1000}")
+    private long storageQueueTimeoutMs;
+
+    @Value("${supabase.bulkhead.ml.max-concurrent:8}")
+    private int mlMaxConcurrent;
+
+    @Value("${supabase.bulkhead.ml.queue-timeout-ms:2000}")
+    private long mlQueueTimeoutMs;
+
+    @Value("${ml.api-url:}")
+    private String mlApiUrl;
+
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    private String mlHost;
+
+    @PostConstruct
+    void init() {
+        bulkheads.put(REST, new Bulkhead(REST, restMaxConcurrent, restQueueTimeoutMs));
+        bulkheads.put(STORAGE, new Bulkhead(STORAGE, storageMaxConcurrent, storageQueueTimeoutMs));
+        bulkheads.put(ML, new Bulkhead(ML, mlMaxConcurrent, mlQueueTimeoutMs));
+        mlHost = mlApiUrl.isBlank() ? null : URI.create(mlApiUrl).getHost();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Bulkhead bulkhead = bulkheads.get(upstreamOf(request.getURI()));
+        if (bulkhead == null) {
+            return execution.execute(request, body);
+        }
+        bulkhead.acquire();
+        try {
+            return new ReleasingResponse(execution.execute(request, body), bulkhead::release);
+        } catch (IOException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            Gauge.builder("supabase.bulkhead.in.flight", bulkhead, Bulkhead::getInFlight)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("supabase.bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("supabase.bulkhead.max.concurrent", bulkhead, Bulkhead::getMaxConcurrent)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+            FunctionCounter.builder("supabase.bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+        }
+    }
+
+    public Map<String, Bulkhead> getBulkheads() {
+        return bulkheads;
+    }
+
+    String upstreamOf(URI uri) {
+        return upstreamOf(uri, mlHost);
+    }
+
+    static String upstreamOf(URI uri, String mlHost) {
+        String path = uri.getPath();
+        if (mlHost != null && mlHost.equalsIgnoreCase(uri.getHost())) {
+            return ML;
+        }
+        if (path != null && path.startsWith("/storage/v1")) {
+            return STORAGE;
+        }
+        if (path != null && path.startsWith("/rest/v1")) {
+            return REST;
+        }
+        return null;
+    }
+}
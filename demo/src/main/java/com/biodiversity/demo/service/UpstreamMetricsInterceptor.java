@@ -0,0 +1,104 @@
+package com.biodiversity.demo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cada llamada a Supabase en el timer {@code supabase.upstream.requests} con las etiquetas
+ * resource (tabla de PostgREST, storage, ml u other), method y status. Es el interceptor más
+ * interno: el tiempo excluye la espera en el bulkhead y las llamadas absorbidas por el coalescing,
+ * y termina al recibir las cabeceras de la respuesta.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String TIMER_NAME = "supabase.upstream.requests";
+    static final String IO_ERROR = "IO_ERROR";
+
+    private static final String REST_PREFIX = "/rest/v1/";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ml.api-url:}")
+    private String mlApiUrl;
+
+    private String mlHost;
+
+    @PostConstruct
+    void init() {
+        mlHost = mlApiUrl == null || mlApiUrl.isBlank() ? null : URI.create(mlApiUrl).getHost();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            record(request.getMethod().name(), request.getURI(),
+                    String.valueOf(response.getStatusCode().value()), System.nanoTime() - start);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            record(request.getMethod().name(), request.getURI(), IO_ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> record(request.method().name(), request.url(),
+                            String.valueOf(response.statusCode().value()), System.nanoTime() - start))
+                    .doOnError(e -> record(request.method().name(), request.url(), IO_ERROR,
+                            System.nanoTime() - start));
+        };
+    }
+
+    void record(String method, URI uri, String status, long nanos) {
+        Timer.builder(TIMER_NAME)
+                .description("Latencia de las llamadas a Supabase hasta recibir la respuesta")
+                .tag("resource", resourceOf(uri))
+                .tag("method", method)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    String resourceOf(URI uri) {
+        if (mlHost != null && mlHost.equalsIgnoreCase(uri.getHost())) {
+            return UpstreamBulkheadInterceptor.ML;
+        }
+        String path = uri.getPath();
+        if (path == null) {
+            return "other";
+        }
+        if (path.startsWith("/storage/v1")) {
+            return UpstreamBulkheadInterceptor.STORAGE;
+        }
+        if (path.startsWith(REST_PREFIX)) {
+            // La tabla sale del esquema, así que la cardinalidad de la etiqueta está acotada
+            int end = path.indexOf('/', REST_PREFIX.length());
+            String table = end < 0 ? path.substring(REST_PREFIX.length()) : path.substring(REST_PREFIX.length(), end);
+            return table.isEmpty() ? UpstreamBulkheadInterceptor.REST : table;
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,244 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuito y límite adaptativo por upstream (rest, storage, ml). Va después del coalescing, así
+ * las peticiones absorbidas no ocupan cupo, y antes del bulkhead: cuando Supabase se degrada las
+ * peticiones sobrantes fallan al instante con 503 y Retry-After en lugar de encolarse.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+@ConditionalOnProperty(name = "supabase.protection.enabled", havingValue = "true")
+public class UpstreamProtectionInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+
+    @Value("${supabase.protection.limiter.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${supabase.protection.limiter.min-limit:8}")
+    private int minLimit;
+
+    @Value("${supabase.protection.limiter.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${supabase.protection.breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${supabase.protection.breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${supabase.protection.breaker.failure-rate:0.5}")
+    private double failureRate;
+
+    @Value("${supabase.protection.breaker.open-seconds:10}")
+    private long openSeconds;
+
+    @Value("${supabase.protection.breaker.trial-calls:3}")
+    private int trialCalls;
+
+    @Value("${ml.api-url:}")
+    private String mlApiUrl;
+
+    private final Map<String, Guard> guards = new LinkedHashMap<>();
+
+    private String mlHost;
+
+    @PostConstruct
+    void init() {
+        for (String upstream : new String[] { UpstreamBulkheadInterceptor.REST, UpstreamBulkheadInterceptor.STORAGE,
+                UpstreamBulkheadInterceptor.ML }) {
+            guards.put(upstream, new Guard(
+                    new CircuitBreaker(upstream, windowSize, minimumCalls, failureRate, openSeconds, trialCalls),
+                    new AdaptiveLimiter(upstream, initialLimit, minLimit, maxLimit)));
+        }
+        mlHost = mlApiUrl == null || mlApiUrl.isBlank() ? null : URI.create(mlApiUrl).getHost();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Guard guard = guards.get(UpstreamBulkheadInterceptor.upstreamOf(request.getURI(), mlHost));
+        if (guard == null) {
+            return execution.execute(request, body);
+        }
+
+        CircuitBreaker.Permit permit = guard.acquire();
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            guard.onFailure(permit);
+            throw e;
+        }
+        if (guard.onResponse(permit, response.getStatusCode(), System.nanoTime() - start)) {
+            // El cupo se mantiene mientras se lee el cuerpo, igual que en el bulkhead
+            return new ReleasingResponse(response, guard.limiter::release);
+        }
+        return response;
+    }
+
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            Guard guard = guards.get(UpstreamBulkheadInterceptor.upstreamOf(request.url(), mlHost));
+            if (guard == null) {
+                return next.exchange(request);
+            }
+            CircuitBreaker.Permit permit;
+            try {
+                permit = guard.acquire();
+            } catch (UpstreamUnavailableException e) {
+                return Mono.error(e);
+            }
+            long start = System.nanoTime();
+            AtomicBoolean done = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (done.compareAndSet(false, true)
+                                && guard.onResponse(permit, response.statusCode(), System.nanoTime() - start)) {
+                            guard.limiter.release();
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (done.compareAndSet(false, true)) {
+                            guard.onFailure(permit);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            guard.breaker.release(permit);
+                            guard.limiter.release();
+                        }
+                    });
+        };
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, Guard> entry : guards.entrySet()) {
+            CircuitBreaker breaker = entry.getValue().breaker;
+            AdaptiveLimiter limiter = entry.getValue().limiter;
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("state", breaker.getState());
+            values.put("failureRate", breaker.getFailureRate());
+            values.put("shortCircuited", breaker.getShortCircuited());
+            values.put("openings", breaker.getOpenings());
+            values.put("limit", limiter.getLimit());
+            values.put("inFlight", limiter.getInFlight());
+            values.put("rejected", limiter.getRejected());
+            values.put("baselineRttMs", limiter.getBaselineRttMillis());
+            values.put("recentRttMs", limiter.getRecentRttMillis());
+            stats.put(entry.getKey(), values);
+        }
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<String, Guard> entry : guards.entrySet()) {
+            String upstream = entry.getKey();
+            CircuitBreaker breaker = entry.getValue().breaker;
+            AdaptiveLimiter limiter = entry.getValue().limiter;
+            Gauge.builder("supabase.limiter.limit", limiter, AdaptiveLimiter::getLimit)
+                    .tag("upstream", upstream)
+                    .register(registry);
+            Gauge.builder("supabase.limiter.in.flight", limiter, AdaptiveLimiter::getInFlight)
+                    .tag("upstream", upstream)
+                    .register(registry);
+            Gauge.builder("supabase.limiter.rtt.baseline", limiter, l -> l.getBaselineRttMillis() / 1000.0)
+                    .tag("upstream", upstream)
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("supabase.limiter.rejected", limiter, AdaptiveLimiter::getRejected)
+                    .tag("upstream", upstream)
+                    .register(registry);
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("supabase.circuit.state", breaker, b -> b.getState() == state ? 1 : 0)
+                        .tag("upstream", upstream)
+                        .tag("state", state.name().toLowerCase())
+                        .register(registry);
+            }
+            Gauge.builder("supabase.circuit.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                    .tag("upstream", upstream)
+                    .register(registry);
+            FunctionCounter.builder("supabase.circuit.short.circuited", breaker, CircuitBreaker::getShortCircuited)
+                    .tag("upstream", upstream)
+                    .register(registry);
+            FunctionCounter.builder("supabase.circuit.openings", breaker, CircuitBreaker::getOpenings)
+                    .tag("upstream", upstream)
+                    .register(registry);
+        }
+    }
+
+    private static final class Guard {
+
+        private final CircuitBreaker breaker;
+        private final AdaptiveLimiter limiter;
+
+        private Guard(CircuitBreaker breaker, AdaptiveLimiter limiter) {
+            this.breaker = breaker;
+            this.limiter = limiter;
+        }
+
+        CircuitBreaker.Permit acquire() {
+            CircuitBreaker.Permit permit = breaker.tryAcquire();
+            if (permit == null) {
+                throw new UpstreamUnavailableException(breaker.getName(), "circuito abierto",
+                        breaker.retryAfterSeconds());
+            }
+            if (!limiter.tryAcquire()) {
+                breaker.release(permit);
+                throw new UpstreamUnavailableException(limiter.getName(),
+                        "límite de concurrencia (" + limiter.getLimit() + ") alcanzado", 1);
+            }
+            return permit;
+        }
+
+        /**
+         * Registra la respuesta; devuelve true si el cupo del limitador sigue tomado.
+         */
+        boolean onResponse(CircuitBreaker.Permit permit, HttpStatusCode status, long rttNanos) {
+            if (status.is5xxServerError()) {
+                onFailure(permit);
+                return false;
+            }
+            breaker.onSuccess(permit);
+            if (status.value() == 429) {
+                // Supabase pide bajar el ritmo: señal de sobrecarga, no de caída
+                limiter.onDrop();
+            } else {
+                limiter.onSample(rttNanos);
+            }
+            return true;
+        }
+
+        void onFailure(CircuitBreaker.Permit permit) {
+            breaker.onFailure(permit);
+            limiter.onDrop();
+            limiter.release();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.biodiversity.demo.benchmark;
+
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.Profile;
+import com.biodiversity.demo.model.Specie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Datos deterministas para los benchmarks: misma semilla, mismos tamaños y mismos textos
+ * en cada ejecución para que los resultados sean comparables con la línea base.
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[][] SPECIES = {
+            { "Vultur gryphus", "Cóndor andino", "Ave" },
+            { "Anas platyrhynchos", "Pato real", "Ave" },
+            { "Puma concolor", "Puma", "Mamífero" },
+            { "Tremarctos ornatus", "Oso de anteojos", "Mamífero" },
+            { "Atelopus ignescens", "Jambato negro", "Anfibio" },
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    // Mismo ObjectMapper que arma Spring Boot para MVC y WebFlux
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    public static List<Observation> observations(int count) {
+        Random random = new Random(42);
+        List<Observation> observations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] specie = SPECIES[i % SPECIES.length];
+            Observation observation = new Observation();
+            observation.setId(uuid(random));
+            observation.setDate(LocalDate.of(2025, 1 + i % 12, 1 + i % 28));
+            observation.setLatitude((float) (-4 + random.nextDouble() * 5));
+            observation.setLongitude((float) (-80 + random.nextDouble() * 5));
+            observation.setNote("Observación de campo número " + i + " cerca del sendero principal");
+            observation.setState("active");
+            observation.setImages(List.of("https://storage.example/obs/" + i + "/1.jpg"));
+            observation.setTypeObservation(specie[2]);
+            observation.setVerificationStatus(i % 3 == 0);
+            observation.setSimilarityPercentage(70 + random.nextDouble() * 30);
+            observation.setSpecieScientificName(specie[0]);
+            observation.setSpecieCommonName(specie[1]);
+            observation.setIdSpecies(uuid(random));
+            observation.setIdObserverUser(uuid(random));
+            observation.setCreatedAt("2025-05-06T10:15:" + String.format("%02d", i % 60) + ".123456+00:00");
+            observation.setUpdatedAt("2025-05-06T10:15:" + String.format("%02d", i % 60) + ".123456+00:00");
+            observations.add(observation);
+        }
+        return observations;
+    }
+
+    public static List<Specie> species(int count) {
+        Random random = new Random(7);
+        List<Specie> species = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] base = SPECIES[i % SPECIES.length];
+            Specie specie = new Specie();
+            specie.setId(uuid(random));
+            specie.setScientificName(base[0] + (i < SPECIES.length ? "" : " " + i));
+            specie.setCommonName(base[1] + (i < SPECIES.length ? "" : " " + i));
+            specie.setType(base[2]);
+            specie.setHabitat("Bosque montano");
+            specie.setConservationStatus("VU");
+            specie.setDescription("Especie de referencia para pruebas de rendimiento");
+            species.add(specie);
+        }
+        return species;
+    }
+
+    public static List<Profile> profiles(int count) {
+        Random random = new Random(11);
+        List<Profile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            profiles.add(new Profile(uuid(random), "Observador " + i, "observador" + i + "@example.com",
+                    "Aficionado a la ornitología", "Biólogo", "https://storage.example/avatars/" + i + ".png",
+                    "2025-05-06T10:15:30+00:00", "2025-05-06T10:15:30+00:00"));
+        }
+        return profiles;
+    }
+
+    private static String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
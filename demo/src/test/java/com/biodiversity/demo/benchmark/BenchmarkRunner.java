@@ -0,0 +1,137 @@
+package com.biodiversity.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ejecuta los benchmarks JMH con el profiler de GC y compara tiempo y bytes asignados por
+ * operación contra la línea base versionada. Termina con código 1 si algo empeora más que
+ * la tolerancia.
+ *
+ * mvn -Pjmh clean test-compile exec:exec [-Djmh.include=JsonBenchmark] [-Djmh.update-baseline=true]
+ */
+public class BenchmarkRunner {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    // Ruido típico del profiler de GC en benchmarks que casi no asignan
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : ".*";
+        Path baseline = Path.of(args.length > 1 ? args[1] : "src/test/resources/benchmark/jmh-baseline.json");
+        Path result = Path.of(args.length > 2 ? args[2] : "target/jmh-result.json");
+        double tolerance = args.length > 3 ? Double.parseDouble(args[3]) : 0.15;
+        boolean updateBaseline = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        if (updateBaseline) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Línea base actualizada: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No existe línea base en " + baseline + "; ejecutar con -Djmh.update-baseline=true");
+            return;
+        }
+        if (compare(baseline, result, tolerance) > 0) {
+            System.exit(1);
+        }
+    }
+
+    static int compare(Path baselinePath, Path resultPath, double tolerance) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baselineRuns = mapper.readTree(baselinePath.toFile());
+        JsonNode currentRuns = mapper.readTree(resultPath.toFile());
+        Map<String, JsonNode> baseline = index(baselineRuns);
+
+        if (baselineRuns.size() > 0 && currentRuns.size() > 0
+                && !baselineRuns.get(0).path("jdkVersion").equals(currentRuns.get(0).path("jdkVersion"))) {
+            System.out.printf("AVISO: línea base con JDK %s, ejecución actual con JDK %s%n",
+                    baselineRuns.get(0).path("jdkVersion").asText(), currentRuns.get(0).path("jdkVersion").asText());
+        }
+
+        int regressions = 0;
+        System.out.printf("%n%-70s %14s %14s %8s %14s %14s %8s%n", "benchmark", "base", "actual", "Δ%",
+                "base B/op", "actual B/op", "Δ%");
+        for (Map.Entry<String, JsonNode> entry : index(currentRuns).entrySet()) {
+            JsonNode previous = baseline.get(entry.getKey());
+            JsonNode current = entry.getValue();
+            if (previous == null) {
+                System.out.printf("%-70s %14s%n", entry.getKey(), "(nuevo)");
+                continue;
+            }
+
+            double baseScore = previous.path("primaryMetric").path("score").asDouble();
+            double score = current.path("primaryMetric").path("score").asDouble();
+            double error = current.path("primaryMetric").path("scoreError").asDouble(0);
+            boolean slower = Double.isFinite(error) ? score - error > baseScore * (1 + tolerance)
+                    : score > baseScore * (1 + tolerance);
+
+            double baseAlloc = allocation(previous);
+            double alloc = allocation(current);
+            boolean heavier = baseAlloc >= 0 && alloc > baseAlloc * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+
+            if (slower || heavier) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %7.1f%% %14.1f %14.1f %7.1f%% %s%n", entry.getKey(), baseScore,
+                    score, delta(baseScore, score), baseAlloc, alloc, delta(baseAlloc, alloc),
+                    slower || heavier ? "REGRESIÓN" : "");
+        }
+        System.out.printf("%n%d regresiones (tolerancia %.0f%%)%n", regressions, tolerance * 100);
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            byKey.put(key(run), run);
+        }
+        return byKey;
+    }
+
+    private static String key(JsonNode run) {
+        Map<String, String> params = new TreeMap<>();
+        for (Map.Entry<String, JsonNode> field : run.path("params").properties()) {
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        String benchmark = run.path("benchmark").asText().replace("com.biodiversity.demo.", "");
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+
+    // El nombre cambió entre versiones de JMH ("·gc.alloc.rate.norm" en las antiguas)
+    private static double allocation(JsonNode run) {
+        for (Map.Entry<String, JsonNode> metric : run.path("secondaryMetrics").properties()) {
+            if (metric.getKey().endsWith(ALLOCATION)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return -1;
+    }
+
+    private static double delta(double base, double current) {
+        return base > 0 ? (current - base) / base * 100 : 0;
+    }
+}
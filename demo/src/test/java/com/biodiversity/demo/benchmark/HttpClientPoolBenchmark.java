@@ -0,0 +1,150 @@
+package com.biodiversity.demo.benchmark;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara el throughput de RestTemplate con SimpleClientHttpRequestFactory frente
+ * al cliente con pool contra un servidor stub HTTPS local.
+ *
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.biodiversity.demo.benchmark.HttpClientPoolBenchmark -Dexec.args="32 10"
+ */
+public class HttpClientPoolBenchmark {
+
+    private static final char[] PASSWORD = "benchmark".toCharArray();
+
+    private static final byte[] BODY = ("[{\"id_specie\":\"1\",\"scientific_name\":\"Vultur gryphus\","
+            + "\"common_name\":\"Cóndor andino\"}]").getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        SSLContext sslContext = selfSignedContext();
+        AtomicLong handshakes = new AtomicLong();
+
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpsServer server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.setExecutor(Executors.newFixedThreadPool(64));
+        server.createContext("/rest/v1/species", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.start();
+        String url = "https://127.0.0.1:" + server.getAddress().getPort() + "/rest/v1/species";
+
+        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+        HttpsURLConnection.setDefaultHostnameVerifier((host, session) -> {
+            handshakes.incrementAndGet();
+            return true;
+        });
+
+        try {
+            RestTemplate simple = new RestTemplate(new SimpleClientHttpRequestFactory());
+            PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(threads)
+                    .setMaxConnPerRoute(threads)
+                    .setTlsSocketStrategy(new DefaultClientTlsStrategy(sslContext, NoopHostnameVerifier.INSTANCE))
+                    .build();
+            try (CloseableHttpClient client = HttpClients.custom().setConnectionManager(manager).build()) {
+                RestTemplate pooled = new RestTemplate(new HttpComponentsClientHttpRequestFactory(client));
+
+                run("warmup-simple", simple, url, threads, 2);
+                run("warmup-pooled", pooled, url, threads, 2);
+                handshakes.set(0);
+                run("simple", simple, url, threads, seconds);
+                System.out.printf("simple opened %d TLS connections%n", handshakes.get());
+                run("pooled", pooled, url, threads, seconds);
+                System.out.printf("pooled stats %s%n", manager.getTotalStats());
+            }
+        } finally {
+            server.stop(0);
+            System.exit(0);
+        }
+    }
+
+    private static void run(String name, RestTemplate restTemplate, String url, int threads, int seconds)
+            throws InterruptedException {
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        restTemplate.getForObject(url, String.class);
+                        requests.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        executor.shutdown();
+        System.out.printf("%-14s threads=%d requests=%d errors=%d throughput=%.0f req/s%n",
+                name, threads, requests.get(), errors.get(), requests.get() / (double) seconds);
+    }
+
+    private static SSLContext selfSignedContext() throws Exception {
+        Path dir = Files.createTempDirectory("bench-tls");
+        Path keystore = dir.resolve("stub.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "stub", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-dname", "CN=localhost", "-validity", "1", "-storetype", "PKCS12",
+                "-keystore", keystore.toString(), "-storepass", new String(PASSWORD))
+                .inheritIO()
+                .start();
+        if (keytool.waitFor() != 0) {
+            throw new IllegalStateException("keytool no pudo generar el certificado");
+        }
+
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new FileInputStream(keystore.toFile())) {
+            store.load(in, PASSWORD);
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(store, PASSWORD);
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(store);
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+        return context;
+    }
+}
@@ -0,0 +1,76 @@
+package com.biodiversity.demo.benchmark;
+
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.Profile;
+import com.biodiversity.demo.model.Specie;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialización de las listas que devuelve PostgREST con el ObjectMapper de Spring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-XX:+UseParallelGC" })
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({ "5", "50" })
+    public int size;
+
+    private ObjectReader observationReader;
+    private ObjectReader specieReader;
+    private ObjectReader profileReader;
+    private ObjectWriter writer;
+
+    private List<Observation> observations;
+    private byte[] observationsJson;
+    private byte[] speciesJson;
+    private byte[] profilesJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+        observationReader = mapper.readerFor(new TypeReference<List<Observation>>() {
+        });
+        specieReader = mapper.readerFor(new TypeReference<List<Specie>>() {
+        });
+        profileReader = mapper.readerFor(new TypeReference<List<Profile>>() {
+        });
+        writer = mapper.writer();
+
+        observations = BenchmarkFixtures.observations(size);
+        observationsJson = writer.writeValueAsBytes(observations);
+        speciesJson = writer.writeValueAsBytes(BenchmarkFixtures.species(size));
+        profilesJson = writer.writeValueAsBytes(BenchmarkFixtures.profiles(size));
+    }
+
+    @Benchmark
+    public List<Observation> readObservations() throws IOException {
+        return observationReader.readValue(observationsJson);
+    }
+
+    @Benchmark
+    public byte[] writeObservations() throws IOException {
+        return writer.writeValueAsBytes(observations);
+    }
+
+    @Benchmark
+    public List<Specie> readSpecies() throws IOException {
+        return specieReader.readValue(speciesJson);
+    }
+
+    @Benchmark
+    public List<Profile> readProfiles() throws IOException {
+        return profileReader.readValue(profilesJson);
+    }
+}
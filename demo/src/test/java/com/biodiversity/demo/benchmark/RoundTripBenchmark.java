@@ -0,0 +1,103 @@
+package com.biodiversity.demo.benchmark;
+
+import com.biodiversity.demo.DemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Petición HTTP completa: cliente -> Tomcat -> controlador -> RestTemplate -> PostgREST simulado
+ * en localhost con respuestas fijas. Mide el costo propio de la aplicación sin red real.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-XX:+UseParallelGC" })
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest observationById;
+    private HttpRequest observationPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+        byte[] single = mapper.writeValueAsBytes(BenchmarkFixtures.observations(1));
+        byte[] page = mapper.writeValueAsBytes(BenchmarkFixtures.observations(5));
+
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        upstreamExecutor = Executors.newFixedThreadPool(4);
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/rest/v1/observations", exchange -> {
+            String query = exchange.getRequestURI().getRawQuery();
+            byte[] body = query != null && query.contains("id_observation=eq.") ? single : page;
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Como argumentos de línea de comandos para que tengan prioridad sobre application.properties
+        context = new SpringApplicationBuilder(DemoApplication.class).run(
+                "--server.port=0",
+                "--supabase.url=http://127.0.0.1:" + upstream.getAddress().getPort(),
+                "--observations.mirror.enabled=false",
+                "--logging.level.root=WARN");
+        String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        observationById = HttpRequest.newBuilder(URI.create(base + "/api/observations/obs-1"))
+                .header("Authorization", "Bearer benchmark")
+                .build();
+        observationPage = HttpRequest.newBuilder(URI.create(base + "/api/observations?page=2"))
+                .header("Authorization", "Bearer benchmark")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] getObservationById() throws IOException, InterruptedException {
+        return send(observationById);
+    }
+
+    @Benchmark
+    public byte[] getObservationPage() throws IOException, InterruptedException {
+        return send(observationPage);
+    }
+
+    private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Respuesta inesperada: " + response.statusCode());
+        }
+        return response.body();
+    }
+}
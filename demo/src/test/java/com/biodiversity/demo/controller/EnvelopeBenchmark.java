@@ -0,0 +1,56 @@
+package com.biodiversity.demo.controller;
+
+import com.biodiversity.demo.benchmark.BenchmarkFixtures;
+import com.biodiversity.demo.dto.PageResponse;
+import com.biodiversity.demo.model.Observation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armado de los sobres de respuesta de ObservationController y su serialización.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-XX:+UseParallelGC" })
+@State(Scope.Benchmark)
+public class EnvelopeBenchmark {
+
+    private List<Observation> page;
+    private List<Observation> feed;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkFixtures.observations(5);
+        feed = BenchmarkFixtures.observations(21);
+        writer = BenchmarkFixtures.objectMapper().writer();
+    }
+
+    @Benchmark
+    public PageResponse<Observation> pageBody() {
+        return ObservationController.pageBody(page, 2, 5);
+    }
+
+    @Benchmark
+    public PageResponse<Observation> feedBody() {
+        return ObservationController.feedBody(feed, 20);
+    }
+
+    @Benchmark
+    public byte[] pageBodySerialized() throws JsonProcessingException {
+        return writer.writeValueAsBytes(ObservationController.pageBody(page, 2, 5));
+    }
+
+    @Benchmark
+    public String entityTag() {
+        return EntityTags.forObservations("observations:user:u:page:2",
+                ResponseEntity.ok(page));
+    }
+}
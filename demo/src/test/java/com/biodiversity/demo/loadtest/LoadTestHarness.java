@@ -0,0 +1,280 @@
+package com.biodiversity.demo.loadtest;
+
+import com.biodiversity.demo.DemoApplication;
+import com.biodiversity.demo.benchmark.BenchmarkFixtures;
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.Profile;
+import com.biodiversity.demo.model.Specie;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Prueba de carga reproducible sin red: levanta {@link PostgrestStub} con datos deterministas,
+ * arranca la aplicación apuntando a él y recorre cada endpoint con un bucle cerrado de N hilos
+ * (cada hilo espera su respuesta antes de enviar la siguiente). Reporta throughput, percentiles
+ * p50/p99/p999, errores y llamadas a Supabase por petición.
+ *
+ * mvn -Ploadtest test-compile exec:exec [-Dloadtest.threads=32] [-Dloadtest.latency-ms=20]
+ *     [-Dloadtest.error-rate=0.01] [-Dloadtest.mode=reactive] [-Dloadtest.scenarios=species.all,profiles.byId]
+ *     [-Dloadtest.app-args=--supabase.bulkhead.enabled=true]
+ */
+public class LoadTestHarness {
+
+    private static final DateTimeFormatter SUPABASE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSxxx");
+
+    private final List<Observation> observations;
+    private final List<Specie> species;
+    private final List<Profile> profiles;
+
+    LoadTestHarness(int observationCount, int specieCount, int profileCount) {
+        this.species = BenchmarkFixtures.species(specieCount);
+        this.profiles = BenchmarkFixtures.profiles(profileCount);
+        this.observations = BenchmarkFixtures.observations(observationCount);
+        // Relaciones consistentes y created_at únicos: filtros, orden y cursores se comportan como en producción
+        OffsetDateTime newest = OffsetDateTime.of(2025, 5, 6, 10, 0, 0, 123456000, ZoneOffset.UTC);
+        for (int i = 0; i < observations.size(); i++) {
+            Observation observation = observations.get(i);
+            Specie specie = species.get(i % species.size());
+            observation.setIdSpecies(specie.getId());
+            observation.setSpecieCommonName(specie.getCommonName());
+            observation.setSpecieScientificName(specie.getScientificName());
+            observation.setIdObserverUser(profiles.get(i % profiles.size()).getId());
+            String createdAt = newest.minusMinutes(i).format(SUPABASE_TIMESTAMP);
+            observation.setCreatedAt(createdAt);
+            observation.setUpdatedAt(createdAt);
+        }
+    }
+
+    PostgrestStub seed(PostgrestStub stub) {
+        return stub.table("observations", observations)
+                .table("species", species)
+                .table("profiles", profiles)
+                .table("admins", List.of(Map.of("id", "admin-1", "username", "admin",
+                        "email", "admin@example.com", "createdAt", "2025-05-06T10:15:30+00:00")));
+    }
+
+    List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("observations.page", random -> "/api/observations?page=" + (1 + random.nextInt(20))),
+                new Scenario("observations.feed", random -> "/api/observations?cursor=&pageSize=20"),
+                new Scenario("observations.species", random -> "/api/observations?page=1&specieCommonName="
+                        + encode(pick(species, random).getCommonName())),
+                new Scenario("observations.byId",
+                        random -> "/api/observations/" + pick(observations, random).getId()),
+                new Scenario("observations.byUser", random -> "/api/observations/user/"
+                        + pick(profiles, random).getId() + "?page=1"),
+                new Scenario("species.all", random -> "/api/species"),
+                new Scenario("species.search", random -> "/api/species/search?q="
+                        + encode(pick(species, random).getCommonName().substring(0, 4))),
+                new Scenario("profiles.byId", random -> "/api/profiles/" + pick(profiles, random).getId()),
+                new Scenario("geo.bbox",
+                        random -> "/api/observations/geo/bbox?minLat=-4&minLon=-80&maxLat=-2&maxLon=-78"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = System.getProperty("loadtest.mode", "blocking");
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 15);
+        long latencyMs = Long.getLong("loadtest.latency-ms", 20);
+        long jitterMs = Long.getLong("loadtest.jitter-ms", 10);
+        double errorRate = Double.parseDouble(System.getProperty("loadtest.error-rate", "0"));
+        long seed = Long.getLong("loadtest.seed", 42);
+        String only = System.getProperty("loadtest.scenarios", "");
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.csv"));
+        String appArgs = System.getProperty("loadtest.app-args", "");
+
+        LoadTestHarness harness = new LoadTestHarness(Integer.getInteger("loadtest.observations", 2000),
+                Integer.getInteger("loadtest.species", 200), Integer.getInteger("loadtest.profiles", 500));
+        Set<String> selected = only.isBlank() ? Set.of() : Set.of(only.split(","));
+
+        try (PostgrestStub stub = harness.seed(new PostgrestStub(seed)).start(Math.max(64, threads * 4))) {
+            List<String> springArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--supabase.url=" + stub.baseUrl(),
+                    "--supabase.gateway.mode=" + mode,
+                    "--logging.level.root=WARN"));
+            if (!appArgs.isBlank()) {
+                springArgs.addAll(Arrays.asList(appArgs.trim().split("\\s+")));
+            }
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            // Datos cargados sin latencia; la latencia configurada solo aplica a la carga medida
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                    .run(springArgs.toArray(String[]::new));
+            stub.latency(latencyMs, jitterMs).errorRate(errorRate);
+            try {
+                String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+                System.out.printf("%nModo %s, %d hilos, latencia %d ms + jitter %d ms, errores %.1f%%, semilla %d%n",
+                        mode, threads, latencyMs, jitterMs, errorRate * 100, seed);
+
+                List<Result> results = new ArrayList<>();
+                for (Scenario scenario : harness.scenarios()) {
+                    if (!selected.isEmpty() && !selected.contains(scenario.name())) {
+                        continue;
+                    }
+                    run(base, scenario, threads, warmupSeconds, seed, stub);
+                    results.add(run(base, scenario, threads, durationSeconds, seed, stub));
+                }
+                print(results);
+                write(report, mode, threads, results);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    static Result run(String base, Scenario scenario, int threads, int seconds, long seed, PostgrestStub stub)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long upstreamBefore = stub.requests();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Worker worker = new Worker(new Random(seed + t));
+                futures.add(pool.submit(() -> worker.loop(client, base, scenario, deadline)));
+            }
+            List<Worker> workers = new ArrayList<>();
+            for (Future<Worker> future : futures) {
+                workers.add(future.get());
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            return Result.of(scenario.name(), workers, elapsedSeconds, stub.requests() - upstreamBefore);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void print(List<Result> results) {
+        System.out.printf("%n%-22s %9s %7s %9s %9s %9s %9s %9s %10s%n", "endpoint", "peticiones", "errores",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "upstream/req");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %10.2f%n", r.name(),
+                    r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs(),
+                    r.upstreamPerRequest());
+        }
+    }
+
+    private static void write(Path report, String mode, int threads, List<Result> results) throws IOException {
+        Path parent = report.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+            out.println("mode,threads,endpoint,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms,"
+                    + "upstream_per_request");
+            for (Result r : results) {
+                out.printf(Locale.ROOT, "%s,%d,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.2f%n", mode, threads, r.name(),
+                        r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs(),
+                        r.upstreamPerRequest());
+            }
+        }
+        System.out.println("\nReporte: " + report.toAbsolutePath());
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    record Scenario(String name, Function<Random, String> path) {
+    }
+
+    static final class Worker {
+
+        private final Random random;
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+
+        Worker(Random random) {
+            this.random = random;
+        }
+
+        Worker loop(HttpClient client, String base, Scenario scenario, long deadline) {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + scenario.path().apply(random)))
+                        .header("Authorization", "Bearer loadtest")
+                        .build();
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() >= 400) {
+                        errors++;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                record(System.nanoTime() - start);
+            }
+            return this;
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    record Result(String name, long requests, long errors, double throughput, double p50Ms, double p99Ms,
+            double p999Ms, double maxMs, double upstreamPerRequest) {
+
+        static Result of(String name, List<Worker> workers, double elapsedSeconds, long upstreamCalls) {
+            int total = workers.stream().mapToInt(w -> w.count).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, all, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(all);
+            long errors = workers.stream().mapToLong(w -> w.errors).sum();
+            return new Result(name, total, errors, total / elapsedSeconds, percentile(all, 0.50),
+                    percentile(all, 0.99), percentile(all, 0.999), total == 0 ? 0 : all[total - 1] / 1e6,
+                    total == 0 ? 0 : (double) upstreamCalls / total);
+        }
+
+        static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
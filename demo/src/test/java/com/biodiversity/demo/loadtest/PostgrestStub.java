@@ -0,0 +1,611 @@
+package com.biodiversity.demo.loadtest;
+
+import com.biodiversity.demo.benchmark.BenchmarkFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * PostgREST en memoria para pruebas de carga sin tocar el proyecto real de Supabase. Implementa
+ * el subconjunto que usan los servicios sobre /rest/v1/{tabla}: filtros eq, neq, gt, gte, lt, lte,
+ * like, ilike, in, is, los grupos or=(...)/and(...), select, order, limit, offset, Prefer
+ * (return=representation, count=exact) y el Accept de objeto único. Una columna desconocida
+ * responde 400 como PostgREST, así los errores de consulta aparecen también en local.
+ *
+ * La latencia (fija más jitter uniforme) y la tasa de errores 503 son configurables, con semilla fija.
+ */
+public final class PostgrestStub implements AutoCloseable {
+
+    private static final String PREFIX = "/rest/v1/";
+    private static final String OBJECT_MEDIA_TYPE = "application/vnd.pgrst.object+json";
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+    private static final Pattern TIMESTAMP = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T.*");
+
+    private static final Map<String, String> PRIMARY_KEYS = Map.of(
+            "observations", "id_observation",
+            "species", "id_specie",
+            "profiles", "id",
+            "admins", "id");
+
+    private final ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+    private final Map<String, List<ObjectNode>> tables = new HashMap<>();
+    private final Map<String, Set<String>> columns = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Random random;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private volatile long latencyMs;
+    private volatile long jitterMs;
+    private volatile double errorRate;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PostgrestStub(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public PostgrestStub latency(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        return this;
+    }
+
+    public PostgrestStub errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public PostgrestStub table(String name, List<?> rows) {
+        List<ObjectNode> nodes = new ArrayList<>(rows.size());
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        for (Object row : rows) {
+            ObjectNode node = mapper.valueToTree(row);
+            node.fieldNames().forEachRemaining(names::add);
+            nodes.add(node);
+        }
+        names.add(PRIMARY_KEYS.getOrDefault(name, "id"));
+        lock.writeLock().lock();
+        try {
+            tables.put(name, nodes);
+            columns.put(name, names);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return this;
+    }
+
+    public PostgrestStub start(int threads) throws IOException {
+        // Sin Nagle: las respuestas pequeñas no esperan el ACK retardado del cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            delay();
+            if (errorRate > 0 && nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                send(exchange, 503, error("PGRST000", "Error inyectado por el stub"));
+                return;
+            }
+            try {
+                dispatch(exchange);
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error("PGRST100", e.getMessage()));
+            }
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String table = exchange.getRequestURI().getPath().substring(PREFIX.length());
+        if (!tables.containsKey(table)) {
+            send(exchange, 404, error("42P01", "relation \"public." + table + "\" does not exist"));
+            return;
+        }
+        Query query = Query.parse(exchange.getRequestURI().getRawQuery());
+        String unknown = query.unknownColumn(columns.get(table));
+        if (unknown != null) {
+            send(exchange, 400, error("42703", "column " + table + "." + unknown + " does not exist"));
+            return;
+        }
+
+        switch (exchange.getRequestMethod()) {
+            case "GET", "HEAD" -> select(exchange, table, query);
+            case "POST" -> insert(exchange, table, query);
+            case "PATCH" -> update(exchange, table, query);
+            case "DELETE" -> delete(exchange, table, query);
+            default -> send(exchange, 405, error("PGRST000", "Método no soportado"));
+        }
+    }
+
+    private void select(HttpExchange exchange, String table, Query query) throws IOException {
+        List<ObjectNode> matched;
+        lock.readLock().lock();
+        try {
+            matched = tables.get(table).stream().filter(query.filter).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (query.order != null) {
+            matched = matched.stream().sorted(query.order).toList();
+        }
+        int total = matched.size();
+        int from = Math.min(query.offset, total);
+        int to = query.limit >= 0 ? Math.min(total, from + query.limit) : total;
+        List<ObjectNode> page = matched.subList(from, to);
+
+        String prefer = exchange.getRequestHeaders().getFirst("Prefer");
+        if (prefer != null && prefer.contains("count=exact")) {
+            exchange.getResponseHeaders().set("Content-Range",
+                    (page.isEmpty() ? "*" : from + "-" + (to - 1)) + "/" + total);
+        }
+        respond(exchange, 200, page, query);
+    }
+
+    private void insert(HttpExchange exchange, String table, Query query) throws IOException {
+        JsonNode body = read(exchange);
+        List<ObjectNode> rows = new ArrayList<>();
+        if (body.isArray()) {
+            body.forEach(node -> rows.add((ObjectNode) node));
+        } else if (body.isObject()) {
+            rows.add((ObjectNode) body);
+        } else {
+            throw new IllegalArgumentException("El cuerpo debe ser un objeto o un arreglo JSON");
+        }
+        String key = PRIMARY_KEYS.getOrDefault(table, "id");
+        String now = OffsetDateTime.now().toString();
+        lock.writeLock().lock();
+        try {
+            for (ObjectNode row : rows) {
+                if (!row.hasNonNull(key)) {
+                    row.put(key, UUID.randomUUID().toString());
+                }
+                if (!row.hasNonNull("created_at")) {
+                    row.put("created_at", now);
+                }
+                row.put("updated_at", now);
+                row.fieldNames().forEachRemaining(columns.get(table)::add);
+                tables.get(table).add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        respondWritten(exchange, 201, rows, query);
+    }
+
+    private void update(HttpExchange exchange, String table, Query query) throws IOException {
+        JsonNode changes = read(exchange);
+        if (!changes.isObject()) {
+            throw new IllegalArgumentException("El cuerpo debe ser un objeto JSON");
+        }
+        String now = OffsetDateTime.now().toString();
+        List<ObjectNode> updated = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            List<ObjectNode> rows = tables.get(table);
+            for (int i = 0; i < rows.size(); i++) {
+                ObjectNode row = rows.get(i);
+                if (query.filter.test(row)) {
+                    // Copia nueva para no mutar filas que un lector ya esté serializando
+                    ObjectNode copy = row.deepCopy();
+                    copy.setAll((ObjectNode) changes);
+                    copy.put("updated_at", now);
+                    rows.set(i, copy);
+                    updated.add(copy);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        respondWritten(exchange, 200, updated, query);
+    }
+
+    private void delete(HttpExchange exchange, String table, Query query) throws IOException {
+        List<ObjectNode> deleted = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            tables.get(table).removeIf(row -> query.filter.test(row) && deleted.add(row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        respondWritten(exchange, 200, deleted, query);
+    }
+
+    private void respondWritten(HttpExchange exchange, int status, List<ObjectNode> rows, Query query)
+            throws IOException {
+        String prefer = exchange.getRequestHeaders().getFirst("Prefer");
+        if (prefer == null || !prefer.contains("return=representation")) {
+            exchange.sendResponseHeaders(204, -1);
+            return;
+        }
+        respond(exchange, status, rows, query);
+    }
+
+    private void respond(HttpExchange exchange, int status, List<ObjectNode> rows, Query query) throws IOException {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (accept != null && accept.contains(OBJECT_MEDIA_TYPE)) {
+            if (rows.size() != 1) {
+                send(exchange, 406, error("PGRST116",
+                        "JSON object requested, multiple (or no) rows returned: " + rows.size()));
+                return;
+            }
+            send(exchange, status, query.project(rows.get(0), mapper));
+            return;
+        }
+        ArrayNode array = mapper.createArrayNode();
+        for (ObjectNode row : rows) {
+            array.add(query.project(row, mapper));
+        }
+        send(exchange, status, array);
+    }
+
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private JsonNode read(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return mapper.readTree(in);
+        }
+    }
+
+    private ObjectNode error(String code, String message) {
+        ObjectNode error = mapper.createObjectNode();
+        error.put("code", code);
+        error.put("message", message);
+        error.putNull("details");
+        error.putNull("hint");
+        return error;
+    }
+
+    private void delay() {
+        long millis = latencyMs + (jitterMs > 0 ? (long) (nextDouble() * jitterMs) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+
+    /**
+     * Parámetros de una petición PostgREST ya interpretados.
+     */
+    static final class Query {
+
+        private static final Set<String> RESERVED = Set.of("select", "order", "limit", "offset", "or", "and");
+        private static final Map<String, Instant> INSTANTS = new ConcurrentHashMap<>();
+
+        final Predicate<ObjectNode> filter;
+        final Comparator<ObjectNode> order;
+        final List<String> select;
+        final int limit;
+        final int offset;
+        private final Set<String> referenced;
+
+        private Query(Predicate<ObjectNode> filter, Comparator<ObjectNode> order, List<String> select, int limit,
+                int offset, Set<String> referenced) {
+            this.filter = filter;
+            this.order = order;
+            this.select = select;
+            this.limit = limit;
+            this.offset = offset;
+            this.referenced = referenced;
+        }
+
+        static Query parse(String rawQuery) {
+            Predicate<ObjectNode> filter = row -> true;
+            Comparator<ObjectNode> order = null;
+            List<String> select = null;
+            int limit = -1;
+            int offset = 0;
+            Set<String> referenced = new LinkedHashSet<>();
+
+            if (rawQuery != null && !rawQuery.isEmpty()) {
+                for (String pair : rawQuery.split("&")) {
+                    int eq = pair.indexOf('=');
+                    if (eq < 0) {
+                        continue;
+                    }
+                    String key = decode(pair.substring(0, eq));
+                    String value = decode(pair.substring(eq + 1));
+                    switch (key) {
+                        case "select" -> {
+                            select = value.equals("*") ? null : List.of(value.split(","));
+                            if (select != null) {
+                                referenced.addAll(select);
+                            }
+                        }
+                        case "order" -> order = order(value, referenced);
+                        case "limit" -> limit = Integer.parseInt(value);
+                        case "offset" -> offset = Integer.parseInt(value);
+                        case "or", "and" -> filter = filter.and(group(key, unwrap(value), referenced));
+                        default -> {
+                            referenced.add(key);
+                            filter = filter.and(condition(key, value));
+                        }
+                    }
+                }
+            }
+            return new Query(filter, order, select, limit, offset, referenced);
+        }
+
+        String unknownColumn(Set<String> known) {
+            for (String column : referenced) {
+                if (!RESERVED.contains(column) && !known.contains(column)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+
+        JsonNode project(ObjectNode row, ObjectMapper mapper) {
+            if (select == null) {
+                return row;
+            }
+            ObjectNode projected = mapper.createObjectNode();
+            for (String column : select) {
+                projected.set(column, row.get(column));
+            }
+            return projected;
+        }
+
+        private static Comparator<ObjectNode> order(String value, Set<String> referenced) {
+            Comparator<ObjectNode> comparator = null;
+            for (String term : value.split(",")) {
+                String[] parts = term.split("\\.");
+                String column = parts[0];
+                referenced.add(column);
+                boolean descending = parts.length > 1 && parts[1].equals("desc");
+                Comparator<ObjectNode> next = (a, b) -> compare(a.get(column), b.get(column));
+                if (descending) {
+                    next = next.reversed();
+                }
+                comparator = comparator == null ? next : comparator.thenComparing(next);
+            }
+            return comparator;
+        }
+
+        // or=(a.eq.1,and(b.lt.2,c.gt.3)): los términos se separan por comas fuera de paréntesis
+        private static Predicate<ObjectNode> group(String operator, String body, Set<String> referenced) {
+            List<Predicate<ObjectNode>> terms = new ArrayList<>();
+            for (String term : splitTopLevel(body)) {
+                if (term.startsWith("or(") || term.startsWith("and(")) {
+                    int open = term.indexOf('(');
+                    terms.add(group(term.substring(0, open), unwrap(term.substring(open)), referenced));
+                    continue;
+                }
+                int dot = term.indexOf('.');
+                if (dot < 0) {
+                    throw new IllegalArgumentException("Filtro inválido: " + term);
+                }
+                String column = term.substring(0, dot);
+                referenced.add(column);
+                terms.add(condition(column, term.substring(dot + 1)));
+            }
+            return row -> operator.equals("or")
+                    ? terms.stream().anyMatch(term -> term.test(row))
+                    : terms.stream().allMatch(term -> term.test(row));
+        }
+
+        private static Predicate<ObjectNode> condition(String column, String expression) {
+            boolean negated = expression.startsWith("not.");
+            String rest = negated ? expression.substring(4) : expression;
+            int dot = rest.indexOf('.');
+            if (dot < 0) {
+                throw new IllegalArgumentException("Operador inválido en " + column + ": " + expression);
+            }
+            String operator = rest.substring(0, dot);
+            String operand = rest.substring(dot + 1);
+            Predicate<ObjectNode> predicate = switch (operator) {
+                case "eq" -> row -> compare(row.get(column), operand) == 0;
+                case "neq" -> row -> compare(row.get(column), operand) != 0;
+                case "gt" -> row -> present(row, column) && compare(row.get(column), operand) > 0;
+                case "gte" -> row -> present(row, column) && compare(row.get(column), operand) >= 0;
+                case "lt" -> row -> present(row, column) && compare(row.get(column), operand) < 0;
+                case "lte" -> row -> present(row, column) && compare(row.get(column), operand) <= 0;
+                case "like" -> like(column, operand, false);
+                case "ilike" -> like(column, operand, true);
+                case "in" -> {
+                    Set<String> values = new LinkedHashSet<>();
+                    String list = unwrap(operand);
+                    if (!list.isEmpty()) {
+                        for (String value : splitTopLevel(list)) {
+                            values.add(stripQuotes(value));
+                        }
+                    }
+                    yield row -> present(row, column) && values.contains(row.get(column).asText());
+                }
+                case "is" -> switch (operand) {
+                    case "null" -> row -> !present(row, column);
+                    case "true" -> row -> present(row, column) && row.get(column).asBoolean();
+                    case "false" -> row -> present(row, column) && !row.get(column).asBoolean();
+                    default -> throw new IllegalArgumentException("Valor inválido para is: " + operand);
+                };
+                default -> throw new IllegalArgumentException("Operador no soportado: " + operator);
+            };
+            return negated ? predicate.negate() : predicate;
+        }
+
+        private static Predicate<ObjectNode> like(String column, String pattern, boolean ignoreCase) {
+            StringBuilder regex = new StringBuilder();
+            for (String part : pattern.split("[*%]", -1)) {
+                if (!regex.isEmpty()) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            Pattern compiled = Pattern.compile(regex.toString(),
+                    ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL : Pattern.DOTALL);
+            return row -> present(row, column) && compiled.matcher(row.get(column).asText()).matches();
+        }
+
+        private static boolean present(ObjectNode row, String column) {
+            JsonNode value = row.get(column);
+            return value != null && !value.isNull();
+        }
+
+        private static int compare(JsonNode value, String operand) {
+            if (value == null || value.isNull()) {
+                return operand.equals("null") ? 0 : -1;
+            }
+            if (value.isNumber() && NUMBER.matcher(operand).matches()) {
+                return Double.compare(value.asDouble(), Double.parseDouble(operand));
+            }
+            return compareText(value.asText(), stripQuotes(operand));
+        }
+
+        // Nulos al final en ambos sentidos, como nullslast
+        private static int compare(JsonNode a, JsonNode b) {
+            boolean aNull = a == null || a.isNull();
+            boolean bNull = b == null || b.isNull();
+            if (aNull || bNull) {
+                return aNull == bNull ? 0 : aNull ? 1 : -1;
+            }
+            if (a.isNumber() && b.isNumber()) {
+                return Double.compare(a.asDouble(), b.asDouble());
+            }
+            return compareText(a.asText(), b.asText());
+        }
+
+        // Las marcas de tiempo se comparan como timestamptz: "...Z" y "...+00:00" son el mismo instante
+        private static int compareText(String a, String b) {
+            Instant left = instant(a);
+            Instant right = left != null ? instant(b) : null;
+            return right != null ? left.compareTo(right) : a.compareTo(b);
+        }
+
+        private static Instant instant(String value) {
+            if (!TIMESTAMP.matcher(value).matches()) {
+                return null;
+            }
+            Instant cached = INSTANTS.get(value);
+            if (cached == null) {
+                try {
+                    cached = OffsetDateTime.parse(value).toInstant();
+                } catch (DateTimeParseException e) {
+                    return null;
+                }
+                INSTANTS.put(value, cached);
+            }
+            return cached;
+        }
+
+        private static List<String> splitTopLevel(String body) {
+            List<String> parts = new ArrayList<>();
+            int depth = 0;
+            boolean quoted = false;
+            int start = 0;
+            for (int i = 0; i < body.length(); i++) {
+                char c = body.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && c == '(') {
+                    depth++;
+                } else if (!quoted && c == ')') {
+                    depth--;
+                } else if (!quoted && depth == 0 && c == ',') {
+                    parts.add(body.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            parts.add(body.substring(start));
+            return parts;
+        }
+
+        private static String unwrap(String value) {
+            if (!value.startsWith("(") || !value.endsWith(")")) {
+                throw new IllegalArgumentException("Se esperaba una lista entre paréntesis: " + value);
+            }
+            return value.substring(1, value.length() - 1);
+        }
+
+        private static String stripQuotes(String value) {
+            return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                    ? value.substring(1, value.length() - 1)
+                    : value;
+        }
+
+        private static String decode(String value) {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
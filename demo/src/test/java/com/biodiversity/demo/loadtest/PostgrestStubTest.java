@@ -0,0 +1,121 @@
+package com.biodiversity.demo.loadtest;
+
+import com.biodiversity.demo.benchmark.BenchmarkFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgrestStubTest {
+
+    private final ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private PostgrestStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new PostgrestStub(1).table("observations", List.of(
+                row("a", "2025-05-06T10:00:00.000000+00:00", "Cóndor andino", "u1"),
+                row("b", "2025-05-06T09:00:00.000000+00:00", "Pato real", "u1"),
+                row("c", "2025-05-06T09:00:00.000000+00:00", "Puma", "u2"),
+                row("d", "2025-05-06T08:00:00.000000+00:00", "Oso de anteojos", "u2")))
+                .start(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void get_ShouldApplyFiltersOrderLimitAndOffset() throws Exception {
+        // Act
+        JsonNode page = get("/rest/v1/observations?id_observer_user=eq.u2&order=created_at.desc&limit=1&offset=1");
+        JsonNode names = get("/rest/v1/observations?specie_common_name=ilike.*AND*&select=id_observation");
+
+        // Assert
+        assertEquals(1, page.size());
+        assertEquals("d", page.get(0).get("id_observation").asText());
+        assertEquals(1, names.size());
+        assertEquals("a", names.get(0).get("id_observation").asText());
+        assertEquals(1, names.get(0).size());
+    }
+
+    @Test
+    void get_ShouldEvaluateKeysetCursorAsTimestamps() throws Exception {
+        // Act: mismo filtro que ObservationCursor, con el instante en formato Z
+        JsonNode rows = get("/rest/v1/observations?order=created_at.desc,id_observation.desc&limit=10"
+                + "&or=(created_at.lt.2025-05-06T09:00:00Z,"
+                + "and(created_at.eq.2025-05-06T09:00:00Z,id_observation.lt.c))");
+
+        // Assert
+        assertEquals(List.of("b", "d"), ids(rows));
+    }
+
+    @Test
+    void get_ShouldSupportInListsIncludingEmpty() throws Exception {
+        // Act
+        JsonNode some = get("/rest/v1/observations?id_observation=in.(a,c)&order=id_observation.asc");
+        JsonNode none = get("/rest/v1/observations?id_observation=in.()");
+
+        // Assert
+        assertEquals(List.of("a", "c"), ids(some));
+        assertEquals(0, none.size());
+    }
+
+    @Test
+    void get_ShouldRejectUnknownColumnsLikePostgrest() throws Exception {
+        // Act
+        HttpResponse<String> response = send("/rest/v1/observations?id=eq.a");
+
+        // Assert
+        assertEquals(400, response.statusCode());
+        assertEquals("42703", mapper.readTree(response.body()).get("code").asText());
+    }
+
+    @Test
+    void get_ShouldInjectConfiguredErrors() throws Exception {
+        // Arrange
+        stub.errorRate(1.0);
+
+        // Act
+        HttpResponse<String> response = send("/rest/v1/observations");
+
+        // Assert
+        assertEquals(503, response.statusCode());
+        assertEquals(1, stub.injectedErrors());
+    }
+
+    private Map<String, Object> row(String id, String createdAt, String commonName, String userId) {
+        return Map.of("id_observation", id, "created_at", createdAt, "specie_common_name", commonName,
+                "id_observer_user", userId);
+    }
+
+    private JsonNode get(String path) throws Exception {
+        HttpResponse<String> response = send(path);
+        assertEquals(200, response.statusCode(), response.body());
+        return mapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(stub.baseUrl() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static List<String> ids(JsonNode rows) {
+        return StreamSupport.stream(rows.spliterator(), false)
+                .map(row -> row.get("id_observation").asText())
+                .toList();
+    }
+}
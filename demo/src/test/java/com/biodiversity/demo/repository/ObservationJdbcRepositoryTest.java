@@ -0,0 +1,104 @@
+package com.biodiversity.demo.repository;
+
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.Specie;
+import com.biodiversity.demo.repository.ObservationJdbcRepository.Query;
+import com.biodiversity.demo.repository.ObservationJdbcRepository.SpeciesCriteria;
+import com.biodiversity.demo.service.ObservationCursor;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ObservationJdbcRepositoryTest {
+
+    @Test
+    void pageQuery_ShouldFilterBySpeciesIdSetAndPaginate() {
+        // Act
+        Query query = ObservationJdbcRepository.pageQuery(10, 5, SpeciesCriteria.ofIds(List.of("a", "b")));
+
+        // Assert
+        assertTrue(query.sql().endsWith(
+                " FROM observations WHERE id_specie = ANY(?) ORDER BY created_at DESC, id_observation DESC"
+                        + " LIMIT ? OFFSET ?"));
+        assertEquals(List.of(List.of("a", "b"), 5, 10), query.args());
+    }
+
+    @Test
+    void feedQuery_ShouldUseRowComparisonForCursorAndEscapeLikePattern() {
+        // Arrange
+        Observation last = new Observation();
+        last.setId("abc-123");
+        last.setCreatedAt("2024-05-01T12:00:00.5+00:00");
+        ObservationCursor cursor = ObservationCursor.decode(ObservationCursor.encode(last));
+
+        // Act
+        Query query = ObservationJdbcRepository.feedQuery("user-1", cursor, 21,
+                SpeciesCriteria.ofCommonName("50%_rana"));
+
+        // Assert
+        assertTrue(query.sql().endsWith(" WHERE id_observer_user = ? AND (created_at, id_observation) < (?, ?)"
+                + " AND specie_common_name ILIKE ? ORDER BY created_at DESC, id_observation DESC LIMIT ?"));
+        assertEquals(List.of("user-1", OffsetDateTime.parse("2024-05-01T12:00:00.5Z"), "abc-123",
+                "%50\\%\\_rana%", 21), query.args());
+    }
+
+    @Test
+    void findPage_ShouldSkipDatabaseWhenNoSpeciesMatch() {
+        // Arrange
+        ObservationJdbcRepository repository = new ObservationJdbcRepository();
+
+        // Act & Assert: sin JdbcTemplate, cualquier consulta fallaría
+        assertEquals(List.of(), repository.findPage(0, 5, SpeciesCriteria.ofIds(List.of())));
+    }
+
+    @Test
+    void mapRow_ShouldMatchPostgrestRepresentation() throws Exception {
+        // Arrange
+        ResultSet rs = mock(ResultSet.class);
+        Array images = mock(Array.class);
+        when(images.getArray()).thenReturn(new String[] { "a.jpg", "b.jpg" });
+        when(rs.getString("id_observation")).thenReturn("obs-1");
+        when(rs.getObject("date", LocalDate.class)).thenReturn(LocalDate.of(2024, 5, 1));
+        when(rs.getFloat("latitude")).thenReturn(4.5f);
+        when(rs.getArray("images")).thenReturn(images);
+        when(rs.getDouble("similarity_percentage")).thenReturn(0.0);
+        when(rs.wasNull()).thenReturn(true);
+        when(rs.getObject("created_at", OffsetDateTime.class))
+                .thenReturn(OffsetDateTime.of(2024, 5, 1, 7, 0, 0, 123_456_000, ZoneOffset.ofHours(-5)));
+
+        // Act
+        Observation obs = ObservationJdbcRepository.mapRow(rs, 0);
+
+        // Assert
+        assertEquals("obs-1", obs.getId());
+        assertEquals(LocalDate.of(2024, 5, 1), obs.getDate());
+        assertEquals(4.5f, obs.getLatitude());
+        assertEquals(List.of("a.jpg", "b.jpg"), obs.getImages());
+        assertNull(obs.getSimilarityPercentage());
+        assertEquals("2024-05-01T12:00:00.123456+00:00", obs.getCreatedAt());
+        assertNull(obs.getUpdatedAt());
+    }
+
+    @Test
+    void specieMapRow_ShouldReadAllColumns() throws Exception {
+        // Arrange
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id_specie")).thenReturn("sp-1");
+        when(rs.getString("common_name")).thenReturn("Rana");
+
+        // Act
+        Specie specie = SpecieJdbcRepository.mapRow(rs, 0);
+
+        // Assert
+        assertEquals("sp-1", specie.getId());
+        assertEquals("Rana", specie.getCommonName());
+    }
+}
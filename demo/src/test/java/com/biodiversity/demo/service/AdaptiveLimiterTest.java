@@ -0,0 +1,85 @@
+package com.biodiversity.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_ShouldRejectImmediatelyAboveLimit() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter("rest", 2, 1, 10, clock::get);
+
+        // Act
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void onSample_ShouldGrowLimitWhileLatencyStaysNearBaselineAndLimitIsUsed() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter("rest", 4, 1, 10, clock::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            limiter.onSample(RTT);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 4, "límite: " + limiter.getLimit());
+    }
+
+    @Test
+    void onSample_ShouldBackOffWhenLatencyRisesWellAboveBaseline() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter("rest", 20, 2, 50, clock::get);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(RTT);
+        }
+
+        // Act: la latencia se multiplica por 10 durante varios RTT
+        for (int i = 0; i < 50; i++) {
+            clock.addAndGet(RTT * 10);
+            limiter.onSample(RTT * 10);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < 20, "límite: " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    void onDrop_ShouldDecreaseAtMostOncePerRtt() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter("rest", 20, 2, 50, clock::get);
+        limiter.onSample(RTT);
+        clock.addAndGet(RTT);
+
+        // Act
+        limiter.onDrop();
+        limiter.onDrop();
+        limiter.onDrop();
+
+        // Assert
+        assertEquals(18, limiter.getLimit());
+    }
+}
@@ -14,10 +14,12 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class AdminServiceTest {
 
@@ -170,4 +172,63 @@ class AdminServiceTest {
         assertNotNull(response);
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void isAdmin_ShouldAcceptServiceRoleWithoutLookup() {
+        // Arrange
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        when(jwtVerifier.claimsOf(TEST_AUTH_TOKEN))
+                .thenReturn(Optional.of(new AuthClaims(null, AuthClaims.SERVICE_ROLE, null, 0)));
+        ReflectionTestUtils.setField(adminService, "jwtVerifier", jwtVerifier);
+
+        // Act & Assert
+        assertTrue(adminService.isAdmin(TEST_AUTH_TOKEN));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void isAdmin_ShouldRequireAdminRowForVerifiedUser() {
+        // Arrange
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        when(jwtVerifier.claimsOf(TEST_AUTH_TOKEN))
+                .thenReturn(Optional.of(new AuthClaims("u1", "authenticated", "a@b.co", 0)));
+        ReflectionTestUtils.setField(adminService, "jwtVerifier", jwtVerifier);
+        when(restTemplate.exchange(
+                contains("/rest/v1/admins?"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(List.of(), HttpStatus.OK));
+
+        // Act & Assert
+        assertFalse(adminService.isAdmin(TEST_AUTH_TOKEN));
+    }
+
+    @Test
+    void isAdmin_ShouldIdentifyUserThroughSupabaseAuthWhenJwtIsDisabled() {
+        // Arrange
+        when(restTemplate.exchange(
+                eq(TEST_SUPABASE_URL + "/auth/v1/user"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(Map.of("id", "u1", "email", "a@b.co"), HttpStatus.OK));
+        when(restTemplate.exchange(
+                contains("/rest/v1/admins?"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(List.of(new Admin()), HttpStatus.OK));
+
+        // Act
+        boolean admin = adminService.isAdmin(TEST_AUTH_TOKEN);
+
+        // Assert
+        assertTrue(admin);
+        verify(restTemplate).exchange(
+                eq(TEST_SUPABASE_URL + "/rest/v1/admins?select=id&limit=1&or=(id.eq.u1,email.eq.\"a@b.co\")"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClientException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void acquire_ShouldRejectWhenFullAfterQueueTimeout() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("rest", 1, 20);
+        bulkhead.acquire();
+
+        // Act & Assert
+        BulkheadFullException e = assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertInstanceOf(RestClientException.class, e);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals("1", e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, bulkhead.getInFlight());
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void release_ShouldFreePermitForNextCaller() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("storage", 1, 20);
+        bulkhead.acquire();
+
+        // Act
+        bulkhead.release();
+        bulkhead.acquire();
+
+        // Assert
+        assertEquals(1, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getRejected());
+    }
+}
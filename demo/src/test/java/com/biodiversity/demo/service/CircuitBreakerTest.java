@@ -0,0 +1,76 @@
+package com.biodiversity.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void onFailure_ShouldOpenWhenFailureRateExceedsThresholdAfterMinimumCalls() {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker("rest", 10, 4, 0.5, 10, 2, clock::get);
+
+        // Act
+        breaker.onSuccess(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        CircuitBreaker.State beforeMinimum = breaker.getState();
+        breaker.onFailure(breaker.tryAcquire());
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, beforeMinimum);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+        assertEquals(1, breaker.getShortCircuited());
+        assertEquals(10, breaker.retryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_ShouldCloseAfterSuccessfulTrialsOnceOpenTimeElapses() {
+        // Arrange
+        CircuitBreaker breaker = openBreaker();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Act
+        CircuitBreaker.Permit first = breaker.tryAcquire();
+        CircuitBreaker.Permit second = breaker.tryAcquire();
+        CircuitBreaker.Permit third = breaker.tryAcquire();
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+
+        // Assert
+        assertEquals(CircuitBreaker.Permit.TRIAL, first);
+        assertEquals(CircuitBreaker.Permit.TRIAL, second);
+        assertNull(third);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void onFailure_ShouldReopenWhenTrialFails() {
+        // Arrange
+        CircuitBreaker breaker = openBreaker();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        // Act
+        breaker.onFailure(breaker.tryAcquire());
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getOpenings());
+    }
+
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("rest", 10, 2, 0.5, 10, 2, clock::get);
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,197 @@
+package com.biodiversity.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedReadsTest {
+
+    private HedgedReads hedgedReads;
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        hedgedReads = new HedgedReads();
+        ReflectionTestUtils.setField(hedgedReads, "enabled", true);
+        ReflectionTestUtils.setField(hedgedReads, "percentile", 0.95);
+        ReflectionTestUtils.setField(hedgedReads, "initialDelayMs", 20L);
+        ReflectionTestUtils.setField(hedgedReads, "minDelayMs", 1L);
+        ReflectionTestUtils.setField(hedgedReads, "maxDelayMs", 1000L);
+        ReflectionTestUtils.setField(hedgedReads, "budgetRatio", 0.05);
+        ReflectionTestUtils.setField(hedgedReads, "budgetBurst", 10);
+        ReflectionTestUtils.setField(hedgedReads, "maxRetries", 2);
+        ReflectionTestUtils.setField(hedgedReads, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(hedgedReads, "maxTotalMs", 3000L);
+        ReflectionTestUtils.setField(hedgedReads, "threads", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRelease.countDown();
+        hedgedReads.shutdown();
+    }
+
+    @Test
+    void execute_ShouldReturnHedgeResponseWhenPrimaryIsSlow() {
+        // Arrange
+        hedgedReads.init();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        ResponseEntity<String> response = hedgedReads.execute("observations", () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitRelease();
+                return ResponseEntity.ok("primary");
+            }
+            return ResponseEntity.ok("hedge");
+        });
+
+        // Assert
+        assertEquals("hedge", response.getBody());
+        assertEquals(2, calls.get());
+        assertEquals(1L, stat("observations", "hedges"));
+        assertEquals(1L, stat("observations", "hedgeWins"));
+    }
+
+    @Test
+    void execute_ShouldNotHedgeWhenBudgetIsExhausted() {
+        // Arrange
+        ReflectionTestUtils.setField(hedgedReads, "budgetBurst", 0);
+        hedgedReads.init();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        ResponseEntity<String> response = hedgedReads.execute("species", () -> {
+            calls.incrementAndGet();
+            sleep(80);
+            return ResponseEntity.ok("primary");
+        });
+
+        // Assert
+        assertEquals("primary", response.getBody());
+        assertEquals(1, calls.get());
+        assertEquals(0L, stat("species", "hedges"));
+        assertEquals(1L, stat("species", "hedgesSkipped"));
+    }
+
+    @Test
+    void execute_ShouldRetryServerErrors() {
+        // Arrange
+        hedgedReads.init();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        ResponseEntity<String> response = hedgedReads.execute("profiles", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return ResponseEntity.ok("ok");
+        });
+
+        // Assert
+        assertEquals("ok", response.getBody());
+        assertEquals(2, calls.get());
+        assertEquals(1L, stat("profiles", "retries"));
+    }
+
+    @Test
+    void execute_ShouldNotRetryClientErrors() {
+        // Arrange
+        hedgedReads.init();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(HttpClientErrorException.class, () -> hedgedReads.execute("profiles", () -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_ShouldRetryConnectFailures() {
+        // Arrange
+        hedgedReads.init();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        ResponseEntity<String> response = hedgedReads.execute("profiles", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ResourceAccessException("I/O error", new ConnectException("Connection refused"));
+            }
+            return ResponseEntity.ok("ok");
+        });
+
+        // Assert
+        assertEquals("ok", response.getBody());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ShouldNotRetryReadTimeouts() {
+        // Arrange
+        hedgedReads.init();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () -> hedgedReads.execute("profiles", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out"));
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(0L, stat("profiles", "retries"));
+    }
+
+    @Test
+    void execute_ShouldGiveUpWhenTotalTimeIsExhausted() {
+        // Arrange
+        ReflectionTestUtils.setField(hedgedReads, "maxTotalMs", 100L);
+        ReflectionTestUtils.setField(hedgedReads, "budgetBurst", 0);
+        hedgedReads.init();
+        long start = System.nanoTime();
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () -> hedgedReads.execute("species", () -> {
+            awaitRelease();
+            return ResponseEntity.ok("tarde");
+        }));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object stat(String resource, String name) {
+        Map<String, Object> resources = (Map<String, Object>) hedgedReads.getStats().get("resources");
+        return ((Map<String, Object>) resources.get(resource)).get(name);
+    }
+
+    private void awaitRelease() {
+        try {
+            slowRelease.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
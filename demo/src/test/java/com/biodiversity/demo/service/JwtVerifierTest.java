@@ -0,0 +1,114 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.InvalidTokenException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "super-secret-jwt-token-with-at-least-32-characters";
+    private static final long NOW = 1_800_000_000L;
+
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new JwtVerifier();
+        ReflectionTestUtils.setField(verifier, "enabled", true);
+        ReflectionTestUtils.setField(verifier, "secret", SECRET);
+        ReflectionTestUtils.setField(verifier, "maxEntries", 100L);
+        ReflectionTestUtils.setField(verifier, "clockSkewSeconds", 0L);
+        ReflectionTestUtils.setField(verifier, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(verifier, "clock", Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+        verifier.init();
+    }
+
+    @Test
+    void verify_ShouldReturnClaimsOfValidToken() {
+        // Arrange
+        String token = sign("{\"alg\":\"HS256\",\"typ\":\"JWT\"}",
+                "{\"sub\":\"user-1\",\"role\":\"authenticated\",\"email\":\"a@b.c\",\"exp\":" + (NOW + 3600) + "}",
+                SECRET);
+
+        // Act
+        AuthClaims claims = verifier.verify("Bearer " + token);
+        AuthClaims cached = verifier.verify("Bearer " + token);
+
+        // Assert
+        assertEquals("user-1", claims.userId());
+        assertEquals("authenticated", claims.role());
+        assertEquals("a@b.c", claims.email());
+        assertSame(claims, cached);
+        assertTrue(claims.mayActAs("user-1"));
+        assertFalse(claims.mayActAs("user-2"));
+    }
+
+    @Test
+    void verify_ShouldRejectWrongSignature() {
+        // Arrange
+        String token = sign("{\"alg\":\"HS256\"}", "{\"sub\":\"user-1\",\"exp\":" + (NOW + 3600) + "}",
+                "otro-secreto");
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Bearer " + token));
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredToken() {
+        // Arrange
+        String token = sign("{\"alg\":\"HS256\"}", "{\"sub\":\"user-1\",\"exp\":" + (NOW - 1) + "}", SECRET);
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Bearer " + token));
+    }
+
+    @Test
+    void verify_ShouldRejectUnsignedAndMalformedTokens() {
+        // Arrange
+        String unsigned = encode("{\"alg\":\"none\"}") + "." + encode("{\"sub\":\"x\",\"exp\":" + (NOW + 60) + "}")
+                + ".";
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Bearer " + unsigned));
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Bearer abc.def"));
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Basic dXNlcjpwYXNz"));
+        assertThrows(InvalidTokenException.class, () -> verifier.verify(null));
+    }
+
+    @Test
+    void claimsOf_ShouldBeEmptyWhenVerificationIsDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(verifier, "enabled", false);
+
+        // Act & Assert
+        assertTrue(verifier.claimsOf("Bearer cualquier-cosa").isEmpty());
+    }
+
+    private static String sign(String header, String payload, String secret) {
+        String signingInput = encode(header) + "." + encode(payload);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package com.biodiversity.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongCounterMapTest {
+
+    @Test
+    void add_ShouldMatchReferenceMapUnderRandomIncrementsAndRemovals() {
+        // Arrange
+        LongCounterMap map = new LongCounterMap(4);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000);
+            int delta = random.nextBoolean() ? 1 : -1;
+            map.add(key, delta);
+            int next = reference.getOrDefault(key, 0) + delta;
+            if (next > 0) {
+                reference.put(key, next);
+            } else {
+                reference.remove(key);
+            }
+        }
+
+        // Assert
+        assertEquals(reference.size(), map.size());
+        for (long key = 0; key < 2_000; key++) {
+            assertEquals(reference.getOrDefault(key, 0), map.get(key), "clave " + key);
+        }
+    }
+
+    @Test
+    void add_ShouldDropKeyWhenCountReachesZero() {
+        // Arrange
+        LongCounterMap map = new LongCounterMap(16);
+        map.add(42L, 2);
+
+        // Act
+        map.add(42L, -2);
+
+        // Assert
+        assertEquals(0, map.get(42L));
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.config.SupabaseConfig;
+import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.biodiversity.demo.dto.ObservationBatchResultDTO;
+import com.biodiversity.demo.model.Observation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ObservationBatchServiceTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private SupabaseConfig supabaseConfig;
+
+    @Mock
+    private SpecieCatalogCache specieCatalogCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ObservationBatchService batchService;
+
+    private static final String TEST_AUTH_TOKEN = "test-token";
+    private static final String TEST_SUPABASE_URL = "http://test.supabase.co";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(batchService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(batchService, "chunkSize", 2);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn(TEST_SUPABASE_URL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createObservations_ShouldInsertValidItemsInChunksAndReportInvalidOnes() {
+        // Arrange
+        CreateObservationDTO invalid = dto("user-1");
+        invalid.setLatitude(123);
+        List<CreateObservationDTO> items = List.of(dto("user-1"), invalid, dto("user-1"), dto("user-1"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(List.of(created("id-0"), created("id-2")), HttpStatus.CREATED))
+                .thenReturn(new ResponseEntity<>(List.of(created("id-3")), HttpStatus.CREATED));
+
+        // Act
+        List<ObservationBatchResultDTO> results = batchService.createObservations(TEST_AUTH_TOKEN, items);
+
+        // Assert
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        assertEquals("id-0", results.get(0).getId());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getErrors().get(0).contains("latitud"));
+        assertEquals("id-2", results.get(2).getId());
+        assertEquals("id-3", results.get(3).getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createObservations_ShouldIsolateRejectedRowsWhenChunkFails() {
+        // Arrange
+        List<CreateObservationDTO> items = List.of(dto("user-1"), dto("otro-usuario"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.CONFLICT))
+                .thenReturn(new ResponseEntity<>(List.of(created("id-0")), HttpStatus.CREATED))
+                .thenThrow(new HttpClientErrorException(HttpStatus.CONFLICT));
+
+        // Act
+        List<ObservationBatchResultDTO> results = batchService.createObservations(TEST_AUTH_TOKEN, items);
+
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("id-0", results.get(0).getId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(List.of("Rechazada por Supabase: 409"), results.get(1).getErrors());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createObservations_ShouldFailWholeBatchWithoutSplittingOnUnauthorized() {
+        // Arrange
+        List<CreateObservationDTO> items = List.of(dto("user-1"), dto("user-1"), dto("user-1"), dto("user-1"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+
+        // Act
+        List<ObservationBatchResultDTO> results = batchService.createObservations(TEST_AUTH_TOKEN, items);
+
+        // Assert
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        for (ObservationBatchResultDTO result : results) {
+            assertFalse(result.isSuccess());
+            assertEquals(List.of("Rechazada por Supabase: 401"), result.getErrors());
+        }
+    }
+
+    private CreateObservationDTO dto(String userId) {
+        CreateObservationDTO dto = new CreateObservationDTO();
+        dto.setDate(LocalDate.of(2025, 5, 6));
+        dto.setLatitude(4.81f);
+        dto.setLongitude(-75.69f);
+        dto.setIdObserverUser(userId);
+        return dto;
+    }
+
+    private Observation created(String id) {
+        Observation observation = new Observation();
+        observation.setId(id);
+        return observation;
+    }
+}
@@ -0,0 +1,43 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.InvalidCursorException;
+import com.biodiversity.demo.model.Observation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservationCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripEncodedCursor() {
+        // Arrange
+        Observation last = new Observation();
+        last.setId("abc-123");
+        last.setCreatedAt("2025-05-06T05:15:30-05:00");
+
+        // Act
+        ObservationCursor cursor = ObservationCursor.decode(ObservationCursor.encode(last));
+
+        // Assert
+        assertEquals("or=(created_at.lt.2025-05-06T10:15:30Z,and(created_at.eq.2025-05-06T10:15:30Z,"
+                + "id_observation.lt.abc-123))", cursor.filter());
+    }
+
+    @Test
+    void encode_ShouldReturnNullWithoutCreatedAt() {
+        // Arrange
+        Observation last = new Observation();
+        last.setId("abc-123");
+
+        // Act & Assert
+        assertNull(ObservationCursor.encode(last));
+    }
+
+    @Test
+    void decode_ShouldRejectTamperedCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> ObservationCursor.decode("no-es-un-cursor"));
+        assertThrows(InvalidCursorException.class, () -> ObservationCursor.decode(
+                java.util.Base64.getUrlEncoder().encodeToString("2025-05-06T10:15:30Z|1),or(x".getBytes())));
+    }
+}
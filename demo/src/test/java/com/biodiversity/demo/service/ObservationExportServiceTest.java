@@ -0,0 +1,116 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.config.SupabaseConfig;
+import com.biodiversity.demo.model.Observation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ObservationExportServiceTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private SupabaseConfig supabaseConfig;
+
+    @InjectMocks
+    private ObservationExportService exportService;
+
+    private static final String TEST_AUTH_TOKEN = "test-token";
+    private static final String TEST_SUPABASE_URL = "http://test.supabase.co";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(exportService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn(TEST_SUPABASE_URL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_ShouldPageUpstreamWithCursorUntilEmptyChunk() throws Exception {
+        // Arrange
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(List.of(observation("a", "nota, con coma"), observation("b", null)),
+                        HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(List.of(observation("c", null)), HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(List.of(), HttpStatus.OK));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(TEST_AUTH_TOKEN, null, ObservationExportService.Format.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("a,"));
+        assertTrue(lines[1].contains("\"nota, con coma\""));
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(restTemplate, times(3)).exchange(urls.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        assertFalse(urls.getAllValues().get(0).contains("or=("));
+        assertTrue(urls.getAllValues().get(1).contains("id_observation.lt.b"));
+        assertTrue(urls.getAllValues().get(2).contains("id_observation.lt.c"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_ShouldWriteDarwinCoreArchive() throws Exception {
+        // Arrange
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(List.of(observation("a", "linea\tcon\ttabs")), HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(List.of(), HttpStatus.OK));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(TEST_AUTH_TOKEN, null, ObservationExportService.Format.DWCA, out);
+
+        // Assert
+        List<String> entries = new ArrayList<>();
+        String occurrences = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName());
+                if (entry.getName().equals("occurrence.txt")) {
+                    occurrences = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        assertEquals(List.of("meta.xml", "occurrence.txt", "eml.xml"), entries);
+        String[] lines = occurrences.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(ObservationExportService.DWC_TERMS.length + 1, lines[1].split("\t", -1).length);
+    }
+
+    private Observation observation(String id, String note) {
+        Observation observation = new Observation();
+        observation.setId(id);
+        observation.setNote(note);
+        observation.setCreatedAt("2025-05-06T10:15:30+00:00");
+        return observation;
+    }
+}
@@ -0,0 +1,140 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservationGeoIndexTest {
+
+    private static final Predicate<ObservationPoint> ANY = point -> true;
+
+    private ObservationGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ObservationGeoIndex();
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.1);
+        index.init();
+    }
+
+    @Test
+    void withinBox_ShouldReturnOnlyPointsInsideTheBox() {
+        // Arrange
+        index.onChange(null, point("dentro", 4.80, -75.70, "s1"));
+        index.onChange(null, point("fuera", 5.50, -75.70, "s1"));
+
+        // Act
+        List<ObservationPoint> points = index.withinBox(4.5, -76.0, 5.0, -75.5, ANY, 100);
+
+        // Assert
+        assertEquals(List.of("dentro"), points.stream().map(ObservationPoint::getId).toList());
+    }
+
+    @Test
+    void withinBox_ShouldHandleBoxAcrossAntimeridian() {
+        // Arrange
+        index.onChange(null, point("este", -17.0, 179.9, "s1"));
+        index.onChange(null, point("oeste", -17.0, -179.9, "s1"));
+        index.onChange(null, point("lejos", -17.0, 0.0, "s1"));
+
+        // Act
+        List<ObservationPoint> points = index.withinBox(-18, 179, -16, -179, ANY, 100);
+
+        // Assert
+        assertEquals(2, points.size());
+    }
+
+    @Test
+    void onChange_ShouldMovePointBetweenCellsOnUpdateAndRemoveOnDelete() {
+        // Arrange
+        ObservationPoint before = point("obs", 4.80, -75.70, "s1");
+        ObservationPoint after = point("obs", 10.0, -70.0, "s1");
+        index.onChange(null, before);
+
+        // Act
+        index.onChange(before, after);
+
+        // Assert
+        assertTrue(index.withinRadius(4.80, -75.70, 5, ANY, 10).isEmpty());
+        assertEquals(1, index.withinRadius(10.0, -70.0, 5, ANY, 10).size());
+
+        // Act
+        index.onChange(after, null);
+
+        // Assert
+        assertTrue(index.withinRadius(10.0, -70.0, 5, ANY, 10).isEmpty());
+    }
+
+    @Test
+    void nearest_ShouldMatchBruteForceOrdering() {
+        // Arrange
+        Random random = new Random(42);
+        List<ObservationPoint> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            ObservationPoint point = point("p" + i, 4 + random.nextDouble() * 2, -76 + random.nextDouble() * 2,
+                    i % 2 == 0 ? "par" : "impar");
+            all.add(point);
+            index.onChange(null, point);
+        }
+        Predicate<ObservationPoint> filter = ObservationGeoIndex.filter("par", null, null, null);
+
+        // Act
+        List<ObservationGeoIndex.Hit> hits = index.nearest(5.0, -75.0, 15, filter);
+
+        // Assert
+        List<String> expected = all.stream().filter(filter)
+                .sorted(Comparator.comparingDouble(
+                        p -> ObservationGeoIndex.distanceKm(5.0, -75.0, p.getLatitude(), p.getLongitude())))
+                .limit(15).map(ObservationPoint::getId).toList();
+        assertEquals(expected, hits.stream().map(hit -> hit.getPoint().getId()).toList());
+    }
+
+    @Test
+    void withinRadius_ShouldKeepClosestHitsWithinLimit() {
+        // Arrange
+        index.onChange(null, point("cerca", 5.00, -75.00, "s1"));
+        index.onChange(null, point("media", 5.05, -75.00, "s1"));
+        index.onChange(null, point("lejos", 5.30, -75.00, "s1"));
+        index.onChange(null, point("fuera", 8.00, -75.00, "s1"));
+
+        // Act
+        List<ObservationGeoIndex.Hit> hits = index.withinRadius(5.0, -75.0, 50, ANY, 2);
+
+        // Assert
+        assertEquals(List.of("cerca", "media"), hits.stream().map(hit -> hit.getPoint().getId()).toList());
+    }
+
+    @Test
+    void withinBox_ShouldScanOccupiedCellsForWorldSizedBox() {
+        // Arrange
+        index.onChange(null, point("colombia", 4.80, -75.70, "s1"));
+        index.onChange(null, point("japon", 35.6, 139.7, "s1"));
+        index.onChange(null, point("sur", -60.0, 10.0, "s1"));
+
+        // Act
+        List<ObservationPoint> points = index.withinBox(-50, -180, 90, 180, ANY, 100);
+
+        // Assert
+        assertEquals(List.of("colombia", "japon"), points.stream().map(ObservationPoint::getId).sorted().toList());
+    }
+
+    @Test
+    void nearest_ShouldReturnEmptyOnEmptyIndex() {
+        // Act & Assert
+        assertTrue(index.nearest(0, 0, 5, ANY).isEmpty());
+    }
+
+    private ObservationPoint point(String id, double lat, double lon, String idSpecie) {
+        return new ObservationPoint(id, lat, lon, idSpecie, "fauna", false, LocalDate.of(2025, 5, 6));
+    }
+}
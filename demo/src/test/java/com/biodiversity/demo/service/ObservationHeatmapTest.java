@@ -0,0 +1,83 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservationHeatmapTest {
+
+    private ObservationHeatmap heatmap;
+
+    @BeforeEach
+    void setUp() {
+        heatmap = new ObservationHeatmap();
+        ReflectionTestUtils.setField(heatmap, "zooms", List.of(4, 8));
+        ReflectionTestUtils.setField(heatmap, "binBits", 4);
+        heatmap.init();
+    }
+
+    @Test
+    void tile_ShouldCountObservationsPerBinAndSplitBySpeciesAndStatus() {
+        // Arrange
+        heatmap.onChange(null, point("a", "s1", true));
+        heatmap.onChange(null, point("b", "s2", false));
+        heatmap.onChange(null, point("c", "s3", false));
+        int x = (int) ObservationHeatmap.tileX(-75.7, 8);
+        int y = (int) ObservationHeatmap.tileY(4.8, 8);
+
+        // Act
+        ObservationHeatmap.Tile all = heatmap.tile(8, x, y, null, null);
+        ObservationHeatmap.Tile fauna = heatmap.tile(8, x, y, List.of("s1", "s2", "unknown"), null);
+        ObservationHeatmap.Tile faunaVerified = heatmap.tile(8, x, y, List.of("s1", "s2"), true);
+        ObservationHeatmap.Tile verified = heatmap.tile(8, x, y, null, true);
+        ObservationHeatmap.Tile unverified = heatmap.tile(8, x, y, null, false);
+        ObservationHeatmap.Tile none = heatmap.tile(8, x, y, List.of(), null);
+
+        // Assert
+        assertEquals(3, all.getTotal());
+        assertEquals(1, all.getCells().size());
+        assertEquals(2, fauna.getTotal());
+        assertEquals(1, faunaVerified.getTotal());
+        assertEquals(1, verified.getTotal());
+        assertEquals(2, unverified.getTotal());
+        assertEquals(0, none.getTotal());
+    }
+
+    @Test
+    void onChange_ShouldDecrementOnDeleteAndMoveOnUpdate() {
+        // Arrange
+        ObservationPoint before = point("a", "s1", false);
+        ObservationPoint after = new ObservationPoint("a", -33.4, -70.6, "s1", "campo", true, null);
+        heatmap.onChange(null, before);
+
+        // Act
+        heatmap.onChange(before, after);
+
+        // Assert
+        int x = (int) ObservationHeatmap.tileX(-75.7, 4);
+        int y = (int) ObservationHeatmap.tileY(4.8, 4);
+        assertEquals(0, heatmap.tile(4, x, y, null, null).getTotal());
+        int x2 = (int) ObservationHeatmap.tileX(-70.6, 4);
+        int y2 = (int) ObservationHeatmap.tileY(-33.4, 4);
+        assertEquals(1, heatmap.tile(4, x2, y2, List.of("s1"), true).getTotal());
+    }
+
+    @Test
+    void tileCoordinates_ShouldFollowSlippyMapScheme() {
+        // Assert
+        assertEquals(0, ObservationHeatmap.tileX(-180, 1));
+        assertEquals(1, ObservationHeatmap.tileX(179.9, 1));
+        assertEquals(0, ObservationHeatmap.tileY(60, 1));
+        assertEquals(1, ObservationHeatmap.tileY(-60, 1));
+    }
+
+    private ObservationPoint point(String id, String idSpecie, boolean verified) {
+        return new ObservationPoint(id, 4.8, -75.7, idSpecie, "campo", verified, LocalDate.of(2025, 5, 6));
+    }
+}
@@ -0,0 +1,171 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.config.SupabaseConfig;
+import com.biodiversity.demo.dto.ImageUploadDTO;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.model.Observation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ObservationImageServiceTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private SupabaseConfig supabaseConfig;
+
+    @Mock
+    private ObservationService observationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ObservationImageService imageService;
+
+    @TempDir
+    Path storageRoot;
+
+    private ImageStorage imageStorage;
+
+    private static final String TEST_AUTH_TOKEN = "test-token";
+    private static final String TEST_SUPABASE_URL = "http://test.supabase.co";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        imageStorage = new ImageStorage();
+        ReflectionTestUtils.setField(imageStorage, "root", storageRoot);
+        ReflectionTestUtils.setField(imageStorage, "publicUrl", "/storage");
+        imageStorage.init();
+
+        ReflectionTestUtils.setField(imageService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(imageService, "imageStorage", imageStorage);
+        ReflectionTestUtils.setField(imageService, "thumbnailSize", 320);
+        ReflectionTestUtils.setField(imageService, "thumbnailQuality", 0.8f);
+        ReflectionTestUtils.setField(imageService, "maxPixels", 50_000_000L);
+        ReflectionTestUtils.setField(imageService, "workers", 1);
+        ReflectionTestUtils.setField(imageService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(imageService, "shutdownTimeoutMs", 5000L);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn(TEST_SUPABASE_URL);
+        imageService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        imageService.shutdown();
+    }
+
+    @Test
+    void upload_ShouldStoreOriginalAndAppendThumbnailToImages() throws Exception {
+        // Arrange
+        Observation stored = new Observation();
+        stored.setId("obs-1");
+        stored.setImages(List.of("/storage/anterior_thumb.jpg"));
+        when(observationService.getObservationById(TEST_AUTH_TOKEN, "obs-1"))
+                .thenReturn(ResponseEntity.ok(List.of(stored)));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenReturn(ResponseEntity.ok(stored));
+        byte[] png = png(2000, 1000);
+        MockMultipartFile file = new MockMultipartFile("file", "foto.png", MediaType.IMAGE_PNG_VALUE, png);
+
+        // Act
+        ImageUploadDTO upload = imageService.upload(TEST_AUTH_TOKEN, "obs-1", file);
+        imageService.shutdown();
+
+        // Assert
+        assertTrue(upload.getOriginalUrl().startsWith("/storage/observations/obs-1/"));
+        assertTrue(upload.getOriginalUrl().endsWith(".png"));
+        assertEquals(upload.getOriginalUrl().replace(".png", ObservationImageService.THUMBNAIL_SUFFIX),
+                upload.getThumbnailUrl());
+        Path original = imageStorage.resolve(upload.getOriginalUrl().substring("/storage/".length()));
+        assertArrayEquals(png, Files.readAllBytes(original));
+
+        BufferedImage thumbnail = ImageIO.read(
+                imageStorage.resolve(upload.getThumbnailUrl().substring("/storage/".length())).toFile());
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(160, thumbnail.getHeight());
+
+        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq(TEST_SUPABASE_URL + "/rest/v1/observations?id_observation=eq.obs-1"),
+                eq(HttpMethod.PATCH), captor.capture(), eq(Observation.class));
+        assertEquals(Map.of("images", List.of("/storage/anterior_thumb.jpg", upload.getThumbnailUrl())),
+                captor.getValue().getBody());
+        verify(eventPublisher).publishEvent(any(ObservationChangedEvent.class));
+        assertEquals(1L, imageService.getStats().get("thumbnailsGenerated"));
+    }
+
+    @Test
+    void upload_ShouldReturnNullWhenObservationIsMissing() throws IOException {
+        // Arrange
+        when(observationService.getObservationById(TEST_AUTH_TOKEN, "obs-1"))
+                .thenReturn(ResponseEntity.ok(List.of()));
+        MockMultipartFile file = new MockMultipartFile("file", "foto.png", MediaType.IMAGE_PNG_VALUE, png(10, 10));
+
+        // Act
+        ImageUploadDTO upload = imageService.upload(TEST_AUTH_TOKEN, "obs-1", file);
+
+        // Assert
+        assertNull(upload);
+        assertFalse(Files.exists(storageRoot.resolve("observations")));
+    }
+
+    @Test
+    void generate_ShouldNotPatchWhenImageExceedsPixelLimit() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(imageService, "maxPixels", 100L);
+        Observation stored = new Observation();
+        when(observationService.getObservationById(TEST_AUTH_TOKEN, "obs-1"))
+                .thenReturn(ResponseEntity.ok(List.of(stored)));
+        MockMultipartFile file = new MockMultipartFile("file", "foto.png", MediaType.IMAGE_PNG_VALUE, png(20, 20));
+
+        // Act
+        imageService.upload(TEST_AUTH_TOKEN, "obs-1", file);
+        imageService.shutdown();
+
+        // Assert
+        verify(restTemplate, never()).exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class),
+                eq(Observation.class));
+        assertEquals(1L, imageService.getStats().get("thumbnailsFailed"));
+    }
+
+    @Test
+    void isSupported_ShouldAcceptOnlyJpegAndPng() {
+        assertTrue(ObservationImageService.isSupported("image/jpeg"));
+        assertTrue(ObservationImageService.isSupported("image/png"));
+        assertFalse(ObservationImageService.isSupported("image/gif"));
+        assertFalse(ObservationImageService.isSupported(null));
+        assertFalse(ObservationImageService.isValidId("../otra"));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,159 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.config.SupabaseConfig;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.exception.IndexUnavailableException;
+import com.biodiversity.demo.model.Observation;
+import com.biodiversity.demo.model.ObservationPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ObservationMirrorTest {
+
+    @Mock
+    private ObservationExportService exportService;
+
+    @Mock
+    private SupabaseConfig supabaseConfig;
+
+    @InjectMocks
+    private ObservationMirror mirror;
+
+    private final List<String> changes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(mirror, "enabled", true);
+        ReflectionTestUtils.setField(mirror, "listeners", List.<ObservationMirrorListener>of(
+                (before, after) -> changes.add((before != null ? before.getId() : "-") + ">"
+                        + (after != null ? after.getId() : "-"))));
+        when(supabaseConfig.getSupabaseServiceRoleKey()).thenReturn("service-key");
+    }
+
+    @Test
+    void load_ShouldBootstrapOnceAndNotifyListeners() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            ObservationExportService.ChunkWriter writer = invocation.getArgument(2);
+            writer.write(List.of(observation("a", 4.8f), observation("b", 5.1f)));
+            return 2L;
+        }).when(exportService).forEachChunk(eq("Bearer service-key"), isNull(), any());
+
+        // Act
+        mirror.load();
+        mirror.load();
+
+        // Assert
+        verify(exportService, times(1)).forEachChunk(anyString(), isNull(), any());
+        assertEquals(2, mirror.size());
+        assertTrue(changes.containsAll(List.of("->a", "->b")));
+    }
+
+    @Test
+    void load_ShouldPreferEventsReceivedDuringBootstrap() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            mirror.onObservationChanged(ObservationChangedEvent.deleted("a"));
+            mirror.onObservationChanged(ObservationChangedEvent.updated("b", observation("b", 9f)));
+            ObservationExportService.ChunkWriter writer = invocation.getArgument(2);
+            writer.write(List.of(observation("a", 4.8f), observation("b", 5.1f)));
+            return 2L;
+        }).when(exportService).forEachChunk(anyString(), isNull(), any());
+
+        // Act
+        mirror.load();
+
+        // Assert
+        assertNull(mirror.get("a"));
+        ObservationPoint b = mirror.get("b");
+        assertEquals(9.0, b.getLatitude(), 1e-6);
+    }
+
+    @Test
+    void ensureLoaded_ShouldAnswerUnavailableWhileLoadingInBackground() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            ObservationExportService.ChunkWriter writer = invocation.getArgument(2);
+            writer.write(List.of(observation("a", 4.8f)));
+            return 1L;
+        }).when(exportService).forEachChunk(anyString(), isNull(), any());
+
+        // Act & Assert
+        IndexUnavailableException loading = assertThrows(IndexUnavailableException.class, mirror::ensureLoaded);
+        assertEquals("El índice de observaciones se está inicializando", loading.getMessage());
+        assertThrows(IndexUnavailableException.class, mirror::ensureLoaded);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        verify(exportService, timeout(2000)).forEachChunk(anyString(), isNull(), any());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!Boolean.TRUE.equals(mirror.getStats().get("loaded")) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertDoesNotThrow(mirror::ensureLoaded);
+        assertEquals(1, mirror.size());
+        verify(exportService, times(1)).forEachChunk(anyString(), isNull(), any());
+    }
+
+    @Test
+    void onObservationChanged_ShouldEmitBeforeAndAfterForUpdates() {
+        // Act
+        mirror.onObservationChanged(ObservationChangedEvent.created(observation("a", 4.8f)));
+        mirror.onObservationChanged(ObservationChangedEvent.updated("a", observation("a", 5.0f)));
+        mirror.onObservationChanged(ObservationChangedEvent.deleted("a"));
+
+        // Assert
+        assertEquals(List.of("->a", "a>a", "a>-"), changes);
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftAgainstSource() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            ObservationExportService.ChunkWriter writer = invocation.getArgument(2);
+            writer.write(List.of(observation("a", 4.8f), observation("b", 5.1f)));
+            return 2L;
+        }).doAnswer(invocation -> {
+            ObservationExportService.ChunkWriter writer = invocation.getArgument(2);
+            writer.write(List.of(observation("a", 6.0f), observation("c", 1.0f)));
+            return 2L;
+        }).when(exportService).forEachChunk(anyString(), isNull(), any());
+        mirror.load();
+        changes.clear();
+
+        // Act
+        mirror.reconcile();
+
+        // Assert
+        assertTrue(changes.containsAll(List.of("a>a", "->c", "b>-")));
+        assertEquals(3, changes.size());
+        assertEquals(3, mirror.getStats().get("lastCorrections"));
+        assertNull(mirror.get("b"));
+    }
+
+    private Observation observation(String id, float latitude) {
+        Observation observation = new Observation();
+        observation.setId(id);
+        observation.setLatitude(latitude);
+        observation.setLongitude(-75.7f);
+        return observation;
+    }
+}
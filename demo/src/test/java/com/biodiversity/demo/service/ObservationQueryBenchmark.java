@@ -0,0 +1,54 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.benchmark.BenchmarkFixtures;
+import com.biodiversity.demo.model.Observation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de las URLs de PostgREST en la ruta de lectura de observaciones.
+ * Vive en el paquete de servicios porque los constructores de consultas son package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-XX:+UseParallelGC" })
+@State(Scope.Benchmark)
+public class ObservationQueryBenchmark {
+
+    private String cursor;
+    private SpecieNameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        Observation last = BenchmarkFixtures.observations(1).get(0);
+        cursor = ObservationCursor.encode(last);
+        nameIndex = new SpecieNameIndex(BenchmarkFixtures.species(2_000));
+    }
+
+    @Benchmark
+    public String offsetPageQuery() {
+        return ObservationService.allObservationsQuery(3, 5, null);
+    }
+
+    @Benchmark
+    public String feedQueryWithCursor() {
+        return ObservationService.observationFeedQuery(cursor, 20, null);
+    }
+
+    @Benchmark
+    public String userFeedVersionQuery() {
+        return ObservationService.versionQuery(ObservationService.observationFeedByUserQuery(
+                "6f1c2a9e-0b7d-4c1e-9a53-1d2f3e4a5b6c", cursor, 20));
+    }
+
+    @Benchmark
+    public String speciesNameFilter() {
+        List<String> ids = nameIndex.resolveIds("condor", SpecieService.MAX_SEARCH_RESULTS);
+        return ObservationService.speciesFilter("condor", Optional.of(ids));
+    }
+}
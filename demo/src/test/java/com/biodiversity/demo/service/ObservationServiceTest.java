@@ -2,12 +2,16 @@ package com.biodiversity.demo.service;
 
 import com.biodiversity.demo.config.SupabaseConfig;
 import com.biodiversity.demo.dto.CreateObservationDTO;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.exception.ObserverMismatchException;
 import com.biodiversity.demo.model.Observation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -15,10 +19,11 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class ObservationServiceTest {
 
@@ -28,6 +33,12 @@ class ObservationServiceTest {
     @Mock
     private SupabaseConfig supabaseConfig;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SpecieService specieService;
+
     @InjectMocks
     private ObservationService observationService;
 
@@ -114,6 +125,22 @@ class ObservationServiceTest {
         assertEquals(expectedObservations, response.getBody());
     }
 
+    @Test
+    void createObservation_ShouldRejectOtherObserverWithoutUpstreamCall() {
+        // Arrange
+        CreateObservationDTO dto = new CreateObservationDTO();
+        dto.setIdObserverUser("user-2");
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        when(jwtVerifier.claimsOf(TEST_AUTH_TOKEN))
+                .thenReturn(Optional.of(new AuthClaims("user-1", "authenticated", null, Long.MAX_VALUE)));
+        ReflectionTestUtils.setField(observationService, "jwtVerifier", jwtVerifier);
+
+        // Act & Assert
+        assertThrows(ObserverMismatchException.class,
+                () -> observationService.createObservation(TEST_AUTH_TOKEN, dto));
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void updateObservation_ShouldReturnUpdatedObservation() {
         // Arrange
@@ -155,4 +182,120 @@ class ObservationServiceTest {
         assertNotNull(response);
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void observationFeedQuery_ShouldSeekPastCursorAndFetchOneExtraRow() {
+        // Arrange
+        Observation last = new Observation();
+        last.setId("6f1c2a9e-0b7d-4c1e-9a53-1d2f3e4a5b6c");
+        last.setCreatedAt("2025-05-06T10:15:30.123456+00:00");
+        String cursor = ObservationCursor.encode(last);
+
+        // Act
+        String url = ObservationService.observationFeedQuery(cursor, 10, null);
+
+        // Assert
+        assertTrue(url.contains("order=created_at.desc,id_observation.desc"));
+        assertTrue(url.contains("&limit=11"));
+        assertTrue(url.contains("or=(created_at.lt.2025-05-06T10:15:30.123456Z,and(created_at.eq."
+                + "2025-05-06T10:15:30.123456Z,id_observation.lt.6f1c2a9e-0b7d-4c1e-9a53-1d2f3e4a5b6c))"));
+        assertFalse(url.contains("offset"));
+    }
+
+    @Test
+    void observationFeedQuery_ShouldCapPageSize() {
+        // Act
+        String url = ObservationService.observationFeedQuery(null, 1000, null);
+
+        // Assert
+        assertTrue(url.endsWith("&limit=" + (ObservationService.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void getAllObservations_ShouldPushDownResolvedSpecieIds() {
+        // Arrange
+        when(specieService.resolveSpecieIds(TEST_AUTH_TOKEN, "condr"))
+                .thenReturn(Optional.of(List.of("sp-1", "sp-2")));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<List<Observation>>>any()))
+                .thenReturn(new ResponseEntity<>(List.of(new Observation()), HttpStatus.OK));
+
+        // Act
+        observationService.getAllObservations(TEST_AUTH_TOKEN, 1, "condr");
+
+        // Assert
+        verify(restTemplate).exchange(
+                eq(TEST_SUPABASE_URL + ObservationService.OBSERVATIONS_ENDPOINT
+                        + "?order=created_at.desc,id_observation.desc&limit=5&offset=0&id_specie=in.(sp-1,sp-2)"),
+                eq(HttpMethod.GET), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<List<Observation>>>any());
+    }
+
+    @Test
+    void getObservationFeed_ShouldSkipUpstreamWhenNoSpecieMatches() {
+        // Arrange
+        when(specieService.resolveSpecieIds(TEST_AUTH_TOKEN, "xyzzy")).thenReturn(Optional.of(List.of()));
+
+        // Act
+        ResponseEntity<List<Observation>> response = observationService.getObservationFeed(TEST_AUTH_TOKEN, null, 5,
+                "xyzzy");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isEmpty());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void speciesFilter_ShouldSanitizeIlikeFallbackWhenCatalogUnavailable() {
+        // Act
+        String filter = ObservationService.speciesFilter("pato&id_observer_user=eq.x*", Optional.empty());
+
+        // Assert
+        assertEquals("specie_common_name=ilike.*patoidobserverusereqx*", filter);
+    }
+
+    @Test
+    void versionQuery_ShouldKeepRowSelectionAndFetchOnlyVersionColumns() {
+        // Act
+        String url = ObservationService.versionQuery(ObservationService.observationsByUserQuery("user-1", 2, 5));
+
+        // Assert
+        assertEquals(ObservationService.OBSERVATIONS_ENDPOINT + "?id_observer_user=eq.user-1"
+                + "&order=created_at.desc,id_observation.desc&limit=5&offset=5&select=id_observation,updated_at", url);
+    }
+
+    @Test
+    void updateObservation_ShouldPatchByIdObservationAndPublishUpdatedEvent() {
+        // Arrange
+        Observation updated = new Observation();
+        updated.setId("obs-1");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenReturn(new ResponseEntity<>(updated, HttpStatus.OK));
+
+        // Act
+        observationService.updateObservation(TEST_AUTH_TOKEN, "obs-1", new Observation());
+
+        // Assert
+        verify(restTemplate).exchange(eq(TEST_SUPABASE_URL + "/rest/v1/observations?id_observation=eq.obs-1"),
+                eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ObservationChangedEvent e
+                && e.getType() == ObservationChangedEvent.Type.UPDATED && e.getObservation() == updated));
+    }
+
+    @Test
+    void deleteObservation_ShouldPublishDeletedEvent() {
+        // Arrange
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+        // Act
+        observationService.deleteObservation(TEST_AUTH_TOKEN, "obs-1");
+
+        // Assert
+        verify(restTemplate).exchange(eq(TEST_SUPABASE_URL + "/rest/v1/observations?id_observation=eq.obs-1"),
+                eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Void.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ObservationChangedEvent e
+                && e.getType() == ObservationChangedEvent.Type.DELETED && e.getId().equals("obs-1")));
+    }
+}
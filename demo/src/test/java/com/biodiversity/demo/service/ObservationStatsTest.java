@@ -0,0 +1,67 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.ObservationPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservationStatsTest {
+
+    private final ObservationStats stats = new ObservationStats();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRollups_ShouldCountBySpeciesMonthTypeAndVerification() {
+        // Arrange
+        stats.onChange(null, point("a", "condor", "Fauna", true, LocalDate.of(2025, 5, 6)));
+        stats.onChange(null, point("b", "condor", "fauna", false, LocalDate.of(2025, 12, 1)));
+        stats.onChange(null, point("c", "frailejon", "flora", false, null));
+
+        // Act
+        Map<String, Object> rollups = stats.getRollups(null);
+
+        // Assert
+        assertEquals(3, rollups.get("total"));
+        assertEquals(Map.of("condor", 2, "frailejon", 1), rollups.get("bySpecies"));
+        assertEquals(Map.of("fauna", 2, "flora", 1), rollups.get("byType"));
+        assertEquals(Map.of("2025-05", 1, "2025-12", 1, "sin-fecha", 1), rollups.get("byMonth"));
+        assertEquals(Map.of("verified", 1, "unverified", 2), rollups.get("byVerification"));
+    }
+
+    @Test
+    void onChange_ShouldApplyUpdateAndDeleteDeltas() {
+        // Arrange
+        ObservationPoint before = point("a", "condor", "fauna", false, LocalDate.of(2025, 5, 6));
+        ObservationPoint after = point("a", "condor", "fauna", true, LocalDate.of(2025, 6, 1));
+        stats.onChange(null, before);
+
+        // Act
+        stats.onChange(before, after);
+
+        // Assert
+        Map<String, Object> condor = stats.getRollups("condor");
+        assertEquals(1, condor.get("total"));
+        assertEquals(Map.of("2025-06", 1), condor.get("byMonth"));
+
+        // Act
+        stats.onChange(after, null);
+
+        // Assert
+        assertEquals(0, stats.getRollups(null).get("total"));
+        assertEquals(Map.of(), stats.getRollups("condor").get("byMonth"));
+    }
+
+    @Test
+    void monthLabel_ShouldRoundTripMonthKey() {
+        // Assert
+        assertEquals("2024-01", ObservationStats.monthLabel(ObservationStats.monthOf(LocalDate.of(2024, 1, 31))));
+        assertEquals("2024-12", ObservationStats.monthLabel(ObservationStats.monthOf(LocalDate.of(2024, 12, 1))));
+    }
+
+    private ObservationPoint point(String id, String idSpecie, String type, boolean verified, LocalDate date) {
+        return new ObservationPoint(id, 4.8, -75.7, idSpecie, type, verified, date);
+    }
+}
@@ -0,0 +1,244 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.config.SupabaseConfig;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.model.Observation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ObservationWriteBehindTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private SupabaseConfig supabaseConfig;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ObservationWriteBehind writeBehind;
+
+    private static final String TEST_SUPABASE_URL = "http://test.supabase.co";
+    private static final String PATCH_URL = TEST_SUPABASE_URL + "/rest/v1/observations?id_observation=eq.obs-1";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReflectionTestUtils.setField(writeBehind, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(writeBehind, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(writeBehind, "windowMs", 3_600_000L);
+        ReflectionTestUtils.setField(writeBehind, "maxPending", 100);
+        ReflectionTestUtils.setField(writeBehind, "maxAttempts", 3);
+        ReflectionTestUtils.setField(writeBehind, "threads", 1);
+        ReflectionTestUtils.setField(writeBehind, "shutdownTimeoutMs", 1000L);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn(TEST_SUPABASE_URL);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenReturn(ResponseEntity.ok(new Observation()));
+        writeBehind.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void enqueue_ShouldMergeUpdatesToSameIdIntoOnePatch() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(writeBehind, "windowMs", 50L);
+
+        // Act
+        ResponseEntity<Observation> firstResponse = writeBehind.enqueue("token", "obs-1",
+                changes("note", "primera nota"));
+        ResponseEntity<Observation> secondResponse = writeBehind.enqueue("token", "obs-1",
+                changes("state", "Activa"));
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, firstResponse.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, secondResponse.getStatusCode());
+        assertEquals("obs-1", secondResponse.getBody().getId());
+        assertEquals("primera nota", secondResponse.getBody().getNote());
+        assertEquals("Activa", secondResponse.getBody().getState());
+
+        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(2000)).exchange(eq(PATCH_URL), eq(HttpMethod.PATCH), captor.capture(),
+                eq(Observation.class));
+        assertEquals(changes("note", "primera nota", "state", "Activa"), captor.getValue().getBody());
+        verify(eventPublisher, timeout(2000)).publishEvent(any(ObservationChangedEvent.class));
+        Thread.sleep(200);
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class),
+                eq(Observation.class));
+        assertFalse(writeBehind.isPending("obs-1"));
+    }
+
+    @Test
+    void enqueue_ShouldLetLaterValueOfSameFieldWin() throws InterruptedException {
+        // Arrange
+        writeBehind.enqueue("token", "obs-1", changes("note", "borrador", "state", "Activa"));
+
+        // Act
+        writeBehind.enqueue("token", "obs-1", changes("note", "definitiva"));
+        writeBehind.shutdown();
+
+        // Assert
+        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq(PATCH_URL), eq(HttpMethod.PATCH), captor.capture(), eq(Observation.class));
+        assertEquals(changes("note", "definitiva", "state", "Activa"), captor.getValue().getBody());
+    }
+
+    @Test
+    void shutdown_ShouldFlushPendingBatchesInOrderPerToken() throws InterruptedException {
+        // Arrange
+        List<String> sentNotes = new ArrayList<>();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenAnswer(invocation -> {
+                    HttpEntity<?> entity = invocation.getArgument(2);
+                    sentNotes.add(((ObjectNode) entity.getBody()).get("note").asText()
+                            + "@" + entity.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+                    return ResponseEntity.ok(new Observation());
+                });
+        writeBehind.enqueue("Bearer a", "obs-1", changes("note", "uno"));
+        writeBehind.enqueue("Bearer b", "obs-1", changes("note", "dos"));
+        writeBehind.enqueue("Bearer b", "obs-1", changes("note", "tres"));
+
+        // Act
+        writeBehind.shutdown();
+
+        // Assert
+        assertEquals(List.of("uno@Bearer a", "tres@Bearer b"), sentNotes);
+        assertNull(writeBehind.enqueue("Bearer a", "obs-1", changes("note", "tarde")));
+    }
+
+    @Test
+    void overlay_ShouldApplyPendingChangesToReadRows() {
+        // Arrange
+        writeBehind.enqueue("token", "obs-1", changes("note", "pendiente"));
+        Observation stored = observation("guardada", "Inactiva");
+        stored.setId("obs-1");
+        Observation other = observation("otra", "Inactiva");
+        other.setId("obs-2");
+
+        // Act
+        ResponseEntity<List<Observation>> response = writeBehind.overlay(ResponseEntity.ok(List.of(stored, other)));
+
+        // Assert
+        assertEquals("obs-1", response.getBody().get(0).getId());
+        assertEquals("pendiente", response.getBody().get(0).getNote());
+        assertEquals("Inactiva", response.getBody().get(0).getState());
+        assertEquals("otra", response.getBody().get(1).getNote());
+        assertTrue(writeBehind.isPending("obs-1"));
+    }
+
+    @Test
+    void flush_ShouldRetryServerErrorsKeepingTheBatch() throws InterruptedException {
+        // Arrange
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .thenReturn(ResponseEntity.ok(new Observation()));
+        writeBehind.enqueue("token", "obs-1", changes("note", "nota"));
+        writeBehind.discard("obs-2");
+
+        // Act
+        writeBehind.shutdown();
+
+        // Assert
+        InOrder inOrder = inOrder(restTemplate, eventPublisher);
+        inOrder.verify(restTemplate, times(2)).exchange(eq(PATCH_URL), eq(HttpMethod.PATCH), any(HttpEntity.class),
+                eq(Observation.class));
+        inOrder.verify(eventPublisher).publishEvent(any(ObservationChangedEvent.class));
+        assertEquals(1L, writeBehind.getStats().get("retried"));
+        assertFalse(writeBehind.isPending("obs-1"));
+    }
+
+    @Test
+    void enqueue_ShouldNotMergeIntoBatchWhilePatchIsInFlight() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(writeBehind, "windowMs", 10L);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sentBodies = new CopyOnWriteArrayList<>();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenAnswer(invocation -> {
+                    HttpEntity<?> entity = invocation.getArgument(2);
+                    sending.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    sentBodies.add(entity.getBody().toString());
+                    return ResponseEntity.ok(new Observation());
+                });
+        writeBehind.enqueue("token", "obs-1", changes("note", "uno"));
+        assertTrue(sending.await(2, TimeUnit.SECONDS));
+
+        // Act
+        ResponseEntity<Observation> response = writeBehind.enqueue("token", "obs-1", changes("state", "Activa"));
+        release.countDown();
+
+        // Assert
+        assertEquals("uno", response.getBody().getNote());
+        assertEquals("Activa", response.getBody().getState());
+        verify(restTemplate, timeout(2000).times(2)).exchange(eq(PATCH_URL), eq(HttpMethod.PATCH),
+                any(HttpEntity.class), eq(Observation.class));
+        assertEquals(List.of(changes("note", "uno").toString(), changes("state", "Activa").toString()), sentBodies);
+    }
+
+    @Test
+    void flush_ShouldReleaseSlotAfterUnexpectedError() throws InterruptedException {
+        // Arrange
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Observation.class)))
+                .thenThrow(new IllegalStateException("inesperado"))
+                .thenReturn(ResponseEntity.ok(new Observation()));
+        writeBehind.enqueue("token", "obs-1", changes("note", "perdida"));
+        writeBehind.enqueue("other-token", "obs-1", changes("note", "segunda"));
+
+        // Act
+        writeBehind.shutdown();
+
+        // Assert
+        verify(restTemplate, times(2)).exchange(eq(PATCH_URL), eq(HttpMethod.PATCH), any(HttpEntity.class),
+                eq(Observation.class));
+        assertEquals(1L, writeBehind.getStats().get("failed"));
+        assertFalse(writeBehind.isPending("obs-1"));
+    }
+
+    private static ObjectNode changes(String... fieldsAndValues) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < fieldsAndValues.length; i += 2) {
+            node.put(fieldsAndValues[i], fieldsAndValues[i + 1]);
+        }
+        return node;
+    }
+
+    private static Observation observation(String note, String state) {
+        Observation observation = new Observation();
+        observation.setNote(note);
+        observation.setState(state);
+        return observation;
+    }
+}
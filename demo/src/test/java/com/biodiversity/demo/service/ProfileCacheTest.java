@@ -0,0 +1,104 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Profile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileCacheTest {
+
+    private ProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProfileCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 5L);
+        cache.init();
+    }
+
+    @Test
+    void put_ShouldIndexByIdAndEmail() {
+        // Arrange
+        Profile profile = profile("1", "ana@test.com");
+
+        // Act
+        cache.put(cache.generation(), profile);
+
+        // Assert
+        assertEquals(profile, cache.getById("1").orElseThrow().getProfile());
+        assertEquals(profile, cache.getByEmail("ana@test.com").orElseThrow().getProfile());
+    }
+
+    @Test
+    void invalidate_ShouldEvictBothKeys() {
+        // Arrange
+        cache.put(cache.generation(), profile("1", "ana@test.com"));
+
+        // Act
+        cache.invalidate("1", null);
+
+        // Assert
+        assertTrue(cache.getById("1").isEmpty());
+        assertTrue(cache.getByEmail("ana@test.com").isEmpty());
+    }
+
+    @Test
+    void invalidate_ShouldDropNegativeEntryForNewEmail() {
+        // Arrange
+        cache.putMissingEmail(cache.generation(), "nuevo@test.com");
+        cache.put(cache.generation(), profile("1", "ana@test.com"));
+
+        // Act
+        cache.invalidate("1", "nuevo@test.com");
+
+        // Assert
+        assertTrue(cache.getByEmail("nuevo@test.com").isEmpty());
+        assertTrue(cache.getByEmail("ana@test.com").isEmpty());
+    }
+
+    @Test
+    void putMissingId_ShouldCacheNegativeLookup() {
+        // Act
+        cache.putMissingId(cache.generation(), "404");
+
+        // Assert
+        ProfileCache.CachedProfile cached = cache.getById("404").orElseThrow();
+        assertNull(cached.getProfile());
+    }
+
+    @Test
+    void put_ShouldDiscardLoadStartedBeforeInvalidation() {
+        // Arrange
+        long generation = cache.generation();
+
+        // Act
+        cache.invalidate("1", "ana@test.com");
+        cache.put(generation, profile("1", "ana@test.com"));
+
+        // Assert
+        assertTrue(cache.getById("1").isEmpty());
+    }
+
+    @Test
+    void getByEmail_ShouldIgnoreStaleEmailAfterReassignment() {
+        // Arrange
+        cache.put(cache.generation(), profile("1", "ana@test.com"));
+        cache.put(cache.generation(), profile("1", "ana.maria@test.com"));
+
+        // Act & Assert
+        assertTrue(cache.getByEmail("ana@test.com").isEmpty());
+        assertEquals("1", cache.getByEmail("ana.maria@test.com").orElseThrow().getProfile().getId());
+    }
+
+    private Profile profile(String id, String email) {
+        Profile profile = new Profile();
+        profile.setId(id);
+        profile.setEmail(email);
+        return profile;
+    }
+}
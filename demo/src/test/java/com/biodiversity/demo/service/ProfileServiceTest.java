@@ -14,10 +14,11 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class ProfileServiceTest {
 
@@ -27,6 +28,9 @@ class ProfileServiceTest {
     @Mock
     private SupabaseConfig supabaseConfig;
 
+    @Mock
+    private ProfileCache profileCache;
+
     @InjectMocks
     private ProfileService profileService;
 
@@ -172,4 +176,54 @@ class ProfileServiceTest {
         assertNotNull(response);
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProfileById_ShouldServeFromCacheWithoutUpstreamCall() {
+        // Arrange
+        Profile profile = new Profile();
+        profile.setId("123");
+        when(profileCache.getById("123")).thenReturn(Optional.of(new ProfileCache.CachedProfile(profile)));
+
+        // Act
+        ResponseEntity<Profile> response = profileService.getProfileById(TEST_AUTH_TOKEN, "123");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(profile, response.getBody());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void updateProfile_ShouldInvalidateProfileCache() {
+        // Arrange
+        Profile profile = new Profile();
+        profile.setEmail("nuevo@test.com");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Profile.class)))
+                .thenReturn(new ResponseEntity<>(profile, HttpStatus.OK));
+
+        // Act
+        profileService.updateProfile(TEST_AUTH_TOKEN, "123", profile);
+
+        // Assert
+        verify(profileCache).invalidate("123", "nuevo@test.com");
+    }
+
+    @Test
+    void getProfileVersionById_ShouldSelectOnlyVersionColumnsOnCacheMiss() {
+        // Arrange
+        Profile version = new Profile();
+        version.setId("123");
+        version.setUpdatedAt("2025-05-06T10:15:30+00:00");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(List.of(version), HttpStatus.OK));
+
+        // Act
+        ResponseEntity<Profile> response = profileService.getProfileVersionById(TEST_AUTH_TOKEN, "123");
+
+        // Assert
+        assertEquals(version, response.getBody());
+        verify(restTemplate).exchange(eq(TEST_SUPABASE_URL + "/rest/v1/profiles?id=eq.123&select=id,updated_at"),
+                eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+}
@@ -0,0 +1,111 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.config.SupabaseConfig;
+import com.biodiversity.demo.event.ObservationChangedEvent;
+import com.biodiversity.demo.model.Observation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveObservationServiceTest {
+
+    @Mock
+    private SupabaseConfig supabaseConfig;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReactiveObservationService observationService;
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+
+    private static final String TEST_AUTH_TOKEN = "test-token";
+    private static final String TEST_SUPABASE_URL = "http://test.supabase.co";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn(TEST_SUPABASE_URL);
+        when(supabaseConfig.getSupabaseAnonKey()).thenReturn("anon-key");
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("[{\"id_observation\":\"123\",\"note\":\"Cóndor en vuelo\"}]")
+                            .build());
+                })
+                .build();
+
+        observationService = new ReactiveObservationService();
+        ReflectionTestUtils.setField(observationService, "supabaseConfig", supabaseConfig);
+        ReflectionTestUtils.setField(observationService, "supabaseWebClient", webClient);
+        ReflectionTestUtils.setField(observationService, "eventPublisher", eventPublisher);
+    }
+
+    @Test
+    void getObservationById_ShouldReturnObservation() {
+        // Act
+        Mono<ResponseEntity<List<Observation>>> response = observationService.getObservationById(TEST_AUTH_TOKEN,
+                "123");
+
+        // Assert
+        StepVerifier.create(response)
+                .assertNext(entity -> {
+                    assertEquals(HttpStatus.OK, entity.getStatusCode());
+                    assertEquals(1, entity.getBody().size());
+                    assertEquals("123", entity.getBody().get(0).getId());
+                })
+                .verifyComplete();
+        assertEquals(TEST_SUPABASE_URL + "/rest/v1/observations?id_observation=eq.123",
+                lastRequest.get().url().toString());
+        assertEquals(TEST_AUTH_TOKEN, lastRequest.get().headers().getFirst("Authorization"));
+        assertEquals("anon-key", lastRequest.get().headers().getFirst("apikey"));
+    }
+
+    @Test
+    void deleteObservation_ShouldFilterByIdObservationAndPublishDeletedEvent() {
+        // Act
+        StepVerifier.create(observationService.deleteObservation(TEST_AUTH_TOKEN, "123"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        assertEquals(TEST_SUPABASE_URL + "/rest/v1/observations?id_observation=eq.123",
+                lastRequest.get().url().toString());
+        assertEquals(HttpMethod.DELETE, lastRequest.get().method());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ObservationChangedEvent e
+                && e.getType() == ObservationChangedEvent.Type.DELETED && e.getId().equals("123")));
+    }
+
+    @Test
+    void getAllObservations_ShouldUseSamePaginationAsBlockingService() {
+        // Act
+        StepVerifier.create(observationService.getAllObservations(TEST_AUTH_TOKEN, 3, null))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        assertEquals(TEST_SUPABASE_URL + "/rest/v1/observations?order=created_at.desc,id_observation.desc&limit=5&offset=10",
+                lastRequest.get().url().toString());
+        assertEquals(HttpMethod.GET, lastRequest.get().method());
+    }
+}
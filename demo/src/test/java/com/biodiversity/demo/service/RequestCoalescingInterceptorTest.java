@@ -0,0 +1,142 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.exception.InvalidTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestCoalescingInterceptorTest {
+
+    private static final String BODY = "[{\"id_observation\":\"1\"}]";
+
+    private RequestCoalescingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new RequestCoalescingInterceptor();
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        ReflectionTestUtils.setField(interceptor, "paths", List.of("/rest/v1/"));
+        ReflectionTestUtils.setField(interceptor, "sharedPaths", List.of("/rest/v1/species"));
+    }
+
+    @Test
+    void intercept_ShouldShareOneUpstreamCallBetweenConcurrentIdenticalGets() throws Exception {
+        // Arrange
+        int callers = 5;
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution execution = (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                try (ClientHttpResponse response = interceptor.intercept(
+                        get("/rest/v1/observations?id_observation=eq.1", "Bearer a"), new byte[0], execution)) {
+                    return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) interceptor.getStats().get("absorbed") < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals(BODY, result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        assertEquals(1, upstreamCalls.get());
+        assertEquals((long) callers - 1, interceptor.getStats().get("absorbed"));
+        assertEquals(0, interceptor.getStats().get("inFlight"));
+    }
+
+    @Test
+    void keyOf_ShouldSeparateTokensForRlsSensitiveResources() {
+        // Act
+        String first = interceptor.keyOf(get("/rest/v1/admins?id=eq.1", "Bearer a"), new byte[0]);
+        String second = interceptor.keyOf(get("/rest/v1/admins?id=eq.1", "Bearer b"), new byte[0]);
+
+        // Assert
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void keyOf_ShouldIgnoreVerifiedTokenForSharedResources() {
+        // Arrange
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        when(jwtVerifier.isEnabled()).thenReturn(true);
+        when(jwtVerifier.verify("Bearer a")).thenReturn(new AuthClaims("user-a", "authenticated", null, 0));
+        when(jwtVerifier.verify("Bearer b")).thenReturn(new AuthClaims("user-b", "authenticated", null, 0));
+        when(jwtVerifier.verify("Bearer caducado")).thenThrow(new InvalidTokenException("expirado"));
+        ReflectionTestUtils.setField(interceptor, "jwtVerifier", jwtVerifier);
+
+        // Act
+        String first = interceptor.keyOf(get("/rest/v1/species", "Bearer a"), new byte[0]);
+        String second = interceptor.keyOf(get("/rest/v1/species", "Bearer b"), new byte[0]);
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, interceptor.keyOf(get("/rest/v1/species", "Bearer caducado"), new byte[0]));
+    }
+
+    @Test
+    void keyOf_ShouldKeepTokenForSharedResourcesWithoutLocalVerification() {
+        // Act
+        String first = interceptor.keyOf(get("/rest/v1/species", "Bearer a"), new byte[0]);
+        String second = interceptor.keyOf(get("/rest/v1/species", "Bearer b"), new byte[0]);
+
+        // Assert
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void keyOf_ShouldBypassWritesAndStorage() {
+        // Arrange
+        MockClientHttpRequest patch = new MockClientHttpRequest(HttpMethod.PATCH,
+                URI.create("http://test.supabase.co/rest/v1/species"));
+
+        // Act & Assert
+        assertNull(interceptor.keyOf(patch, new byte[0]));
+        assertNull(interceptor.keyOf(get("/storage/v1/object/photos/a.jpg", "Bearer a"), new byte[0]));
+    }
+
+    private MockClientHttpRequest get(String path, String token) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("http://test.supabase.co" + path));
+        request.getHeaders().set("Authorization", token);
+        return request;
+    }
+}
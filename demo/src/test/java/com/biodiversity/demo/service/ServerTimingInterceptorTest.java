@@ -0,0 +1,72 @@
+package com.biodiversity.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingInterceptorTest {
+
+    private final ServerTimingInterceptor interceptor = new ServerTimingInterceptor();
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+            URI.create("https://x.supabase.co/rest/v1/observations"));
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.clear();
+    }
+
+    @Test
+    void intercept_ShouldSplitUpstreamWaitFromBodyDecoding() throws Exception {
+        // Arrange
+        ServerTiming timing = new ServerTiming();
+        ServerTiming.bind(timing);
+        ClientHttpRequestExecution execution = (req, body) -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+
+        // Act
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], execution);
+        Thread.sleep(10);
+        response.close();
+        response.close();
+
+        // Assert
+        String header = timing.toHeaderValue();
+        assertTrue(durationOf(header, "upstream") >= 20, header);
+        assertTrue(durationOf(header, "decode") >= 10, header);
+    }
+
+    @Test
+    void intercept_ShouldPassThroughWhenNoTimingIsBound() throws Exception {
+        // Arrange
+        MockClientHttpResponse upstream = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+        // Act
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        // Assert
+        assertSame(upstream, response);
+    }
+
+    private static double durationOf(String header, String metric) {
+        Matcher matcher = Pattern.compile(metric + ";dur=([0-9.]+)").matcher(header);
+        assertTrue(matcher.find(), header);
+        return Double.parseDouble(matcher.group(1));
+    }
+}
@@ -0,0 +1,87 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Specie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecieCatalogCacheTest {
+
+    private SpecieCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SpecieCatalogCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void store_ShouldIndexByIdAndScientificName() {
+        // Arrange
+        Specie condor = specie("1", "Vultur gryphus");
+        Specie oso = specie("2", "Tremarctos ornatus");
+
+        // Act
+        cache.store(cache.generation(), List.of(condor, oso));
+
+        // Assert
+        SpecieCatalogCache.Snapshot snapshot = cache.snapshot().orElseThrow();
+        assertEquals(oso, snapshot.byId("2"));
+        assertEquals(List.of(condor), snapshot.byScientificName("Vultur gryphus"));
+        assertTrue(snapshot.byScientificName("Puma concolor").isEmpty());
+    }
+
+    @Test
+    void store_ShouldDiscardLoadStartedBeforeInvalidation() {
+        // Arrange
+        long generation = cache.generation();
+
+        // Act
+        cache.invalidate();
+        cache.store(generation, List.of(specie("1", "Vultur gryphus")));
+
+        // Assert
+        assertTrue(cache.snapshot().isEmpty());
+    }
+
+    @Test
+    void store_ShouldRefuseCatalogLargerThanMaxEntries() {
+        // Act
+        cache.store(cache.generation(), List.of(specie("1", "a"), specie("2", "b"), specie("3", "c")));
+
+        // Assert
+        assertTrue(cache.snapshot().isEmpty());
+        assertFalse(cache.shouldLoad());
+    }
+
+    @Test
+    void getStats_ShouldCountHitsAndMisses() {
+        // Arrange
+        cache.snapshot();
+        cache.store(cache.generation(), List.of(specie("1", "Vultur gryphus")));
+
+        // Act
+        cache.snapshot();
+        cache.snapshot();
+        Map<String, Object> stats = cache.getStats();
+
+        // Assert
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(1, stats.get("size"));
+    }
+
+    private Specie specie(String id, String scientificName) {
+        Specie specie = new Specie();
+        specie.setId(id);
+        specie.setScientificName(scientificName);
+        return specie;
+    }
+}
@@ -0,0 +1,92 @@
+package com.biodiversity.demo.service;
+
+import com.biodiversity.demo.model.Specie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecieNameIndexTest {
+
+    private final SpecieNameIndex index = new SpecieNameIndex(List.of(
+            specie("1", "Vultur gryphus", "Cóndor andino"),
+            specie("2", "Anas platyrhynchos", "Pato real"),
+            specie("3", "Cairina moschata", "Pato criollo"),
+            specie("4", "Puma concolor", "Puma"),
+            specie("5", "Tremarctos ornatus", "Oso de anteojos")));
+
+    @Test
+    void search_ShouldIgnoreAccentsAndCase() {
+        // Act
+        List<SpecieNameIndex.Match> matches = index.search("CONDOR", 5);
+
+        // Assert
+        assertEquals("1", matches.get(0).getSpecie().getId());
+    }
+
+    @Test
+    void search_ShouldTolerateTypos() {
+        // Act
+        List<SpecieNameIndex.Match> matches = index.search("condr", 5);
+
+        // Assert
+        assertFalse(matches.isEmpty());
+        assertEquals("1", matches.get(0).getSpecie().getId());
+    }
+
+    @Test
+    void search_ShouldRankPrefixAboveContains() {
+        // Act
+        List<SpecieNameIndex.Match> matches = index.search("pu", 5);
+
+        // Assert
+        assertEquals("4", matches.get(0).getSpecie().getId());
+    }
+
+    @Test
+    void search_ShouldMatchScientificNameWordPrefix() {
+        // Act
+        List<SpecieNameIndex.Match> matches = index.search("orna", 5);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertEquals("5", matches.get(0).getSpecie().getId());
+    }
+
+    @Test
+    void search_ShouldRespectLimit() {
+        // Act
+        List<SpecieNameIndex.Match> matches = index.search("pato", 1);
+
+        // Assert
+        assertEquals(1, matches.size());
+    }
+
+    @Test
+    void resolveIds_ShouldReturnEverySpecieContainingTheName() {
+        // Act
+        List<String> ids = index.resolveIds("pato", 50);
+
+        // Assert
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of("2", "3")));
+    }
+
+    @Test
+    void resolveIds_ShouldReturnEmptyWhenNothingIsClose() {
+        // Act
+        List<String> ids = index.resolveIds("xyzzy", 50);
+
+        // Assert
+        assertTrue(ids.isEmpty());
+    }
+
+    private static Specie specie(String id, String scientificName, String commonName) {
+        Specie specie = new Specie();
+        specie.setId(id);
+        specie.setScientificName(scientificName);
+        specie.setCommonName(commonName);
+        return specie;
+    }
+}
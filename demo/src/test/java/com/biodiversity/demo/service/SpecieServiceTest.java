@@ -14,9 +14,12 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SpecieServiceTest {
@@ -27,6 +30,9 @@ class SpecieServiceTest {
     @Mock
     private SupabaseConfig supabaseConfig;
 
+    @Mock
+    private SpecieCatalogCache specieCatalogCache;
+
     @InjectMocks
     private SpecieService specieService;
 
@@ -177,4 +183,46 @@ class SpecieServiceTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedSpecies, response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSpecieById_ShouldServeFromCatalogCacheWithoutUpstreamCall() {
+        // Arrange
+        Specie condor = new Specie();
+        condor.setId("123");
+        condor.setScientificName("Vultur gryphus");
+        SpecieCatalogCache catalogCache = new SpecieCatalogCache();
+        ReflectionTestUtils.setField(catalogCache, "enabled", true);
+        ReflectionTestUtils.setField(catalogCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(catalogCache, "maxEntries", 10);
+        when(specieCatalogCache.snapshot()).thenReturn(catalogCache.store(0, List.of(condor)));
+
+        // Act
+        ResponseEntity<Specie> found = specieService.getSpecieById(TEST_AUTH_TOKEN, "123");
+        ResponseEntity<Specie> missing = specieService.getSpecieById(TEST_AUTH_TOKEN, "999");
+
+        // Assert
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals(condor, found.getBody());
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        verify(restTemplate, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void updateSpecie_ShouldInvalidateCatalogCache() {
+        // Arrange
+        when(specieCatalogCache.snapshot()).thenReturn(Optional.empty());
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.PATCH),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class))).thenReturn(new ResponseEntity<>(List.of(new Specie()),
+                        HttpStatus.OK));
+
+        // Act
+        specieService.updateSpecie(TEST_AUTH_TOKEN, "123", new Specie());
+
+        // Assert
+        verify(specieCatalogCache).invalidate();
+    }
+}
@@ -0,0 +1,81 @@
+package com.biodiversity.demo.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamMetricsInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private UpstreamMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new UpstreamMetricsInterceptor();
+        ReflectionTestUtils.setField(interceptor, "meterRegistry", registry);
+        ReflectionTestUtils.setField(interceptor, "mlApiUrl", "https://ml.example.com/predict");
+        interceptor.init();
+    }
+
+    @Test
+    void intercept_ShouldRecordLatencyTaggedByResourceMethodAndStatus() throws Exception {
+        // Arrange
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("https://x.supabase.co/rest/v1/observations?id_user=eq.1"));
+        ClientHttpRequestExecution execution = (req, body) ->
+                new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND);
+
+        // Act
+        interceptor.intercept(request, new byte[0], execution);
+        interceptor.intercept(request, new byte[0], execution);
+
+        // Assert
+        Timer timer = registry.find(UpstreamMetricsInterceptor.TIMER_NAME)
+                .tags("resource", "observations", "method", "GET", "status", "404")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void intercept_ShouldRecordIoErrorsAndRethrow() {
+        // Arrange
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST,
+                URI.create("https://x.supabase.co/storage/v1/object/images/a.jpg"));
+        ClientHttpRequestExecution execution = (req, body) -> {
+            throw new IOException("connection reset");
+        };
+
+        // Act
+        assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], execution));
+
+        // Assert
+        Timer timer = registry.find(UpstreamMetricsInterceptor.TIMER_NAME)
+                .tags("resource", "storage", "method", "POST", "status", UpstreamMetricsInterceptor.IO_ERROR)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void resourceOf_ShouldMapUpstreamPaths() {
+        // Act & Assert
+        assertEquals("species", interceptor.resourceOf(URI.create("https://x.supabase.co/rest/v1/species")));
+        assertEquals("profiles", interceptor.resourceOf(URI.create("https://x.supabase.co/rest/v1/profiles/")));
+        assertEquals("ml", interceptor.resourceOf(URI.create("https://ml.example.com/predict")));
+        assertEquals("other", interceptor.resourceOf(URI.create("https://x.supabase.co/auth/v1/user")));
+    }
+}
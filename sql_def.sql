@@ -61,6 +61,22 @@ CREATE TABLE public.observations (
 CREATE INDEX observations_date_idx ON public.observations (date);
 CREATE INDEX observations_id_specie_idx ON public.observations (id_specie);
 CREATE INDEX observations_id_observer_user_idx ON public.observations (id_observer_user);
+-- Paginación por cursor (keyset) sobre (created_at, id_observation)
+CREATE INDEX observations_feed_idx ON public.observations (created_at DESC, id_observation DESC);
+CREATE INDEX observations_user_feed_idx ON public.observations (id_observer_user, created_at DESC, id_observation DESC);
+
+-- Mantener updated_at en cada UPDATE; los ETag de la API se derivan de esta columna
+CREATE OR REPLACE FUNCTION public.set_updated_at() RETURNS trigger AS $$
+BEGIN
+  NEW.updated_at = now();
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER profiles_set_updated_at BEFORE UPDATE ON public.profiles
+  FOR EACH ROW EXECUTE FUNCTION public.set_updated_at();
+CREATE TRIGGER observations_set_updated_at BEFORE UPDATE ON public.observations
+  FOR EACH ROW EXECUTE FUNCTION public.set_updated_at();
 
 
 -- Opcional: Configurar RLS (Row Level Security) básica para cada tabla